@@ -2,6 +2,7 @@ plugins {
     java
     id("org.springframework.boot") version "3.3.0"
     id("io.spring.dependency-management") version "1.1.5"
+    id("me.champeau.jmh") version "0.7.3"
 }
 
 group = "com.example"
@@ -28,11 +29,18 @@ dependencies {
     implementation("org.springframework.boot:spring-boot-starter-data-jpa")
     implementation("org.springframework.boot:spring-boot-starter-validation")
     implementation("org.springframework.boot:spring-boot-starter-web")
+    implementation("org.springframework.boot:spring-boot-starter-cache")
+    implementation("org.springframework.boot:spring-boot-starter-actuator")
+    runtimeOnly("io.micrometer:micrometer-registry-prometheus")
     implementation("org.flywaydb:flyway-core")
     implementation("org.flywaydb:flyway-database-postgresql")
     implementation("org.springdoc:springdoc-openapi-starter-webmvc-ui:2.2.0")
     implementation("org.springdoc:springdoc-openapi-starter-common:2.2.0")
     implementation("com.h2database:h2")
+    implementation("com.github.ben-manes.caffeine:caffeine")
+    implementation("com.github.ben-manes.caffeine:jcache")
+    implementation("org.hibernate.orm:hibernate-jcache")
+    implementation("org.hibernate.orm:hibernate-micrometer")
     compileOnly("org.projectlombok:lombok")
     implementation("org.mapstruct:mapstruct:1.5.5.Final")
     runtimeOnly("org.postgresql:postgresql")
@@ -49,3 +57,40 @@ dependencies {
 tasks.withType<Test> {
     useJUnitPlatform()
 }
+
+tasks.test {
+    useJUnitPlatform {
+        excludeTags("load")
+    }
+}
+
+// Нагрузочный тест GET /tasks/{id}: gradle loadTest -PvirtualThreads=true -PloadTestJavaVersion=21
+tasks.register<Test>("loadTest") {
+    description = "Runs load tests against the embedded server in platform or virtual thread mode."
+    group = "verification"
+    testClassesDirs = sourceSets.test.get().output.classesDirs
+    classpath = sourceSets.test.get().runtimeClasspath
+    useJUnitPlatform {
+        includeTags("load")
+    }
+    systemProperty("spring.threads.virtual.enabled", findProperty("virtualThreads") ?: "false")
+    (findProperty("loadTestJavaVersion") as String?)?.let { version ->
+        javaLauncher = javaToolchains.launcherFor {
+            languageVersion = JavaLanguageVersion.of(version)
+        }
+    }
+    testLogging {
+        showStandardStreams = true
+    }
+    outputs.upToDateWhen { false }
+}
+
+jmh {
+    benchmarkMode = listOf("thrpt")
+    timeUnit = "ms"
+    fork = 1
+    warmupIterations = 3
+    iterations = 5
+    profilers = listOf("gc")
+    resultFormat = "JSON"
+}
@@ -0,0 +1,50 @@
+package com.example.benchmark;
+
+import com.example.dto.NewTaskDto;
+import com.example.dto.TaskDto;
+import com.example.model.Task;
+import java.time.LocalDateTime;
+
+/**
+ * Тестовые данные для бенчмарков: задачи с заполненными полями, как в реальных запросах.
+ */
+final class BenchmarkData {
+
+    static final LocalDateTime DUE_DATE = LocalDateTime.of(2030, 6, 15, 19, 0);
+
+    private BenchmarkData() {
+    }
+
+    static Task task(long id) {
+        Task task = new Task();
+        task.setId(id);
+        task.setTitle("Задача " + id);
+        task.setDescription("Описание задачи " + id + ", которое немного длиннее заголовка");
+        task.setDueDate(DUE_DATE.plusMinutes(id));
+        task.setCompleted(id % 2 == 0);
+        task.setVersion(id % 5);
+        return task;
+    }
+
+    static TaskDto taskDto(long id) {
+        Task task = task(id);
+        TaskDto taskDto = new TaskDto();
+        taskDto.setId(task.getId());
+        taskDto.setTitle(task.getTitle());
+        taskDto.setDescription(task.getDescription());
+        taskDto.setDueDate(task.getDueDate());
+        taskDto.setCompleted(task.getCompleted());
+        taskDto.setVersion(task.getVersion());
+        return taskDto;
+    }
+
+    static NewTaskDto newTaskDto(long id) {
+        NewTaskDto newTaskDto = new NewTaskDto();
+        newTaskDto.setTitle("Задача " + id);
+        newTaskDto.setDescription("Описание задачи " + id + ", которое немного длиннее заголовка");
+        newTaskDto.setDueDate(DUE_DATE.plusMinutes(id));
+        newTaskDto.setCompleted(id % 2 == 0);
+        return newTaskDto;
+    }
+
+}
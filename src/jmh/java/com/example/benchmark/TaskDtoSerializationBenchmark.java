@@ -0,0 +1,95 @@
+package com.example.benchmark;
+
+import com.example.dto.TaskDto;
+import com.example.dto.TaskDtoSerializer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.LongStream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/**
+ * Сериализация TaskDto и Page&lt;TaskDto&gt; тем же ObjectMapper, что собирает Spring MVC,
+ * включая форматирование срока по PATTERN_FOR_DATETIME: по аннотациям TaskDto и через {@link TaskDtoSerializer}.
+ * Перед замером проверяется, что оба способа дают одинаковые байты.
+ */
+public class TaskDtoSerializationBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class TaskState {
+
+        private ObjectWriter writer;
+        private ObjectWriter serializerWriter;
+        private TaskDto taskDto;
+
+        @Setup
+        public void setUp() throws Exception {
+            writer = Jackson2ObjectMapperBuilder.json().build().writerFor(TaskDto.class);
+            serializerWriter = serializerMapper().writerFor(TaskDto.class);
+            taskDto = BenchmarkData.taskDto(1L);
+            checkSameBytes(writer.writeValueAsBytes(taskDto), serializerWriter.writeValueAsBytes(taskDto));
+        }
+
+    }
+
+    @State(Scope.Benchmark)
+    public static class PageState {
+
+        @Param({"10", "100"})
+        private int pageSize;
+
+        private ObjectWriter writer;
+        private ObjectWriter serializerWriter;
+        private Page<TaskDto> page;
+
+        @Setup
+        public void setUp() throws Exception {
+            writer = Jackson2ObjectMapperBuilder.json().build().writerFor(Page.class);
+            serializerWriter = serializerMapper().writerFor(Page.class);
+            List<TaskDto> content = LongStream.rangeClosed(1, pageSize).mapToObj(BenchmarkData::taskDto).toList();
+            page = new PageImpl<>(content, PageRequest.of(0, pageSize), 10_000);
+            checkSameBytes(writer.writeValueAsBytes(page), serializerWriter.writeValueAsBytes(page));
+        }
+
+    }
+
+    @Benchmark
+    public byte[] serializeTaskDto(TaskState state) throws Exception {
+        return state.writer.writeValueAsBytes(state.taskDto);
+    }
+
+    @Benchmark
+    public byte[] serializeTaskDtoPage(PageState state) throws Exception {
+        return state.writer.writeValueAsBytes(state.page);
+    }
+
+    @Benchmark
+    public byte[] serializeTaskDtoWithSerializer(TaskState state) throws Exception {
+        return state.serializerWriter.writeValueAsBytes(state.taskDto);
+    }
+
+    @Benchmark
+    public byte[] serializeTaskDtoPageWithSerializer(PageState state) throws Exception {
+        return state.serializerWriter.writeValueAsBytes(state.page);
+    }
+
+    private static ObjectMapper serializerMapper() {
+        return Jackson2ObjectMapperBuilder.json().serializerByType(TaskDto.class, new TaskDtoSerializer()).build();
+    }
+
+    private static void checkSameBytes(byte[] expected, byte[] actual) {
+        if (!Arrays.equals(expected, actual)) {
+            throw new IllegalStateException("TaskDtoSerializer выдаёт другие байты: " + new String(actual));
+        }
+    }
+
+}
@@ -0,0 +1,42 @@
+package com.example.benchmark;
+
+import com.example.dto.TaskDto;
+import com.example.dto.UpdateTaskDto;
+import com.example.mapper.TaskMapper;
+import com.example.model.Task;
+import org.mapstruct.factory.Mappers;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Преобразования TaskMapper, выполняемые на каждый запрос чтения и изменения задачи.
+ */
+@State(Scope.Benchmark)
+public class TaskMapperBenchmark {
+
+    private final TaskMapper taskMapper = Mappers.getMapper(TaskMapper.class);
+
+    private Task task;
+    private UpdateTaskDto updateTaskDto;
+
+    @Setup
+    public void setUp() {
+        task = BenchmarkData.task(1L);
+        updateTaskDto = new UpdateTaskDto();
+        updateTaskDto.setTitle("Новая задача");
+        updateTaskDto.setCompleted(true);
+    }
+
+    @Benchmark
+    public TaskDto toTaskDto() {
+        return taskMapper.toTaskDto(task);
+    }
+
+    @Benchmark
+    public Task toTaskFromUpdateTaskDto() {
+        return taskMapper.toTaskFromUpdateTaskDto(task, updateTaskDto);
+    }
+
+}
@@ -0,0 +1,66 @@
+package com.example.benchmark;
+
+import com.example.TaskManagerApplication;
+import com.example.dto.NewTaskDto;
+import com.example.dto.TaskDto;
+import com.example.service.TaskService;
+import java.util.List;
+import java.util.stream.LongStream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+
+/**
+ * TaskServiceImpl.getAllTasks на H2 (профиль test): запрос страницы сразу в DTO и count-запрос.
+ */
+@State(Scope.Benchmark)
+public class TaskServiceBenchmark {
+
+    private static final int TASKS = 10_000;
+
+    @Param({"10", "100"})
+    private int pageSize;
+
+    private ConfigurableApplicationContext context;
+    private TaskService taskService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(TaskManagerApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles("test")
+                .properties("spring.jpa.show-sql=false", "logging.level.root=WARN",
+                        "logging.level.org.springframework.transaction.interceptor=WARN",
+                        "logging.level.org.springframework.orm.jpa.JpaTransactionManager=WARN")
+                .run();
+        taskService = context.getBean(TaskService.class);
+        for (long from = 0; from < TASKS; from += 1000) {
+            List<NewTaskDto> batch = LongStream.range(from, from + 1000).mapToObj(BenchmarkData::newTaskDto).toList();
+            taskService.saveTasks(batch);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Page<TaskDto> getAllTasksFirstPage() {
+        return taskService.getAllTasks(null, BenchmarkData.DUE_DATE.minusDays(1), null, 0, pageSize);
+    }
+
+    @Benchmark
+    public Page<TaskDto> getAllTasksDeepPage() {
+        return taskService.getAllTasks(null, BenchmarkData.DUE_DATE.minusDays(1), null, 50, pageSize);
+    }
+
+}
@@ -0,0 +1,144 @@
+package com.example.archive;
+
+import com.example.lease.TaskLeaseService;
+import com.example.lease.TaskShardLease;
+import com.example.repository.TaskArchiveRepository;
+import com.example.repository.TaskDeadline;
+import com.example.repository.TaskRepository;
+import com.example.service.TaskCacheEvictor;
+import com.example.service.TaskOutbox;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static com.example.config.CacheConfig.TASKS_CACHE;
+
+/**
+ * Архиватор выполненных задач: переносит задачи со сроком старше task.archive.age из tasks в tasks_archive.
+ * За один запуск переносится одна пачка из task.archive.batch-size задач в одной транзакции (копия в архив,
+ * удаление из tasks, запись ARCHIVED в outbox), поэтому нагрузку на БД ограничивает интервал
+ * task.archive.interval; когда переносить нечего, архиватор ждёт task.archive.idle-interval.
+ * Работает только на узле, арендовавшем работу task-archiver. В PostgreSQL секции архива по месяцам
+ * срока создаются в той же транзакции перед копированием пачки.
+ */
+@Component
+@Slf4j
+public class TaskArchiver {
+
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("yyyyMM");
+
+    private final TaskRepository taskRepository;
+    private final TaskArchiveRepository taskArchiveRepository;
+    private final TaskOutbox taskOutbox;
+    private final TaskCacheEvictor taskCacheEvictor;
+    private final EntityManager entityManager;
+    private final Cache tasksCache;
+    private final TransactionTemplate transactionTemplate;
+    private final TaskShardLease lease;
+    private final Duration age;
+    private final int batchSize;
+    private final Duration idleInterval;
+    private final boolean partitioned;
+    private final Set<YearMonth> partitions = ConcurrentHashMap.newKeySet(); // Секции, созданные этим узлом
+
+    private long idleUntil = System.nanoTime(); // До этого времени переносить нечего, только в потоке планировщика
+
+    public TaskArchiver(
+            TaskRepository taskRepository,
+            TaskArchiveRepository taskArchiveRepository,
+            TaskOutbox taskOutbox,
+            TaskCacheEvictor taskCacheEvictor,
+            EntityManager entityManager,
+            CacheManager cacheManager,
+            PlatformTransactionManager transactionManager,
+            TaskLeaseService taskLeaseService,
+            @Value("${task.archive.age:P30D}") Duration age,
+            @Value("${task.archive.batch-size:500}") int batchSize,
+            @Value("${task.archive.idle-interval:PT10M}") Duration idleInterval,
+            @Value("${task.archive.partitioned:true}") boolean partitioned) {
+        this.taskRepository = taskRepository;
+        this.taskArchiveRepository = taskArchiveRepository;
+        this.taskOutbox = taskOutbox;
+        this.taskCacheEvictor = taskCacheEvictor;
+        this.entityManager = entityManager;
+        this.tasksCache = cacheManager.getCache(TASKS_CACHE);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.lease = taskLeaseService.register("task-archiver", 1);
+        this.age = age;
+        this.batchSize = batchSize;
+        this.idleInterval = idleInterval;
+        this.partitioned = partitioned;
+    }
+
+    @Scheduled(fixedDelayString = "${task.archive.interval:PT1S}")
+    public void archive() {
+        if (!lease.isHeld() || System.nanoTime() - idleUntil < 0) return;
+        try {
+            if (archiveBatch() < batchSize) {
+                idleUntil = System.nanoTime() + idleInterval.toNanos();
+            }
+        } catch (DataAccessException e) {
+            log.warn("Пачка выполненных задач не перенесена в архив: {}.", e.getMessage());
+        }
+    }
+
+    /**
+     * Перенести в архив одну пачку выполненных задач.
+     *
+     * @return число перенесённых задач
+     */
+    public int archiveBatch() {
+        LocalDateTime now = LocalDateTime.now();
+        Set<YearMonth> created = new TreeSet<>();
+        List<Long> taskIds = transactionTemplate.execute(status -> {
+            List<TaskDeadline> tasks = taskRepository.findArchivable(now.minus(age), Limit.of(batchSize));
+            if (tasks.isEmpty()) return List.of();
+            if (partitioned) {
+                tasks.stream().map(task -> YearMonth.from(task.getDueDate()))
+                        .filter(month -> !partitions.contains(month))
+                        .distinct()
+                        .forEach(month -> {
+                            createPartition(month);
+                            created.add(month);
+                        });
+            }
+            List<Long> ids = tasks.stream().map(TaskDeadline::getId).toList();
+            taskArchiveRepository.copyFromTasks(ids, now);
+            taskRepository.deleteByIdIn(ids);
+            taskCacheEvictor.evictEntities(ids);
+            taskOutbox.appendArchived(ids);
+            return ids;
+        });
+        // Секция запоминается только после фиксации: при откате она не создана.
+        partitions.addAll(created);
+        if (tasksCache != null) taskIds.forEach(tasksCache::evict);
+        if (!taskIds.isEmpty()) log.info("Перенесено в архив выполненных задач: {}.", taskIds.size());
+        return taskIds.size();
+    }
+
+    private void createPartition(YearMonth month) {
+        entityManager.createNativeQuery("create table if not exists tasks_archive_" +
+                        month.format(PARTITION_SUFFIX) + " partition of tasks_archive for values from ('" +
+                        month.atDay(1).atStartOfDay() + "') to ('" + month.plusMonths(1).atDay(1).atStartOfDay() + "')")
+                .setHint(HibernateHints.HINT_NATIVE_SPACES, "tasks_archive")
+                .executeUpdate();
+    }
+
+}
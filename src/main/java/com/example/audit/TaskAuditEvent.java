@@ -0,0 +1,22 @@
+package com.example.audit;
+
+import java.time.Instant;
+
+/**
+ * Событие жизненного цикла задачи для журнала аудита; хранит только идентификатор и версию,
+ * чтобы публикация не требовала копирования задачи.
+ */
+public record TaskAuditEvent(Type type, Long taskId, Long version, Instant at) {
+
+    public static TaskAuditEvent of(Type type, Long taskId, Long version) {
+        return new TaskAuditEvent(type, taskId, version, Instant.now());
+    }
+
+    public enum Type {
+        LOADED, // Задача прочитана из БД
+        CREATED, // Задача добавлена
+        UPDATED, // Задача изменена
+        DELETED // Задача удалена
+    }
+
+}
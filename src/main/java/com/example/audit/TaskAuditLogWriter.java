@@ -0,0 +1,27 @@
+package com.example.audit;
+
+import java.util.List;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+/**
+ * Пишет события аудита в структурированный лог; включается уровнем INFO для com.example.audit.
+ */
+@Component
+@Slf4j
+public class TaskAuditLogWriter implements TaskAuditWriter {
+
+    @Override
+    public boolean isEnabled() {
+        return log.isInfoEnabled();
+    }
+
+    @Override
+    public void write(List<TaskAuditEvent> batch) {
+        for (TaskAuditEvent event : batch) {
+            log.info("task.audit type={} id={} version={} at={}",
+                    event.type(), event.taskId(), event.version(), event.at());
+        }
+    }
+
+}
@@ -0,0 +1,99 @@
+package com.example.audit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Асинхронный журнал аудита задач. Публикация не блокирует поток запроса: событие кладётся
+ * в ограниченную очередь, а отдельный поток передаёт события пачками в {@link TaskAuditWriter}.
+ * При переполнении очереди событие отбрасывается и учитывается в метрике task.audit.dropped.
+ * Чтения задач попадают в журнал выборочно, с долей task.audit.load-sample-rate.
+ */
+@Component
+@Slf4j
+public class TaskAuditSink {
+
+    private final TaskAuditWriter writer;
+    private final BlockingQueue<TaskAuditEvent> queue;
+    private final int batchSize;
+    private final long flushIntervalMillis;
+    private final double loadSampleRate;
+    private final Counter dropped;
+    private final Thread worker;
+
+    private volatile boolean running = true;
+
+    public TaskAuditSink(
+            TaskAuditWriter writer,
+            MeterRegistry meterRegistry,
+            @Value("${task.audit.queue-capacity:10000}") int queueCapacity,
+            @Value("${task.audit.batch-size:500}") int batchSize,
+            @Value("${task.audit.flush-interval:1s}") Duration flushInterval,
+            @Value("${task.audit.load-sample-rate:0.0}") double loadSampleRate) {
+        this.writer = writer;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchSize = batchSize;
+        this.flushIntervalMillis = flushInterval.toMillis();
+        this.loadSampleRate = loadSampleRate;
+        this.dropped = meterRegistry.counter("task.audit.dropped");
+        this.worker = new Thread(this::drain, "task-audit");
+        this.worker.setDaemon(true);
+        this.worker.start();
+    }
+
+    /**
+     * Опубликовать событие; ничего не делает, если приёмник выключен или чтение не попало в выборку.
+     */
+    public void publish(TaskAuditEvent.Type type, Long taskId, Long version) {
+        if (!writer.isEnabled()) return;
+        if (type == TaskAuditEvent.Type.LOADED
+                && (loadSampleRate <= 0 || ThreadLocalRandom.current().nextDouble() >= loadSampleRate)) return;
+        if (!queue.offer(TaskAuditEvent.of(type, taskId, version))) {
+            dropped.increment();
+        }
+    }
+
+    @PreDestroy
+    public void close() throws InterruptedException {
+        running = false;
+        worker.interrupt();
+        worker.join(flushIntervalMillis);
+    }
+
+    private void drain() {
+        List<TaskAuditEvent> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                TaskAuditEvent first = queue.poll(flushIntervalMillis, TimeUnit.MILLISECONDS);
+                if (first == null) continue;
+                batch.add(first);
+            } catch (InterruptedException e) {
+                // Остановка: дописываем то, что осталось в очереди.
+                running = false;
+            }
+            queue.drainTo(batch, batchSize - batch.size());
+            if (!batch.isEmpty()) write(batch);
+            batch.clear();
+        }
+    }
+
+    private void write(List<TaskAuditEvent> batch) {
+        try {
+            writer.write(batch);
+        } catch (RuntimeException e) {
+            log.warn("Не записана пачка событий аудита из {} шт.: {}.", batch.size(), e.getMessage());
+        }
+    }
+
+}
@@ -0,0 +1,19 @@
+package com.example.audit;
+
+import java.util.List;
+
+/**
+ * Приёмник пачек событий аудита, вызывается из потока журнала аудита.
+ */
+public interface TaskAuditWriter {
+
+    /**
+     * Включён ли приёмник; выключенный приёмник не получает событий, и они не ставятся в очередь.
+     */
+    default boolean isEnabled() {
+        return true;
+    }
+
+    void write(List<TaskAuditEvent> batch);
+
+}
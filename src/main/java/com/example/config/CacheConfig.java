@@ -0,0 +1,17 @@
+package com.example.config;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * Кеширование выполняется снаружи транзакции сервиса: вытеснение из кеша происходит после фиксации,
+ * поэтому конкурентное чтение не может вернуть в кеш значение, удалённое или изменённое транзакцией.
+ */
+@Configuration
+@EnableCaching(order = Ordered.HIGHEST_PRECEDENCE)
+public class CacheConfig {
+
+    public static final String TASKS_CACHE = "tasks";
+
+}
@@ -0,0 +1,91 @@
+package com.example.config;
+
+import com.example.mapper.TaskMapper;
+import com.example.repository.TaskRepository;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.lang.reflect.Method;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.domain.Slice;
+
+/**
+ * Метрики горячего пути списка задач сверх http.server.requests и spring.data.repository.invocations:
+ * время маппинга по методам TaskMapper (task.mapper) и число строк, возвращённых методами
+ * TaskRepository со списочным результатом (task.repository.rows).
+ */
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public static BeanPostProcessor taskMetricsBeanPostProcessor(ObjectProvider<MeterRegistry> meterRegistry) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof TaskMapper) {
+                    return proxy(bean, TaskMapper.class, mapperTimer(meterRegistry));
+                }
+                if (bean instanceof TaskRepository) {
+                    return proxy(bean, TaskRepository.class, repositoryRows(meterRegistry));
+                }
+                return bean;
+            }
+        };
+    }
+
+    private static Object proxy(Object bean, Class<?> type, MethodInterceptor interceptor) {
+        ProxyFactory proxyFactory = new ProxyFactory(bean);
+        proxyFactory.addInterface(type);
+        proxyFactory.addAdvice(interceptor);
+        return proxyFactory.getProxy(type.getClassLoader());
+    }
+
+    private static MethodInterceptor mapperTimer(ObjectProvider<MeterRegistry> meterRegistry) {
+        Map<Method, Timer> timers = new ConcurrentHashMap<>();
+        return invocation -> {
+            Timer timer = timers.computeIfAbsent(invocation.getMethod(), method -> Timer.builder("task.mapper")
+                    .tag("method", method.getName())
+                    .description("Время маппинга задач")
+                    .register(meterRegistry.getObject()));
+            long start = System.nanoTime();
+            try {
+                return invocation.proceed();
+            } finally {
+                timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            }
+        };
+    }
+
+    private static MethodInterceptor repositoryRows(ObjectProvider<MeterRegistry> meterRegistry) {
+        Map<Method, DistributionSummary> summaries = new ConcurrentHashMap<>();
+        return invocation -> {
+            Object result = invocation.proceed();
+            int rows;
+            if (result instanceof Slice<?> slice) {
+                rows = slice.getNumberOfElements();
+            } else if (result instanceof Collection<?> collection) {
+                rows = collection.size();
+            } else {
+                return result;
+            }
+            summaries.computeIfAbsent(invocation.getMethod(), method -> DistributionSummary
+                            .builder("task.repository.rows")
+                            .tag("method", method.getName())
+                            .description("Количество строк, возвращённых запросом")
+                            .publishPercentileHistogram()
+                            .register(meterRegistry.getObject()))
+                    .record(rows);
+            return result;
+        };
+    }
+
+}
@@ -0,0 +1,83 @@
+package com.example.config;
+
+import com.example.datasource.ReplicaRoutingDataSource;
+import com.example.datasource.WriteTrackingStatementInspector;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import javax.sql.DataSource;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+/**
+ * Чтение из реплик: транзакции @Transactional(readOnly = true) получают соединение из реплики,
+ * остальные - из основной БД. Соединение берётся при первом запросе, когда признак только чтения
+ * транзакции уже известен.
+ */
+@Configuration
+@ConditionalOnProperty(name = "task.datasource.replicas.enabled", havingValue = "true")
+public class ReadReplicaConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(
+            DataSourceProperties properties,
+            HikariDataSource primaryDataSource,
+            MeterRegistry meterRegistry,
+            @Value("${task.datasource.replicas.urls}") List<String> urls,
+            @Value("${task.datasource.replicas.maximum-pool-size:10}") int maximumPoolSize,
+            @Value("${task.datasource.replicas.max-lag:PT5S}") Duration maxLag,
+            @Value("${task.datasource.replicas.read-your-writes-window:PT1S}") Duration readYourWritesWindow,
+            @Value("${task.datasource.replicas.lag-query}") String lagQuery) {
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        for (int i = 0; i < urls.size(); i++) {
+            HikariDataSource replica = properties.initializeDataSourceBuilder()
+                    .url(urls.get(i))
+                    .type(HikariDataSource.class)
+                    .build();
+            replica.setPoolName(primaryDataSource.getPoolName() + "-replica-" + i);
+            replica.setMaximumPoolSize(maximumPoolSize);
+            replica.setConnectionTimeout(primaryDataSource.getConnectionTimeout());
+            replica.setAutoCommit(primaryDataSource.isAutoCommit());
+            replica.setDataSourceProperties(primaryDataSource.getDataSourceProperties());
+            replica.setReadOnly(true);
+            replica.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+            replicas.put(replica.getPoolName(), replica);
+        }
+        return new ReplicaRoutingDataSource(primaryDataSource, replicas, meterRegistry, maxLag,
+                readYourWritesWindow, lagQuery);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource primaryDataSource,
+                                 ReplicaRoutingDataSource replicaRoutingDataSource) {
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(primaryDataSource);
+        dataSource.setReadOnlyDataSource(replicaRoutingDataSource);
+        return dataSource;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer writeTrackingHibernatePropertiesCustomizer() {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR,
+                new WriteTrackingStatementInspector());
+    }
+
+}
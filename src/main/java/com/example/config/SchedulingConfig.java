@@ -0,0 +1,13 @@
+package com.example.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Фоновые задачи: ретрансляция и очистка outbox изменений задач, свёртка статистики, планировщик сроков, архивация,
+ * продление аренды шардов этих работ.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -1,42 +1,79 @@
 package com.example.controller;
 
+import com.example.dto.TaskChangeDto;
+import com.example.dto.TaskCursorPage;
 import com.example.dto.TaskDto;
+import com.example.dto.TaskImportResult;
 import com.example.dto.TaskPage;
+import com.example.dto.TaskStatsDto;
+import com.example.dto.TaskTotalMode;
 import com.example.dto.NewTaskDto;
 import com.example.dto.UpdateTaskDto;
 import com.example.exception.ApiError;
+import com.example.export.NdjsonWriter;
+import com.example.export.TaskExportFormat;
+import com.example.export.TaskExportWriter;
+import com.example.export.TaskExportWriterFactory;
+import com.example.search.TaskSearch;
+import com.example.service.TaskChangeBroadcaster;
+import com.example.service.TaskChangeFeed;
+import com.example.service.TaskChangeFilter;
+import com.example.service.TaskImporter;
 import com.example.service.TaskService;
+import com.example.util.TaskEtag;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.ExampleObject;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.PastOrPresent;
 import jakarta.validation.constraints.Positive;
 import jakarta.validation.constraints.PositiveOrZero;
+import jakarta.validation.constraints.Size;
 
 import static com.example.swagger.ResponseExample.TASK_ERROR_400_EXAMPLE;
 import static com.example.swagger.ResponseExample.TASK_ERROR_404_EXAMPLE;
@@ -49,7 +86,15 @@ import static com.example.util.DateTimeConstant.PATTERN_FOR_DATETIME;
 @Tag(name = "Задачи", description = "Взаимодействие с задачами")
 public class TaskController {
 
+    private static final String RETURN_MINIMAL = "return=minimal";
+    private static final String BATCH_SIZE_MESSAGE = "Ошибка! Пакет может содержать от 1 до 1000 задач.";
+
     private final TaskService taskService;
+    private final TaskExportWriterFactory taskExportWriterFactory;
+    private final TaskImporter taskImporter;
+    private final TaskChangeFeed taskChangeFeed;
+    private final TaskChangeBroadcaster taskChangeBroadcaster;
+    private final TaskSearch taskSearch;
 
     @GetMapping("/{id}")
     @Operation(
@@ -60,17 +105,24 @@ public class TaskController {
             @ApiResponse(responseCode = "200", description = "Ok",
                     content = {@Content(mediaType = "application/json",
                             schema = @Schema(implementation = TaskDto.class))}),
+            @ApiResponse(responseCode = "304", description = "Not Modified", content = @Content),
             @ApiResponse(responseCode = "404", description = "The required object was not found",
                     content = {@Content(mediaType = "application/json",
                             schema = @Schema(implementation = ApiError.class),
                             examples = {@ExampleObject(value = TASK_ERROR_404_EXAMPLE)})})})
     /**
-     * Получить информацию о задаче по её id.
+     * Получить информацию о задаче по её id; при совпадении If-None-Match с версией задачи - 304 без тела.
      */
     public ResponseEntity<TaskDto> getTaskById(
-            @PathVariable @Parameter(description = "Идентификатор задачи", required = true) Long id) {
+            @PathVariable @Parameter(description = "Идентификатор задачи", required = true) Long id,
+            WebRequest request) {
+        if (request.getHeader(HttpHeaders.IF_NONE_MATCH) != null
+                && request.checkNotModified(TaskEtag.of(taskService.getTaskVersion(id)))) {
+            log.info("Задача с id = {} не изменилась.", id);
+            return null;
+        }
         TaskDto taskDto = taskService.getTaskById(id);
-        return ResponseEntity.ok().body(taskDto);
+        return withEtag(ResponseEntity.ok(), TaskEtag.of(taskDto.getVersion())).body(taskDto);
     }
 
     @GetMapping
@@ -80,11 +132,13 @@ public class TaskController {
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Ok",
                     content = {@Content(mediaType = "application/json",
-                            schema = @Schema(implementation = TaskPage.class))})})
+                            schema = @Schema(implementation = TaskPage.class))}),
+            @ApiResponse(responseCode = "304", description = "Not Modified", content = @Content)})
     /**
-     * Получить список всех задач.
+     * Получить список всех задач; ETag и If-None-Match поддерживаются при точном подсчёте (EXACT)
+     * и полном наборе полей. Архив выполненных задач читается, только если запрошен includeArchived.
      */
-    public ResponseEntity<Page<TaskDto>> getAllTasks(
+    public ResponseEntity<Slice<?>> getAllTasks(
             @RequestParam(name = "Статус выполнения задачи", required = false)
             @Parameter(description = "Статус выполнения задачи") Boolean completed,
             @PastOrPresent @RequestParam(required = false) @Parameter(description = "дата с")
@@ -94,12 +148,230 @@ public class TaskController {
             @PositiveOrZero @RequestParam(name = "from", defaultValue = "0")
             @Parameter(description = "номер страницы") Integer from,
             @Positive @Max(500) @RequestParam(name = "size", defaultValue = "10")
-            @Parameter(description = "размер страницы") Integer size
+            @Parameter(description = "размер страницы") Integer size,
+            @RequestParam(name = "total", defaultValue = "EXACT")
+            @Parameter(description = "подсчёт общего количества: EXACT - точно, NONE - без подсчёта (Slice), " +
+                    "ESTIMATED - оценка по счётчикам статистики") TaskTotalMode total,
+            @RequestParam(name = "fields", required = false)
+            @Parameter(description = "поля задачи через запятую, например id,title; по умолчанию все поля")
+            List<String> fields,
+            @RequestParam(name = "includeArchived", defaultValue = "false")
+            @Parameter(description = "включить выполненные задачи из архива; ETag не выдаётся, ESTIMATED " +
+                    "считается точно") boolean includeArchived,
+            WebRequest request
             ) {
-        Page<TaskDto> taskDtos = taskService.getAllTasks(completed, dateStart, dateEnd, from, size);
+        if (includeArchived) {
+            Slice<?> tasks = fields != null && !fields.isEmpty() ?
+                    taskService.getAllTasksFieldsWithArchive(completed, dateStart, dateEnd, from, size, fields, total) :
+                    taskService.getAllTasksWithArchive(completed, dateStart, dateEnd, from, size, total);
+            log.info("Получен список задач с архивом с completed = {}, dateStart = {}, dateEnd = {} from = {}, " +
+                    "size = {}, количество = {}.", completed, dateStart, dateEnd, from, size,
+                    tasks.getNumberOfElements());
+            return ResponseEntity.ok(tasks);
+        }
+        if (fields != null && !fields.isEmpty()) {
+            Slice<Map<String, Object>> tasks =
+                    taskService.getAllTasksFields(completed, dateStart, dateEnd, from, size, fields, total);
+            log.info("Получен список задач с completed = {}, dateStart = {}, dateEnd = {} from = {}, size = {}, " +
+                    "fields = {}, количество = {}.", completed, dateStart, dateEnd, from, size, fields,
+                    tasks.getNumberOfElements());
+            return ResponseEntity.ok(tasks);
+        }
+        if (total == TaskTotalMode.EXACT && request.getHeader(HttpHeaders.IF_NONE_MATCH) != null
+                && request.checkNotModified(taskService.getAllTasksEtag(completed, dateStart, dateEnd, from, size))) {
+            log.info("Список задач с completed = {}, dateStart = {}, dateEnd = {} from = {}, size = {} " +
+                    "не изменился.", completed, dateStart, dateEnd, from, size);
+            return null;
+        }
+        Slice<TaskDto> taskDtos = switch (total) {
+            case EXACT -> taskService.getAllTasks(completed, dateStart, dateEnd, from, size);
+            case NONE -> taskService.getTasksSlice(completed, dateStart, dateEnd, from, size);
+            case ESTIMATED -> taskService.getAllTasksWithEstimatedTotal(completed, dateStart, dateEnd, from, size);
+        };
         log.info("Получен список задач с completed = {}, dateStart = {}, dateEnd = {} from = {}, size = {}, " +
                         "количество = {}.", completed, dateStart, dateEnd, from, size, taskDtos.stream().count());
-        return ResponseEntity.ok().body(taskDtos);
+        String eTag = total == TaskTotalMode.EXACT ?
+                TaskEtag.ofPage((Page<TaskDto>) taskDtos, TaskDto::getId, TaskDto::getVersion) : null;
+        return withEtag(ResponseEntity.ok(), eTag).<Slice<?>>body(taskDtos);
+    }
+
+    @GetMapping(params = "after")
+    @Operation(
+            summary = "Получить задачи по курсору",
+            description = "Позволяет возвратить страницу задач, следующую за курсором; " +
+                    "стоимость запроса не зависит от глубины страницы")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Ok",
+                    content = {@Content(mediaType = "application/json",
+                            schema = @Schema(implementation = TaskCursorPage.class))}),
+            @ApiResponse(responseCode = "400", description = "Incorrectly made request",
+                    content = {@Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ApiError.class))})})
+    /**
+     * Получить страницу задач, следующую за курсором.
+     */
+    public ResponseEntity<TaskCursorPage> getAllTasksAfter(
+            @RequestParam(name = "Статус выполнения задачи", required = false)
+            @Parameter(description = "Статус выполнения задачи") Boolean completed,
+            @PastOrPresent @RequestParam(required = false) @Parameter(description = "дата с")
+            @DateTimeFormat(pattern = PATTERN_FOR_DATETIME) LocalDateTime dateStart,
+            @RequestParam(required = false) @Parameter(description = "дата до")
+            @DateTimeFormat(pattern = PATTERN_FOR_DATETIME) LocalDateTime dateEnd,
+            @RequestParam(name = "after")
+            @Parameter(description = "курсор из nextCursor предыдущей страницы, пустой для первой страницы")
+            String after,
+            @Positive @Max(500) @RequestParam(name = "size", defaultValue = "10")
+            @Parameter(description = "размер страницы") Integer size
+            ) {
+        TaskCursorPage cursorPage = taskService.getAllTasksAfter(completed, dateStart, dateEnd, after, size);
+        log.info("Получен список задач по курсору с completed = {}, dateStart = {}, dateEnd = {} after = {}, " +
+                        "size = {}, количество = {}.", completed, dateStart, dateEnd, after, size,
+                cursorPage.getContent().size());
+        return ResponseEntity.ok().body(cursorPage);
+    }
+
+    @GetMapping("/search")
+    @Operation(
+            summary = "Найти задачи",
+            description = "Позволяет найти задачи по словам в имени и описании: каждое слово ищется по префиксу, " +
+                    "задачи упорядочены по релевантности; совпадения в имени важнее совпадений в описании. " +
+                    "Ранжируется не больше task.search.max-candidates (10000) совпадений: запрос, находящий больше, " +
+                    "и страница, начинающаяся за этой границей, отклоняются с 400")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Ok",
+                    content = {@Content(mediaType = "application/json",
+                            schema = @Schema(implementation = TaskPage.class))}),
+            @ApiResponse(responseCode = "400", description = "Incorrectly made request",
+                    content = {@Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ApiError.class))})})
+    /**
+     * Найти задачи полнотекстовым поиском по имени и описанию.
+     */
+    public ResponseEntity<Slice<TaskDto>> searchTasks(
+            @Size(max = 200) @RequestParam(name = "q")
+            @Parameter(description = "поисковый запрос, например \"кино билет\"") String q,
+            @PositiveOrZero @RequestParam(name = "from", defaultValue = "0")
+            @Parameter(description = "номер страницы") Integer from,
+            @Positive @Max(100) @RequestParam(name = "size", defaultValue = "10")
+            @Parameter(description = "размер страницы") Integer size
+            ) {
+        Slice<TaskDto> tasks = taskSearch.search(q, from, size);
+        log.info("Найдены задачи по запросу q = {}, from = {}, size = {}, количество = {}.", q, from, size,
+                tasks.getNumberOfElements());
+        return ResponseEntity.ok().body(tasks);
+    }
+
+    @GetMapping("/stats")
+    @Operation(
+            summary = "Получить статистику задач",
+            description = "Позволяет получить количество выполненных, невыполненных и просроченных задач " +
+                    "и распределение задач по дням срока выполнения; значения берутся из сводной таблицы " +
+                    "и отстают от изменений задач не больше чем на интервал её свёртки")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Ok",
+                    content = {@Content(mediaType = "application/json",
+                            schema = @Schema(implementation = TaskStatsDto.class))}),
+            @ApiResponse(responseCode = "400", description = "Incorrectly made request",
+                    content = {@Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ApiError.class))})})
+    /**
+     * Получить статистику задач.
+     */
+    public ResponseEntity<TaskStatsDto> getTaskStats(
+            @RequestParam(required = false) @Parameter(description = "первый день распределения, по умолчанию сегодня")
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dayStart,
+            @RequestParam(required = false)
+            @Parameter(description = "последний день распределения, по умолчанию через 6 дней после первого")
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dayEnd
+            ) {
+        TaskStatsDto taskStats = taskService.getTaskStats(dayStart, dayEnd);
+        log.info("Получена статистика задач с dayStart = {}, dayEnd = {}: всего = {}, просрочено = {}.",
+                dayStart, dayEnd, taskStats.getTotal(), taskStats.getOverdue());
+        return ResponseEntity.ok().body(taskStats);
+    }
+
+    @GetMapping("/changes")
+    @Operation(
+            summary = "Получить изменения задач",
+            description = "Позволяет получить изменения задач с номером больше since; если изменений нет, " +
+                    "запрос ждёт их до timeout секунд и возвращает пустой список")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Ok",
+                    content = {@Content(mediaType = "application/json",
+                            array = @ArraySchema(schema = @Schema(implementation = TaskChangeDto.class)))})})
+    /**
+     * Получить изменения задач после заданного номера (long-poll).
+     */
+    public DeferredResult<List<TaskChangeDto>> getTaskChanges(
+            @PositiveOrZero @RequestParam(name = "since", defaultValue = "0")
+            @Parameter(description = "номер последнего полученного изменения, 0 - с начала ленты") Long since,
+            @Positive @Max(1000) @RequestParam(name = "limit", defaultValue = "100")
+            @Parameter(description = "максимальное количество изменений в ответе") Integer limit,
+            @Positive @Max(60) @RequestParam(name = "timeout", defaultValue = "30")
+            @Parameter(description = "время ожидания новых изменений, секунд") Integer timeout) {
+        log.info("Запрошены изменения задач с since = {}, limit = {}, timeout = {}.", since, limit, timeout);
+        return taskChangeFeed.poll(since, limit, Duration.ofSeconds(timeout));
+    }
+
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(
+            summary = "Подписаться на изменения задач",
+            description = "Позволяет получать изменения задач по фильтру списка задач потоком Server-Sent Events; " +
+                    "события CREATED, UPDATED, DELETED, ARCHIVED (задача перенесена в архив) и EXCLUDED " +
+                    "(задача вышла из фильтра), id события - номер " +
+                    "изменения в ленте, при переподключении с Last-Event-ID пропущенные изменения досылаются; " +
+                    "если их больше task.sse.max-pending, приходит событие RESET и поток закрывается - " +
+                    "задачи нужно перечитать и подписаться без Last-Event-ID")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Ok",
+                    content = {@Content(mediaType = "text/event-stream",
+                            schema = @Schema(implementation = TaskChangeDto.class))})})
+    /**
+     * Подписаться на изменения задач по фильтру.
+     */
+    public SseEmitter streamTaskChanges(
+            @RequestParam(name = "Статус выполнения задачи", required = false)
+            @Parameter(description = "Статус выполнения задачи") Boolean completed,
+            @RequestParam(required = false) @Parameter(description = "дата с")
+            @DateTimeFormat(pattern = PATTERN_FOR_DATETIME) LocalDateTime dateStart,
+            @RequestParam(required = false) @Parameter(description = "дата до")
+            @DateTimeFormat(pattern = PATTERN_FOR_DATETIME) LocalDateTime dateEnd,
+            @PositiveOrZero @RequestHeader(name = "Last-Event-ID", required = false)
+            @Parameter(description = "номер последнего полученного изменения") Long lastEventId) {
+        log.info("Подписка на изменения задач с completed = {}, dateStart = {}, dateEnd = {}, lastEventId = {}.",
+                completed, dateStart, dateEnd, lastEventId);
+        return taskChangeBroadcaster.subscribe(new TaskChangeFilter(completed, dateStart, dateEnd), lastEventId);
+    }
+
+    @GetMapping("/export")
+    @Operation(
+            summary = "Выгрузить задачи",
+            description = "Позволяет выгрузить все задачи по фильтру потоком в формате NDJSON или CSV")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Ok",
+                    content = {@Content(mediaType = "application/x-ndjson",
+                            schema = @Schema(implementation = TaskDto.class)),
+                            @Content(mediaType = "text/csv")})})
+    /**
+     * Выгрузить задачи по фильтру потоком.
+     */
+    public void exportTasks(
+            @RequestParam(name = "Статус выполнения задачи", required = false)
+            @Parameter(description = "Статус выполнения задачи") Boolean completed,
+            @PastOrPresent @RequestParam(required = false) @Parameter(description = "дата с")
+            @DateTimeFormat(pattern = PATTERN_FOR_DATETIME) LocalDateTime dateStart,
+            @RequestParam(required = false) @Parameter(description = "дата до")
+            @DateTimeFormat(pattern = PATTERN_FOR_DATETIME) LocalDateTime dateEnd,
+            @RequestParam(name = "format", defaultValue = "NDJSON")
+            @Parameter(description = "формат выгрузки") TaskExportFormat format,
+            HttpServletResponse response) throws IOException {
+        response.setContentType(format.getMediaType());
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        try (TaskExportWriter writer = taskExportWriterFactory.create(format, response.getOutputStream())) {
+            taskService.exportTasks(completed, dateStart, dateEnd, writer::write);
+        }
+        log.info("Выгружены задачи с completed = {}, dateStart = {}, dateEnd = {} в формате {}.",
+                completed, dateStart, dateEnd, format);
     }
 
     @PostMapping
@@ -127,11 +399,14 @@ public class TaskController {
     @Validated
     @Operation(
             summary = "Редактировать задачу",
-            description = "Позволяет редактировать данные задачи")
+            description = "Позволяет редактировать данные задачи; с заголовком If-Match задача изменяется, " +
+                    "только если её версия не изменилась")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Ok",
                     content = {@Content(mediaType = "application/json",
                             schema = @Schema(implementation = TaskDto.class))}),
+            @ApiResponse(responseCode = "204", description = "No content, при Prefer: return=minimal",
+                    content = @Content),
             @ApiResponse(responseCode = "400", description = "Incorrectly made request",
                     content = {@Content(mediaType = "application/json",
                             schema = @Schema(implementation = ApiError.class),
@@ -139,15 +414,32 @@ public class TaskController {
             @ApiResponse(responseCode = "404", description = "The required object was not found",
                     content = {@Content(mediaType = "application/json",
                             schema = @Schema(implementation = ApiError.class),
-                            examples = {@ExampleObject(value = TASK_ERROR_404_EXAMPLE)})})})
+                            examples = {@ExampleObject(value = TASK_ERROR_404_EXAMPLE)})}),
+            @ApiResponse(responseCode = "409", description = "The task version does not match If-Match",
+                    content = {@Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ApiError.class))})})
     /**
      * Обновить информацию о задаче.
      */
     public ResponseEntity<TaskDto> updateTask(
             @PathVariable @Parameter(description = "Идентификатор задачи", required = true) Long id,
-            @Valid @RequestBody UpdateTaskDto updateTaskDto) {
-        TaskDto taskDto = taskService.updateTask(id, updateTaskDto);
-        return ResponseEntity.ok(taskDto);
+            @Valid @RequestBody UpdateTaskDto updateTaskDto,
+            @RequestHeader(name = HttpHeaders.IF_MATCH, required = false)
+            @Parameter(description = "ETag задачи, полученный ранее") String ifMatch,
+            @RequestHeader(name = "Prefer", required = false)
+            @Parameter(description = "return=minimal - ответ без тела") String prefer) {
+        Long version = ifMatch == null ? null : TaskEtag.parse(ifMatch);
+        if (version == null) {
+            TaskDto taskDto = taskService.updateTask(id, updateTaskDto);
+            return withEtag(ResponseEntity.ok(), TaskEtag.of(taskDto.getVersion())).body(taskDto);
+        }
+
+        TaskDto taskDto = taskService.updateTaskIfMatch(id, updateTaskDto, version);
+        log.info("Обновлена задача с id = {} до версии {}.", id, taskDto.getVersion());
+        if (RETURN_MINIMAL.equalsIgnoreCase(prefer)) {
+            return ResponseEntity.noContent().eTag(TaskEtag.of(taskDto.getVersion())).build();
+        }
+        return withEtag(ResponseEntity.ok(), TaskEtag.of(taskDto.getVersion())).body(taskDto);
     }
 
     @DeleteMapping("/{id}")
@@ -165,4 +457,91 @@ public class TaskController {
         taskService.deleteTaskById(id);
     }
 
-}
\ No newline at end of file
+    @PostMapping(value = "/import", consumes = "application/x-ndjson", produces = "application/x-ndjson")
+    @Operation(
+            summary = "Импортировать задачи",
+            description = "Позволяет загрузить задачи потоком NDJSON (одна новая задача на строку); " +
+                    "в ответ потоком возвращается результат по каждой строке")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Ok",
+                    content = {@Content(mediaType = "application/x-ndjson",
+                            schema = @Schema(implementation = TaskImportResult.class))})})
+    /**
+     * Импортировать задачи из потока NDJSON.
+     */
+    public void importTasks(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        response.setContentType("application/x-ndjson");
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        try (Reader reader = new BufferedReader(new InputStreamReader(request.getInputStream(), StandardCharsets.UTF_8));
+             NdjsonWriter<TaskImportResult> writer =
+                     taskExportWriterFactory.createImportResultWriter(response.getOutputStream())) {
+            taskImporter.importTasks(reader, writer::write);
+        }
+    }
+
+    @PostMapping("/batch")
+    @Operation(
+            summary = "Добавить задачи пакетом",
+            description = "Позволяет добавить до 1000 новых задач одним запросом")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "201", description = "Created",
+                    content = {@Content(mediaType = "application/json",
+                            array = @ArraySchema(schema = @Schema(implementation = TaskDto.class)))}),
+            @ApiResponse(responseCode = "400", description = "Incorrectly made request",
+                    content = {@Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ApiError.class))})})
+    /**
+     * Создать пакет новых задач.
+     */
+    public ResponseEntity<List<TaskDto>> saveTasks(
+            @RequestBody @Size(min = 1, max = 1000, message = BATCH_SIZE_MESSAGE)
+            List<@Valid NewTaskDto> newTaskDtos) {
+        List<TaskDto> taskDtos = taskService.saveTasks(newTaskDtos);
+        return ResponseEntity.status(HttpStatus.CREATED).body(taskDtos);
+    }
+
+    @PatchMapping("/batch")
+    @Operation(
+            summary = "Редактировать задачи пакетом",
+            description = "Позволяет редактировать до 1000 задач одним запросом; id каждой задачи обязателен")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Ok",
+                    content = {@Content(mediaType = "application/json",
+                            array = @ArraySchema(schema = @Schema(implementation = TaskDto.class)))}),
+            @ApiResponse(responseCode = "400", description = "Incorrectly made request",
+                    content = {@Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ApiError.class))}),
+            @ApiResponse(responseCode = "404", description = "The required object was not found",
+                    content = {@Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ApiError.class))})})
+    /**
+     * Обновить пакет задач.
+     */
+    public ResponseEntity<List<TaskDto>> updateTasks(
+            @RequestBody @Size(min = 1, max = 1000, message = BATCH_SIZE_MESSAGE)
+            List<@Valid UpdateTaskDto> updateTaskDtos) {
+        List<TaskDto> taskDtos = taskService.updateTasks(updateTaskDtos);
+        return ResponseEntity.ok(taskDtos);
+    }
+
+    @DeleteMapping("/batch")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    @Operation(
+            summary = "Удалить задачи пакетом",
+            description = "Позволяет удалить до 1000 задач по списку id одним запросом")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "204", description = "No content")})
+    /**
+     * Удалить пакет задач.
+     */
+    public void deleteTasksByIds(
+            @RequestBody @Size(min = 1, max = 1000, message = BATCH_SIZE_MESSAGE)
+            @Parameter(description = "Идентификаторы задач", required = true) List<@NotNull Long> ids) {
+        taskService.deleteTasksByIds(ids);
+    }
+
+    private static ResponseEntity.BodyBuilder withEtag(ResponseEntity.BodyBuilder builder, String eTag) {
+        return eTag == null ? builder : builder.eTag(eTag);
+    }
+
+}
@@ -0,0 +1,68 @@
+package com.example.datasource;
+
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+/**
+ * Время последней записи клиента для чтения своих записей: запись, зафиксированная при обработке
+ * HTTP-запроса, отмечается в cookie ответа, и следующие запросы клиента на любом узле читают из основной БД,
+ * пока реплики могут её не содержать. Записи вне HTTP-запроса (фоновые задачи) не отмечаются.
+ */
+public final class ClientWrites {
+
+    public static final String COOKIE = "task-last-write";
+
+    private static final String ATTRIBUTE = ClientWrites.class.getName() + ".lastWrite";
+
+    private ClientWrites() {
+    }
+
+    /**
+     * Время последней записи клиента текущего запроса (мс с эпохи) или 0, если клиент не писал.
+     */
+    public static long lastWriteMillis() {
+        if (!(RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes)) {
+            return 0;
+        }
+        HttpServletRequest request = attributes.getRequest();
+        if (request.getAttribute(ATTRIBUTE) instanceof Long lastWrite) {
+            return lastWrite;
+        }
+        Cookie[] cookies = request.getCookies();
+        if (cookies == null) return 0;
+        for (Cookie cookie : cookies) {
+            if (COOKIE.equals(cookie.getName())) {
+                try {
+                    return Long.parseLong(cookie.getValue());
+                } catch (NumberFormatException e) {
+                    return 0;
+                }
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Отметить зафиксированную запись клиента текущего запроса; без запроса ничего не делает.
+     */
+    public static void markWrite() {
+        if (!(RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes)) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        boolean first = attributes.getRequest().getAttribute(ATTRIBUTE) == null;
+        attributes.getRequest().setAttribute(ATTRIBUTE, now);
+        HttpServletResponse response = attributes.getResponse();
+        // Окно чтения своих записей покрывает разницу между записями одного запроса, поэтому cookie ставится один раз.
+        if (first && response != null && !response.isCommitted()) {
+            Cookie cookie = new Cookie(COOKIE, Long.toString(now));
+            cookie.setPath("/");
+            cookie.setHttpOnly(true);
+            response.addCookie(cookie);
+        }
+    }
+
+}
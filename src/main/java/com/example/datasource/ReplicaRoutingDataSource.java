@@ -0,0 +1,138 @@
+package com.example.datasource;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.sql.DataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+
+/**
+ * Источник соединений для транзакций только на чтение: реплики перебираются по кругу, реплика
+ * пропускается, если она недоступна, её отставание больше допустимого или с последней записи
+ * клиента текущего запроса ({@link ClientWrites}) прошло меньше, чем её отставание (чтение своих записей).
+ * Иначе - основная БД.
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractDataSource implements InitializingBean, AutoCloseable {
+
+    private static final long UNAVAILABLE = Long.MAX_VALUE;
+
+    private final DataSource primary;
+    private final List<Replica> replicas;
+    private final long maxLagNanos;
+    private final long readYourWritesNanos;
+    private final String lagQuery;
+    private final Counter primaryReads;
+    private final Counter replicaReads;
+    private final AtomicInteger next = new AtomicInteger();
+
+    public ReplicaRoutingDataSource(DataSource primary, Map<String, DataSource> replicas, MeterRegistry meterRegistry,
+                                    Duration maxLag, Duration readYourWritesWindow, String lagQuery) {
+        this.primary = primary;
+        this.replicas = replicas.entrySet().stream()
+                .map(replica -> new Replica(replica.getKey(), replica.getValue()))
+                .toList();
+        this.maxLagNanos = maxLag.toNanos();
+        this.readYourWritesNanos = readYourWritesWindow.toNanos();
+        this.lagQuery = lagQuery;
+        this.primaryReads = Counter.builder("task.datasource.reads").tag("target", "primary")
+                .description("Транзакции только на чтение, выполненные в основной БД").register(meterRegistry);
+        this.replicaReads = Counter.builder("task.datasource.reads").tag("target", "replica")
+                .description("Транзакции только на чтение, выполненные в реплике").register(meterRegistry);
+        for (Replica replica : this.replicas) {
+            Gauge.builder("task.datasource.replica.lag", replica,
+                            r -> r.lagNanos == UNAVAILABLE ? Double.NaN : r.lagNanos / 1e9)
+                    .tag("replica", replica.name)
+                    .baseUnit("seconds")
+                    .description("Отставание реплики; NaN - реплика недоступна")
+                    .register(meterRegistry);
+        }
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return route().getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return route().getConnection(username, password);
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        checkLag();
+    }
+
+    /**
+     * Измерить отставание реплик; ошибка запроса исключает реплику до следующей успешной проверки.
+     */
+    @Scheduled(fixedDelayString = "${task.datasource.replicas.lag-check-interval:PT1S}")
+    public void checkLag() {
+        replicas.forEach(this::checkLag);
+    }
+
+    @Override
+    public void close() throws Exception {
+        for (Replica replica : replicas) {
+            if (replica.dataSource instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+
+    private DataSource route() {
+        long lastWrite = ClientWrites.lastWriteMillis();
+        long sinceWrite = lastWrite == 0 ? Long.MAX_VALUE : (System.currentTimeMillis() - lastWrite) * 1_000_000;
+        int start = Math.floorMod(next.getAndIncrement(), replicas.size());
+        for (int i = 0; i < replicas.size(); i++) {
+            Replica replica = replicas.get((start + i) % replicas.size());
+            long lag = replica.lagNanos;
+            if (lag <= maxLagNanos && sinceWrite > Math.max(lag, readYourWritesNanos)) {
+                replicaReads.increment();
+                return replica.dataSource;
+            }
+        }
+        primaryReads.increment();
+        return primary;
+    }
+
+    private void checkLag(Replica replica) {
+        try (Connection connection = replica.dataSource.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(lagQuery)) {
+            resultSet.next();
+            replica.lagNanos = Math.max(0, (long) (resultSet.getDouble(1) * 1_000_000));
+        } catch (SQLException e) {
+            if (replica.lagNanos != UNAVAILABLE) {
+                log.warn("Реплика {} недоступна, чтение выполняется в основной БД: {}.", replica.name, e.getMessage());
+            }
+            replica.lagNanos = UNAVAILABLE;
+        }
+    }
+
+    private static final class Replica {
+
+        private final String name;
+        private final DataSource dataSource;
+        private volatile long lagNanos;
+
+        private Replica(String name, DataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+
+    }
+
+}
@@ -0,0 +1,50 @@
+package com.example.datasource;
+
+import java.util.Locale;
+import java.util.regex.Pattern;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestContextHolder;
+
+/**
+ * Отмечает запись клиента ({@link ClientWrites}) после фиксации транзакции, выполнившей insert/update/delete/merge
+ * при обработке HTTP-запроса. Транзакции без изменяющих запросов и записи фоновых задач (аренда шардов, нумерация
+ * outbox, свёртка статистики) чтение из реплик не блокируют.
+ */
+public class WriteTrackingStatementInspector implements StatementInspector {
+
+    /**
+     * Выборка из изменения данных H2 ({@code select ... from old table (update ...)}) - тоже запись.
+     */
+    private static final Pattern DATA_CHANGE_TABLE =
+            Pattern.compile("\\b(?:old|new|final)\\s+table\\s*\\(\\s*(?:insert|update|delete|merge)\\b");
+
+    @Override
+    public String inspect(String sql) {
+        if (!isWrite(sql) || RequestContextHolder.getRequestAttributes() == null) return sql;
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            ClientWrites.markWrite();
+        } else if (!TransactionSynchronizationManager.hasResource(this)) {
+            TransactionSynchronizationManager.bindResource(this, Boolean.TRUE);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(WriteTrackingStatementInspector.this);
+                    if (status == STATUS_COMMITTED) {
+                        ClientWrites.markWrite();
+                    }
+                }
+            });
+        }
+        return sql;
+    }
+
+    private static boolean isWrite(String sql) {
+        String statement = sql.stripLeading().toLowerCase(Locale.ROOT);
+        return statement.startsWith("insert") || statement.startsWith("update") ||
+                statement.startsWith("delete") || statement.startsWith("merge") ||
+                DATA_CHANGE_TABLE.matcher(statement).find();
+    }
+
+}
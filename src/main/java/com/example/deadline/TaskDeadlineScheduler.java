@@ -0,0 +1,269 @@
+package com.example.deadline;
+
+import com.example.dto.TaskChangeDto;
+import com.example.dto.TaskDto;
+import com.example.lease.TaskLeaseService;
+import com.example.lease.TaskShardLease;
+import com.example.model.TaskChange;
+import com.example.repository.TaskDeadline;
+import com.example.repository.TaskRepository;
+import com.example.service.TaskChangesPublishedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Планировщик сроков задач. В памяти держатся только сроки ближайшего окна task.due.window: окно
+ * подгружается диапазоном по индексу срока выполнения, а изменения задач внутри окна приходят из ленты
+ * изменений. Сроки хранятся в {@link TimingWheel}, один поток продвигает колесо раз в тик и передаёт
+ * сработавшие сроки пачками во все {@link TaskDueSink}. Колесо - только подсказка: перед отправкой
+ * задачи перечитываются, поэтому удалённые, выполненные и перенесённые задачи не попадают в события.
+ * Доставка - не меньше одного раза: после перезапуска сроки за последние task.due.catch-up повторяются.
+ * На нескольких узлах задачи делятся на task.due.shards шардов по id, и узел держит в колесе и отправляет
+ * только сроки арендованных шардов; полученный шард загружается с task.due.catch-up назад, потерянный - снимается.
+ */
+@Component
+@Slf4j
+public class TaskDeadlineScheduler {
+
+    private final TaskRepository taskRepository;
+    private final List<TaskDueSink> sinks;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration window;
+    private final Duration overdueAfter;
+    private final Duration catchUp;
+    private final int batchSize;
+    private final Counter dueFired;
+    private final Counter overdueFired;
+    private final Lock lock = new ReentrantLock();
+    private final TimingWheel<Long, Deadline> wheel;
+    private final TaskShardLease lease;
+
+    private LocalDateTime loadedUntil; // Граница загруженного окна, под lock
+
+    public TaskDeadlineScheduler(
+            TaskRepository taskRepository,
+            List<TaskDueSink> sinks,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            TaskLeaseService taskLeaseService,
+            @Value("${task.due.tick:PT1S}") Duration tick,
+            @Value("${task.due.wheel-size:64}") int wheelSize,
+            @Value("${task.due.window:PT1H}") Duration window,
+            @Value("${task.due.overdue-after:PT1H}") Duration overdueAfter,
+            @Value("${task.due.catch-up:PT1H}") Duration catchUp,
+            @Value("${task.due.batch-size:500}") int batchSize,
+            @Value("${task.due.shards:16}") int shards) {
+        this.taskRepository = taskRepository;
+        this.sinks = sinks;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.window = window;
+        this.overdueAfter = overdueAfter;
+        this.catchUp = catchUp;
+        this.batchSize = batchSize;
+        this.wheel = new TimingWheel<>(tick.toMillis(), wheelSize, System.currentTimeMillis());
+        this.dueFired = meterRegistry.counter("task.due.fired", "type", TaskDueEvent.Type.DUE.name());
+        this.overdueFired = meterRegistry.counter("task.due.fired", "type", TaskDueEvent.Type.OVERDUE.name());
+        meterRegistry.gauge("task.due.pending", this, TaskDeadlineScheduler::pending);
+        this.loadedUntil = LocalDateTime.now().minus(catchUp);
+        this.lease = taskLeaseService.register("task-due", shards);
+        this.lease.onChange(this::onShardsChanged);
+    }
+
+    /**
+     * Подгрузить сроки до now + window.
+     */
+    @Scheduled(fixedDelayString = "${task.due.load-interval:PT10M}")
+    public void loadWindow() {
+        LocalDateTime from;
+        LocalDateTime to = LocalDateTime.now().plus(window);
+        lock.lock();
+        try {
+            from = loadedUntil;
+            if (!to.isAfter(from)) return;
+            // Граница сдвигается до чтения: изменения задач, опубликованные во время чтения, уже попадут в колесо,
+            // а устаревшие строки чтения отбросит проверка версии.
+            loadedUntil = to;
+        } finally {
+            lock.unlock();
+        }
+        Set<Integer> shards = lease.ownedShards();
+        if (shards.isEmpty()) return;
+        int loaded = load(from, to, shards);
+        log.info("Загружены сроки задач с {} по {}: задач = {}, в ожидании = {}.", from, to, loaded, pending());
+    }
+
+    private void onShardsChanged(Set<Integer> gained, Set<Integer> lost) {
+        LocalDateTime from = LocalDateTime.now().minus(catchUp);
+        LocalDateTime to;
+        lock.lock();
+        try {
+            wheel.removeIf(taskId -> lost.contains(lease.shardOf(taskId)));
+            to = loadedUntil;
+        } finally {
+            lock.unlock();
+        }
+        if (gained.isEmpty() || !to.isAfter(from)) return;
+        int loaded = load(from, to, gained);
+        log.info("Загружены сроки задач полученных шардов {} с {} по {}: задач = {}.", gained, from, to, loaded);
+    }
+
+    private int load(LocalDateTime from, LocalDateTime to, Set<Integer> shards) {
+        return transactionTemplate.execute(status -> {
+            int count = 0;
+            try (Stream<TaskDeadline> deadlines = taskRepository.streamOpenByDueDate(from, to,
+                    lease.bucketsOf(shards))) {
+                for (TaskDeadline deadline : (Iterable<TaskDeadline>) deadlines::iterator) {
+                    lock.lock();
+                    try {
+                        schedule(deadline.getId(), deadline.getDueDate(), deadline.getVersion());
+                    } finally {
+                        lock.unlock();
+                    }
+                    count++;
+                }
+            }
+            return count;
+        });
+    }
+
+    @EventListener
+    public void onPublished(TaskChangesPublishedEvent event) {
+        lock.lock();
+        try {
+            for (TaskChangeDto change : event.changes()) {
+                if (!lease.owns(lease.shardOf(change.getTaskId()))) continue;
+                TaskDto task = change.getTask();
+                if (change.getType() == TaskChange.Type.DELETED || task == null) {
+                    wheel.remove(change.getTaskId());
+                } else if (Boolean.TRUE.equals(task.getCompleted())) {
+                    wheel.remove(task.getId());
+                } else {
+                    schedule(task.getId(), task.getDueDate(), task.getVersion());
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Продвинуть колесо до текущего времени и отправить сработавшие сроки.
+     */
+    @Scheduled(fixedDelayString = "${task.due.tick:PT1S}")
+    public void tick() {
+        Map<Long, Deadline> fired = new LinkedHashMap<>();
+        lock.lock();
+        try {
+            wheel.advance(System.currentTimeMillis(), fired::put);
+        } finally {
+            lock.unlock();
+        }
+        // Аренда шарда могла истечь до снятия его сроков: такие сроки отправит новый владелец.
+        Set<Integer> shards = lease.ownedShards();
+        fired.keySet().removeIf(taskId -> !shards.contains(lease.shardOf(taskId)));
+        List<Long> taskIds = new ArrayList<>(fired.keySet());
+        for (int i = 0; i < taskIds.size(); i += batchSize) {
+            List<Long> batchIds = taskIds.subList(i, Math.min(i + batchSize, taskIds.size()));
+            List<TaskDto> tasks = transactionTemplate.execute(status -> taskRepository.findDtosByIdIn(batchIds));
+            publish(toEvents(tasks, fired));
+        }
+    }
+
+    private List<TaskDueEvent> toEvents(List<TaskDto> tasks, Map<Long, Deadline> fired) {
+        List<TaskDueEvent> events = new ArrayList<>(tasks.size());
+        Instant at = Instant.now();
+        lock.lock();
+        try {
+            for (TaskDto task : tasks) {
+                Deadline deadline = fired.get(task.getId());
+                if (Boolean.TRUE.equals(task.getCompleted())) continue;
+                if (!task.getDueDate().equals(deadline.dueDate())) {
+                    // Срок перенесён, а изменение ещё не дошло из ленты: ставим срок из БД.
+                    schedule(task.getId(), task.getDueDate(), task.getVersion());
+                    continue;
+                }
+                events.add(new TaskDueEvent(deadline.type(), task, at));
+                // Следующая стадия ставится, только если лента изменений не поставила срок задачи заново.
+                if (deadline.type() == TaskDueEvent.Type.DUE && wheel.get(task.getId()) == null) {
+                    Deadline overdue = new Deadline(task.getDueDate(), task.getVersion(), TaskDueEvent.Type.OVERDUE);
+                    wheel.schedule(task.getId(), fireAt(overdue), overdue);
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+        return events;
+    }
+
+    private void publish(List<TaskDueEvent> events) {
+        if (events.isEmpty()) return;
+        for (TaskDueEvent event : events) {
+            (event.type() == TaskDueEvent.Type.DUE ? dueFired : overdueFired).increment();
+        }
+        for (TaskDueSink sink : sinks) {
+            try {
+                sink.accept(events);
+            } catch (RuntimeException e) {
+                log.warn("Приёмник {} не принял пачку событий о сроках задач из {} шт.: {}.",
+                        sink.getClass().getSimpleName(), events.size(), e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Поставить или перенести срок задачи; вызывается под lock. Срок за границей окна снимается -
+     * его подгрузит следующее окно; изменение с версией меньше поставленной устарело и пропускается.
+     */
+    private void schedule(Long taskId, LocalDateTime dueDate, Long version) {
+        Deadline current = wheel.get(taskId);
+        if (current != null && current.version() != null && version != null && current.version() > version) return;
+        if (!dueDate.isBefore(loadedUntil)) {
+            wheel.remove(taskId);
+            return;
+        }
+        // Изменение без переноса срока не возвращает задачу со стадии OVERDUE на DUE.
+        TaskDueEvent.Type type = current != null && current.dueDate().equals(dueDate) ?
+                current.type() : TaskDueEvent.Type.DUE;
+        Deadline deadline = new Deadline(dueDate, version, type);
+        wheel.schedule(taskId, fireAt(deadline), deadline);
+    }
+
+    private long fireAt(Deadline deadline) {
+        LocalDateTime at = deadline.type() == TaskDueEvent.Type.DUE ?
+                deadline.dueDate() : deadline.dueDate().plus(overdueAfter);
+        return at.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private int pending() {
+        lock.lock();
+        try {
+            return wheel.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private record Deadline(LocalDateTime dueDate, Long version, TaskDueEvent.Type type) {
+    }
+
+}
@@ -0,0 +1,17 @@
+package com.example.deadline;
+
+import com.example.dto.TaskDto;
+import java.time.Instant;
+
+/**
+ * Событие о сроке задачи: DUE - срок наступил, OVERDUE - задача не выполнена через task.due.overdue-after
+ * после срока. Задача - состояние из БД на момент срабатывания.
+ */
+public record TaskDueEvent(Type type, TaskDto task, Instant at) {
+
+    public enum Type {
+        DUE, // Срок выполнения наступил
+        OVERDUE // Срок выполнения прошёл, задача не выполнена
+    }
+
+}
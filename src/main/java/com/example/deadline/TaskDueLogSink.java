@@ -0,0 +1,23 @@
+package com.example.deadline;
+
+import java.util.List;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+/**
+ * Пишет события о сроках задач в структурированный лог; включается уровнем INFO для com.example.deadline.
+ */
+@Component
+@Slf4j
+public class TaskDueLogSink implements TaskDueSink {
+
+    @Override
+    public void accept(List<TaskDueEvent> batch) {
+        if (!log.isInfoEnabled()) return;
+        for (TaskDueEvent event : batch) {
+            log.info("task.due type={} id={} dueDate={} at={}",
+                    event.type(), event.task().getId(), event.task().getDueDate(), event.at());
+        }
+    }
+
+}
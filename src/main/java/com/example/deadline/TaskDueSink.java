@@ -0,0 +1,13 @@
+package com.example.deadline;
+
+import java.util.List;
+
+/**
+ * Приёмник пачек событий о сроках задач, вызывается из потока планировщика сроков.
+ * Подключается объявлением бина; событие получают все приёмники.
+ */
+public interface TaskDueSink {
+
+    void accept(List<TaskDueEvent> batch);
+
+}
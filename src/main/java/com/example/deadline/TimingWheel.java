@@ -0,0 +1,211 @@
+package com.example.deadline;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.Predicate;
+
+/**
+ * Иерархическое колесо таймеров: добавление, перенос и отмена срока за O(1), продвижение времени -
+ * за число прошедших тиков плюс число сработавших сроков. Уровень i состоит из wheelSize ячеек
+ * шириной tick * wheelSize^i; срок за пределами уровня попадает на следующий, который создаётся
+ * при первой необходимости, и спускается на нижние уровни по мере приближения.
+ * Срок срабатывает, когда прошёл весь тик, в который он попадает: не раньше срока и не позже чем на тик.
+ * Класс не потокобезопасен.
+ */
+public class TimingWheel<K, V> {
+
+    private final long tick;
+    private final int wheelSize;
+    private final List<Level> levels = new ArrayList<>();
+    private final Map<K, Entry<K, V>> entries = new HashMap<>();
+    private final Bucket<K, V> expired = new Bucket<>();
+
+    /**
+     * @param tick      ширина ячейки нижнего уровня в миллисекундах
+     * @param wheelSize число ячеек на уровне
+     * @param now       начальное время в миллисекундах
+     */
+    public TimingWheel(long tick, int wheelSize, long now) {
+        if (tick <= 0 || wheelSize < 2) {
+            throw new IllegalArgumentException("Тик колеса таймеров должен быть положительным, а ячеек - не меньше 2.");
+        }
+        this.tick = tick;
+        this.wheelSize = wheelSize;
+        levels.add(new Level(tick, Math.floorDiv(now, tick) * tick));
+    }
+
+    /**
+     * Поставить срок для ключа; прежний срок ключа отменяется. Истёкший срок сработает при следующем продвижении.
+     */
+    public void schedule(K key, long deadline, V value) {
+        remove(key);
+        Entry<K, V> entry = new Entry<>(key, deadline, value);
+        entries.put(key, entry);
+        place(entry);
+    }
+
+    /**
+     * Отменить срок ключа.
+     *
+     * @return значение отменённого срока или null, если срока не было
+     */
+    public V remove(K key) {
+        Entry<K, V> entry = entries.remove(key);
+        if (entry == null) return null;
+        entry.bucket.unlink(entry);
+        return entry.value;
+    }
+
+    /**
+     * Отменить сроки всех ключей, подходящих под условие, за O(числа сроков).
+     *
+     * @return число отменённых сроков
+     */
+    public int removeIf(Predicate<K> filter) {
+        List<K> keys = entries.keySet().stream().filter(filter).toList();
+        keys.forEach(this::remove);
+        return keys.size();
+    }
+
+    public V get(K key) {
+        Entry<K, V> entry = entries.get(key);
+        return entry == null ? null : entry.value;
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Продвинуть время до now и передать потребителю все истёкшие сроки в порядке тиков.
+     */
+    public void advance(long now, BiConsumer<K, V> consumer) {
+        fire(expired, consumer);
+        Level bottom = levels.get(0);
+        long target = Math.floorDiv(now, tick) * tick;
+        while (bottom.currentTime < target) {
+            Bucket<K, V> current = bottom.bucket(bottom.currentTime);
+            bottom.currentTime += tick;
+            // Сроки текущей ячейки меньше нового времени нижнего уровня: они истекли.
+            fire(current, consumer);
+            // На границе ячейки верхнего уровня её сроки спускаются ниже. Сначала сдвигается время всех уровней,
+            // иначе срок вернулся бы в ту же ячейку; затем ячейки разбираются сверху вниз за один проход.
+            int changed = 0;
+            for (int i = 1; i < levels.size(); i++) {
+                Level level = levels.get(i);
+                long levelTime = Math.floorDiv(bottom.currentTime, level.tick) * level.tick;
+                if (levelTime == level.currentTime) break;
+                level.currentTime = levelTime;
+                changed = i;
+            }
+            for (int i = changed; i > 0; i--) {
+                Bucket<K, V> bucket = levels.get(i).bucket(levels.get(i).currentTime);
+                for (Entry<K, V> entry = bucket.poll(); entry != null; entry = bucket.poll()) {
+                    place(entry);
+                }
+            }
+            fire(expired, consumer);
+        }
+    }
+
+    private void place(Entry<K, V> entry) {
+        Level bottom = levels.get(0);
+        if (entry.deadline < bottom.currentTime) {
+            expired.link(entry);
+            return;
+        }
+        for (int i = 0; ; i++) {
+            if (i == levels.size()) {
+                Level upper = levels.get(i - 1);
+                long levelTick = upper.tick * wheelSize;
+                levels.add(new Level(levelTick, Math.floorDiv(bottom.currentTime, levelTick) * levelTick));
+            }
+            Level level = levels.get(i);
+            if (entry.deadline < level.currentTime + level.tick * wheelSize) {
+                level.bucket(entry.deadline).link(entry);
+                return;
+            }
+        }
+    }
+
+    private void fire(Bucket<K, V> bucket, BiConsumer<K, V> consumer) {
+        for (Entry<K, V> entry = bucket.poll(); entry != null; entry = bucket.poll()) {
+            entries.remove(entry.key);
+            consumer.accept(entry.key, entry.value);
+        }
+    }
+
+    private final class Level {
+
+        private final long tick;
+        private final Bucket<K, V>[] buckets;
+        private long currentTime;
+
+        @SuppressWarnings("unchecked")
+        private Level(long tick, long currentTime) {
+            this.tick = tick;
+            this.currentTime = currentTime;
+            this.buckets = new Bucket[wheelSize];
+        }
+
+        private Bucket<K, V> bucket(long time) {
+            int index = (int) Math.floorMod(Math.floorDiv(time, tick), (long) wheelSize);
+            if (buckets[index] == null) buckets[index] = new Bucket<>();
+            return buckets[index];
+        }
+
+    }
+
+    private static final class Entry<K, V> {
+
+        private final K key;
+        private final long deadline;
+        private final V value;
+        private Bucket<K, V> bucket;
+        private Entry<K, V> prev;
+        private Entry<K, V> next;
+
+        private Entry(K key, long deadline, V value) {
+            this.key = key;
+            this.deadline = deadline;
+            this.value = value;
+        }
+
+    }
+
+    /**
+     * Ячейка - двусвязный список, чтобы отмена срока не искала его среди соседей.
+     */
+    private static final class Bucket<K, V> {
+
+        private Entry<K, V> head;
+
+        private void link(Entry<K, V> entry) {
+            entry.bucket = this;
+            entry.prev = null;
+            entry.next = head;
+            if (head != null) head.prev = entry;
+            head = entry;
+        }
+
+        private void unlink(Entry<K, V> entry) {
+            if (entry.prev != null) entry.prev.next = entry.next;
+            else head = entry.next;
+            if (entry.next != null) entry.next.prev = entry.prev;
+            entry.bucket = null;
+            entry.prev = null;
+            entry.next = null;
+        }
+
+        private Entry<K, V> poll() {
+            Entry<K, V> entry = head;
+            if (entry != null) unlink(entry);
+            return entry;
+        }
+
+    }
+
+}
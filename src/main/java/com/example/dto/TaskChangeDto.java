@@ -0,0 +1,32 @@
+package com.example.dto;
+
+import com.example.model.TaskChange;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Schema(description = "Изменение задачи в ленте изменений")
+public class TaskChangeDto {
+
+    @Schema(description = "Номер изменения в ленте, передаётся в since следующего запроса", example = "42")
+    private Long seq;
+
+    @Schema(description = "Вид изменения", example = "UPDATED")
+    private TaskChange.Type type;
+
+    @Schema(description = "Идентификатор задачи", example = "1")
+    private Long taskId;
+
+    @Schema(description = "Версия задачи после изменения; по ней отбрасываются устаревшие изменения", example = "3")
+    private Long version;
+
+    @Schema(description = "Задача после изменения, отсутствует для удаления")
+    private TaskDto task;
+
+}
@@ -0,0 +1,20 @@
+package com.example.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.util.List;
+import lombok.Data;
+
+@Data
+@Schema(description = "Страница задач с курсором на следующую страницу")
+public class TaskCursorPage {
+
+    @Schema(description = "Задачи страницы")
+    private List<TaskDto> content;
+
+    @Schema(description = "Размер страницы", example = "10")
+    private Integer size;
+
+    @Schema(description = "Курсор следующей страницы, отсутствует на последней странице", example = "MTA")
+    private String nextCursor;
+
+}
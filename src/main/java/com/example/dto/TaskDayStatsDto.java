@@ -0,0 +1,24 @@
+package com.example.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.time.LocalDate;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Задачи со сроком выполнения в один день")
+public class TaskDayStatsDto {
+
+    @Schema(description = "День срока выполнения", example = "2026-10-17")
+    private LocalDate day;
+
+    @Schema(description = "Невыполненные задачи", example = "3")
+    private Long open;
+
+    @Schema(description = "Выполненные задачи", example = "1")
+    private Long completed;
+
+}
@@ -3,11 +3,15 @@ package com.example.dto;
 import com.fasterxml.jackson.annotation.JsonFormat;
 import io.swagger.v3.oas.annotations.media.Schema;
 import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 
 import static com.example.util.DateTimeConstant.PATTERN_FOR_DATETIME;
 
 @Data
+@NoArgsConstructor
+@AllArgsConstructor
 @Schema(description = "Задача")
 public class TaskDto {
 
@@ -27,4 +31,7 @@ public class TaskDto {
     @Schema(description = "Задача выполнена", example = "true")
     private Boolean completed;
 
+    @Schema(description = "Версия задачи, значение ETag", example = "0", accessMode = Schema.AccessMode.READ_ONLY)
+    private Long version;
+
 }
\ No newline at end of file
@@ -0,0 +1,99 @@
+package com.example.dto;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import org.springframework.boot.jackson.JsonComponent;
+
+import static com.example.util.DateTimeConstant.FORMATTER_FOR_DATETIME;
+import static com.example.util.DateTimeConstant.PATTERN_FOR_DATETIME;
+
+/**
+ * Сериализация TaskDto без рефлексии: имена полей закодированы заранее, а срок по PATTERN_FOR_DATETIME
+ * пишется цифрами в массив символов, без DateTimeFormatter и промежуточной строки. Вывод совпадает
+ * байт в байт с сериализацией по аннотациям TaskDto; поля добавляются сюда вместе с полями TaskDto.
+ */
+@JsonComponent
+public class TaskDtoSerializer extends StdSerializer<TaskDto> {
+
+    private static final SerializableString ID = new SerializedString("id");
+    private static final SerializableString TITLE = new SerializedString("title");
+    private static final SerializableString DESCRIPTION = new SerializedString("description");
+    private static final SerializableString DUE_DATE = new SerializedString("dueDate");
+    private static final SerializableString COMPLETED = new SerializedString("completed");
+    private static final SerializableString VERSION = new SerializedString("version");
+
+    private static final int DATE_TIME_LENGTH = PATTERN_FOR_DATETIME.length();
+
+    public TaskDtoSerializer() {
+        super(TaskDto.class);
+    }
+
+    @Override
+    public void serialize(TaskDto taskDto, JsonGenerator generator, SerializerProvider provider) throws IOException {
+        generator.writeStartObject(taskDto);
+        generator.writeFieldName(ID);
+        writeLong(generator, taskDto.getId());
+        generator.writeFieldName(TITLE);
+        generator.writeString(taskDto.getTitle());
+        generator.writeFieldName(DESCRIPTION);
+        generator.writeString(taskDto.getDescription());
+        generator.writeFieldName(DUE_DATE);
+        writeDateTime(generator, taskDto.getDueDate());
+        generator.writeFieldName(COMPLETED);
+        if (taskDto.getCompleted() == null) {
+            generator.writeNull();
+        } else {
+            generator.writeBoolean(taskDto.getCompleted());
+        }
+        generator.writeFieldName(VERSION);
+        writeLong(generator, taskDto.getVersion());
+        generator.writeEndObject();
+    }
+
+    private static void writeLong(JsonGenerator generator, Long value) throws IOException {
+        if (value == null) {
+            generator.writeNull();
+        } else {
+            generator.writeNumber(value.longValue());
+        }
+    }
+
+    private static void writeDateTime(JsonGenerator generator, LocalDateTime dateTime) throws IOException {
+        if (dateTime == null) {
+            generator.writeNull();
+            return;
+        }
+        int year = dateTime.getYear();
+        // Годы вне 1..9999 форматтер пишет со знаком или эрой - такие сроки отдаём ему.
+        if (year < 1 || year > 9999) {
+            generator.writeString(FORMATTER_FOR_DATETIME.format(dateTime));
+            return;
+        }
+        char[] chars = new char[DATE_TIME_LENGTH];
+        writeDigits(chars, 0, year, 4);
+        chars[4] = '-';
+        writeDigits(chars, 5, dateTime.getMonthValue(), 2);
+        chars[7] = '-';
+        writeDigits(chars, 8, dateTime.getDayOfMonth(), 2);
+        chars[10] = ' ';
+        writeDigits(chars, 11, dateTime.getHour(), 2);
+        chars[13] = ':';
+        writeDigits(chars, 14, dateTime.getMinute(), 2);
+        chars[16] = ':';
+        writeDigits(chars, 17, dateTime.getSecond(), 2);
+        generator.writeString(chars, 0, DATE_TIME_LENGTH);
+    }
+
+    private static void writeDigits(char[] chars, int offset, int value, int width) {
+        for (int i = offset + width - 1; i >= offset; i--) {
+            chars[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+    }
+
+}
@@ -0,0 +1,35 @@
+package com.example.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Schema(description = "Результат импорта строки")
+public class TaskImportResult {
+
+    @Schema(description = "Номер строки во входном потоке", example = "1")
+    private Long line;
+
+    @Schema(description = "Статус обработки строки", example = "CREATED")
+    private Status status;
+
+    @Schema(description = "Идентификатор созданной задачи", example = "1")
+    private Long id;
+
+    @Schema(description = "Ошибки разбора, валидации или сохранения")
+    private List<String> errors;
+
+    public enum Status {
+        CREATED, // Задача сохранена
+        INVALID, // Строка не разобрана или не прошла валидацию
+        FAILED // Пакет со строкой не сохранён
+    }
+
+}
@@ -0,0 +1,30 @@
+package com.example.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Статистика задач")
+public class TaskStatsDto {
+
+    @Schema(description = "Всего задач", example = "42")
+    private Long total;
+
+    @Schema(description = "Невыполненные задачи", example = "30")
+    private Long open;
+
+    @Schema(description = "Выполненные задачи", example = "12")
+    private Long completed;
+
+    @Schema(description = "Невыполненные задачи с истёкшим сроком", example = "5")
+    private Long overdue;
+
+    @Schema(description = "Задачи по дням срока выполнения в запрошенном интервале; дни без задач не выводятся")
+    private List<TaskDayStatsDto> days;
+
+}
@@ -0,0 +1,12 @@
+package com.example.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Способ подсчёта общего количества задач в списке")
+public enum TaskTotalMode {
+
+    EXACT, // Точное количество, отдельный count-запрос на каждый вызов
+    NONE, // Без количества, ответ - Slice с признаком последней страницы
+    ESTIMATED // Оценка по свёрнутым счётчикам статистики по дням, без чтения задач; может отставать от базы
+
+}
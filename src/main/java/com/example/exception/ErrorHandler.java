@@ -5,12 +5,17 @@ import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.MessageSourceResolvable;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
+import org.springframework.validation.FieldError;
+import org.springframework.validation.method.ParameterValidationResult;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.MissingServletRequestParameterException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.method.annotation.HandlerMethodValidationException;
 
 @RestControllerAdvice
 @Slf4j
@@ -47,6 +52,36 @@ public class ErrorHandler {
         return apiError;
     }
 
+    @ExceptionHandler
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    @Hidden
+    public ApiError handleHandlerMethodValidationException(final HandlerMethodValidationException e) {
+        List<String> stList = Arrays.stream(e.getStackTrace()).map(StackTraceElement::toString).toList();
+        StringBuilder stringBuilderInfos = new StringBuilder();
+        StringBuilder stringBuilderErrors = new StringBuilder();
+        for (ParameterValidationResult result : e.getAllValidationResults()) {
+            String index = result.getContainerIndex() == null ? "" : "[" + result.getContainerIndex() + "]";
+            for (MessageSourceResolvable error : result.getResolvableErrors()) {
+                String field = error instanceof FieldError fieldError ?
+                        index + "." + fieldError.getField() : result.getMethodParameter().getParameterName() + index;
+                stringBuilderInfos.append(": ").append(error.getDefaultMessage()).append(" ");
+                stringBuilderErrors.append("Field: ").append(field).append(". Error: ")
+                        .append(error.getDefaultMessage()).append(" ");
+            }
+        }
+
+        ApiError apiError = new ApiError();
+        apiError.setStatus(HttpStatus.BAD_REQUEST);
+        apiError.setReason("Incorrectly made request.");
+        apiError.setInfo(stringBuilderInfos.toString());
+        apiError.setMessage(stringBuilderErrors.toString());
+        apiError.setTimestamp(LocalDateTime.now());
+        apiError.setErrors(stList);
+
+        log.warn(apiError.toString());
+        return apiError;
+    }
+
     @ExceptionHandler
     @ResponseStatus(HttpStatus.CONFLICT)
     @Hidden
@@ -95,6 +130,38 @@ public class ErrorHandler {
         return apiError;
     }
 
+    @ExceptionHandler
+    @ResponseStatus(HttpStatus.CONFLICT)
+    @Hidden
+    public ApiError handleOptimisticLockingFailure(final OptimisticLockingFailureException e) {
+        ApiError apiError = new ApiError();
+        apiError.setStatus(HttpStatus.CONFLICT);
+        apiError.setReason("For the requested operation the conditions are not met.");
+        apiError.setInfo("Задача изменена другим запросом.");
+        apiError.setMessage(e.getMessage());
+        apiError.setTimestamp(LocalDateTime.now());
+        apiError.setErrors(Arrays.stream(e.getStackTrace()).map(StackTraceElement::toString).toList());
+
+        log.warn(apiError.toString());
+        return apiError;
+    }
+
+    @ExceptionHandler
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    @Hidden
+    public ApiError handleBadRequest(final BadRequestException e) {
+        ApiError apiError = new ApiError();
+        apiError.setStatus(HttpStatus.BAD_REQUEST);
+        apiError.setReason("Incorrectly made request.");
+        apiError.setInfo("Некорректный запрос.");
+        apiError.setMessage(e.getMessage());
+        apiError.setTimestamp(LocalDateTime.now());
+        apiError.setErrors(Arrays.stream(e.getStackTrace()).map(StackTraceElement::toString).toList());
+
+        log.warn(apiError.toString());
+        return apiError;
+    }
+
     @ExceptionHandler
     @ResponseStatus(HttpStatus.BAD_REQUEST)
     @Hidden
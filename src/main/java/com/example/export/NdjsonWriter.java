@@ -0,0 +1,56 @@
+package com.example.export;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+
+/**
+ * Запись объектов в поток по одному JSON на строку.
+ */
+public class NdjsonWriter<T> implements Closeable {
+
+    private final ObjectWriter objectWriter;
+    private final JsonGenerator generator;
+    private final int flushEvery;
+    private int written;
+
+    NdjsonWriter(ObjectMapper objectMapper, Class<T> type, OutputStream outputStream, int flushEvery)
+            throws IOException {
+        this.objectWriter = objectMapper.writerFor(type)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        this.generator = objectMapper.getFactory().createGenerator(outputStream)
+                .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                .setRootValueSeparator(null);
+        this.flushEvery = flushEvery;
+    }
+
+    public void write(T value) {
+        try {
+            objectWriter.writeValue(generator, value);
+            generator.writeRaw('\n');
+            // Первая строка уходит клиенту сразу, дальше - порциями, чтобы не сбрасывать буфер на каждой записи.
+            if (++written == 1 || written % flushEvery == 0) generator.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public void flush() {
+        try {
+            generator.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        generator.close();
+    }
+
+}
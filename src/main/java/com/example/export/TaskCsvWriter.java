@@ -0,0 +1,66 @@
+package com.example.export;
+
+import com.example.dto.TaskDto;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+import static com.example.util.DateTimeConstant.FORMATTER_FOR_DATETIME;
+
+class TaskCsvWriter implements TaskExportWriter {
+
+    private static final String HEADER = "id,title,description,dueDate,completed\n";
+
+    private final Writer writer;
+    private final int flushEvery;
+    private int written;
+
+    TaskCsvWriter(OutputStream outputStream, int flushEvery) throws IOException {
+        this.writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+        this.flushEvery = flushEvery;
+        writer.write(HEADER);
+    }
+
+    @Override
+    public void write(TaskDto taskDto) {
+        try {
+            writer.write(String.valueOf(taskDto.getId()));
+            writer.write(',');
+            writeEscaped(taskDto.getTitle());
+            writer.write(',');
+            writeEscaped(taskDto.getDescription());
+            writer.write(',');
+            if (taskDto.getDueDate() != null) FORMATTER_FOR_DATETIME.formatTo(taskDto.getDueDate(), writer);
+            writer.write(',');
+            if (taskDto.getCompleted() != null) writer.write(taskDto.getCompleted().toString());
+            writer.write('\n');
+            if (++written == 1 || written % flushEvery == 0) writer.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        writer.flush();
+    }
+
+    /**
+     * Экранировать значение по RFC 4180: в кавычки берутся поля с запятой, кавычкой или переводом строки.
+     */
+    private void writeEscaped(String value) throws IOException {
+        if (value == null) return;
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+
+}
@@ -0,0 +1,17 @@
+package com.example.export;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@Getter
+@RequiredArgsConstructor
+@Schema(description = "Формат выгрузки задач")
+public enum TaskExportFormat {
+
+    NDJSON("application/x-ndjson"), // Один JSON-объект задачи на строку
+    CSV("text/csv"); // Заголовок и одна строка на задачу
+
+    private final String mediaType;
+
+}
@@ -0,0 +1,13 @@
+package com.example.export;
+
+import com.example.dto.TaskDto;
+import java.io.Closeable;
+
+/**
+ * Построчная запись задач в поток ответа; реализация не накапливает задачи в памяти.
+ */
+public interface TaskExportWriter extends Closeable {
+
+    void write(TaskDto taskDto);
+
+}
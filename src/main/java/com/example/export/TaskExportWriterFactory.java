@@ -0,0 +1,31 @@
+package com.example.export;
+
+import com.example.dto.TaskImportResult;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.io.OutputStream;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+public class TaskExportWriterFactory {
+
+    private final ObjectMapper objectMapper;
+
+    @Value("${task.export.flush-every:500}")
+    private int flushEvery;
+
+    public TaskExportWriter create(TaskExportFormat format, OutputStream outputStream) throws IOException {
+        return switch (format) {
+            case NDJSON -> new TaskNdjsonWriter(objectMapper, outputStream, flushEvery);
+            case CSV -> new TaskCsvWriter(outputStream, flushEvery);
+        };
+    }
+
+    public NdjsonWriter<TaskImportResult> createImportResultWriter(OutputStream outputStream) throws IOException {
+        return new NdjsonWriter<>(objectMapper, TaskImportResult.class, outputStream, flushEvery);
+    }
+
+}
@@ -0,0 +1,14 @@
+package com.example.export;
+
+import com.example.dto.TaskDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.io.OutputStream;
+
+class TaskNdjsonWriter extends NdjsonWriter<TaskDto> implements TaskExportWriter {
+
+    TaskNdjsonWriter(ObjectMapper objectMapper, OutputStream outputStream, int flushEvery) throws IOException {
+        super(objectMapper, TaskDto.class, outputStream, flushEvery);
+    }
+
+}
@@ -0,0 +1,192 @@
+package com.example.lease;
+
+import com.example.model.TaskLease;
+import com.example.model.TaskLeaseKey;
+import com.example.model.TaskLeaseNode;
+import com.example.repository.TaskLeaseNodeRepository;
+import com.example.repository.TaskLeaseRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import jakarta.annotation.PreDestroy;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Аренда шардов фоновых работ в БД, чтобы на нескольких узлах каждый шард обрабатывал ровно один узел.
+ * Раз в task.lease.renew-interval узел отмечается в task_lease_nodes и для каждой работы выбирает свои,
+ * свободные и просроченные шарды через select ... for update skip locked: узлы не ждут блокировок друг
+ * друга и разбирают разные строки. Узел держит не больше ceil(шардов / живых узлов) шардов, лишние
+ * отпускает, поэтому новый узел получает свою долю за пару продлений, а шарды упавшего узла
+ * забираются через task.lease.ttl. Часы узлов должны расходиться меньше чем на ttl - renew-interval.
+ */
+@Component
+@Slf4j
+public class TaskLeaseService implements SmartInitializingSingleton {
+
+    private final TaskLeaseRepository taskLeaseRepository;
+    private final TaskLeaseNodeRepository taskLeaseNodeRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+    private final Duration ttl;
+    private final Map<String, TaskShardLease> leases = new ConcurrentHashMap<>();
+
+    @Getter
+    private final String nodeId;
+
+    public TaskLeaseService(
+            TaskLeaseRepository taskLeaseRepository,
+            TaskLeaseNodeRepository taskLeaseNodeRepository,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${task.lease.node-id:}") String nodeId,
+            @Value("${task.lease.ttl:PT15S}") Duration ttl) {
+        this.taskLeaseRepository = taskLeaseRepository;
+        this.taskLeaseNodeRepository = taskLeaseNodeRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.meterRegistry = meterRegistry;
+        this.nodeId = nodeId.isBlank() ? UUID.randomUUID().toString() : nodeId;
+        this.ttl = ttl;
+    }
+
+    /**
+     * Зарегистрировать фоновую работу из shards шардов; число шардов работы должно совпадать на всех узлах.
+     */
+    public TaskShardLease register(String name, int shards) {
+        if (shards < 1 || shards > TaskShardLease.BUCKETS) {
+            throw new IllegalArgumentException("Число шардов работы " + name + " должно быть от 1 до " +
+                    TaskShardLease.BUCKETS + ".");
+        }
+        TaskShardLease lease = leases.computeIfAbsent(name, key -> {
+            TaskShardLease created = new TaskShardLease(key, shards);
+            meterRegistry.gauge("task.lease.shards", Tags.of("name", key), created,
+                    value -> value.ownedShards().size());
+            return created;
+        });
+        if (lease.getShards() != shards) {
+            throw new IllegalArgumentException("Работа " + name + " уже зарегистрирована с другим числом шардов.");
+        }
+        return lease;
+    }
+
+    /**
+     * Получить шарды до запуска планировщика, чтобы фоновые работы начинали с первого запуска.
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        renew();
+    }
+
+    /**
+     * Отметить узел живым и продлить, захватить или отпустить шарды всех работ.
+     */
+    @Scheduled(fixedDelayString = "${task.lease.renew-interval:PT5S}",
+            initialDelayString = "${task.lease.renew-interval:PT5S}")
+    public synchronized void renew() {
+        long started = System.nanoTime();
+        LocalDateTime now = LocalDateTime.now();
+        Long nodes;
+        try {
+            nodes = transactionTemplate.execute(status -> heartbeat(now));
+        } catch (DataAccessException e) {
+            // Шарды остаются за узлом до истечения аренды, затем считаются потерянными.
+            log.warn("Узел {} не продлил аренду шардов: {}.", nodeId, e.getMessage());
+            return;
+        }
+        for (TaskShardLease lease : leases.values()) {
+            Set<Integer> owned;
+            try {
+                if (!lease.seeded) {
+                    transactionTemplate.executeWithoutResult(status -> seed(lease));
+                    lease.seeded = true;
+                }
+                owned = transactionTemplate.execute(status -> claim(lease, nodes, now));
+            } catch (DataAccessException e) {
+                // Строки шардов одновременно добавил другой узел: работа будет разобрана при следующем продлении.
+                log.warn("Узел {} не продлил аренду шардов работы {}: {}.", nodeId, lease.getName(), e.getMessage());
+                continue;
+            }
+            if (!owned.equals(lease.ownedShards())) {
+                log.info("Узел {} владеет шардами работы {}: {} из {}.", nodeId, lease.getName(), owned,
+                        lease.getShards());
+            }
+            lease.update(owned, started + ttl.toNanos());
+        }
+    }
+
+    /**
+     * Отпустить все шарды при остановке, чтобы другие узлы забрали их сразу, не дожидаясь истечения аренды.
+     */
+    @PreDestroy
+    public synchronized void release() {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                taskLeaseRepository.releaseAllByOwner(nodeId);
+                taskLeaseNodeRepository.deleteById(nodeId);
+            });
+        } catch (DataAccessException e) {
+            log.warn("Узел {} не отпустил шарды: {}.", nodeId, e.getMessage());
+        }
+        leases.values().forEach(lease -> lease.update(Set.of(), System.nanoTime()));
+    }
+
+    private long heartbeat(LocalDateTime now) {
+        taskLeaseNodeRepository.save(new TaskLeaseNode(nodeId, now.plus(ttl)));
+        taskLeaseNodeRepository.deleteExpiredBefore(now.minus(ttl));
+        return taskLeaseNodeRepository.countByExpiresAtGreaterThanEqual(now);
+    }
+
+    private void seed(TaskShardLease lease) {
+        Set<Integer> existing = taskLeaseRepository.findByKeyName(lease.getName()).stream()
+                .map(row -> row.getKey().getShard())
+                .collect(Collectors.toSet());
+        taskLeaseRepository.saveAll(IntStream.range(0, lease.getShards())
+                .filter(shard -> !existing.contains(shard))
+                .mapToObj(shard -> new TaskLease(new TaskLeaseKey(lease.getName(), shard), null, null))
+                .toList());
+    }
+
+    private Set<Integer> claim(TaskShardLease lease, long nodes, LocalDateTime now) {
+        long share = (lease.getShards() + nodes - 1) / Math.max(nodes, 1);
+        Set<Integer> owned = new TreeSet<>();
+        List<TaskLease> free = new ArrayList<>();
+        for (TaskLease row : taskLeaseRepository.findClaimable(lease.getName(), nodeId, now)) {
+            if (row.getKey().getShard() >= lease.getShards()) continue;
+            if (!nodeId.equals(row.getOwner())) {
+                free.add(row);
+            } else if (owned.size() < share) {
+                row.setExpiresAt(now.plus(ttl));
+                owned.add(row.getKey().getShard());
+            } else {
+                // Лишний шард отпускается для узла, который появился недавно.
+                row.setOwner(null);
+                row.setExpiresAt(null);
+            }
+        }
+        for (TaskLease row : free) {
+            if (owned.size() >= share) break;
+            row.setOwner(nodeId);
+            row.setExpiresAt(now.plus(ttl));
+            owned.add(row.getKey().getShard());
+        }
+        return owned;
+    }
+
+}
@@ -0,0 +1,88 @@
+package com.example.lease;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.BiConsumer;
+import java.util.stream.IntStream;
+import lombok.Getter;
+
+/**
+ * Аренда шардов одной фоновой работы на этом узле. Работа делится на shards шардов по id через корзины
+ * (корзина = id mod {@link #BUCKETS}, шард = корзина mod shards), и каждый шард в любой момент принадлежит
+ * не больше чем одному узлу. Корзина хранится в столбце tasks_shard_bucket, поэтому строки шарда читаются по индексу.
+ * Набор шардов обновляет {@link TaskLeaseService} при продлении аренды; если продлить не удалось,
+ * по истечении срока аренды узел считает, что шардов у него нет.
+ */
+public class TaskShardLease {
+
+    public static final int BUCKETS = 1024; // Совпадает с выражением столбца tasks_shard_bucket
+
+    @Getter
+    private final String name;
+    @Getter
+    private final int shards;
+    private final List<BiConsumer<Set<Integer>, Set<Integer>>> listeners = new CopyOnWriteArrayList<>();
+
+    private volatile Set<Integer> owned = Set.of();
+    private volatile long ownedUntil = System.nanoTime(); // Срок аренды по монотонным часам узла
+    volatile boolean seeded; // Строки шардов уже есть в таблице аренд
+
+    TaskShardLease(String name, int shards) {
+        this.name = name;
+        this.shards = shards;
+    }
+
+    public int shardOf(long id) {
+        return Math.floorMod(id, BUCKETS) % shards;
+    }
+
+    /**
+     * Корзины, из которых состоят шарды shards.
+     */
+    public List<Integer> bucketsOf(Collection<Integer> shards) {
+        return IntStream.range(0, BUCKETS).filter(bucket -> shards.contains(bucket % this.shards)).boxed().toList();
+    }
+
+    /**
+     * Шарды, аренда которых ещё действует.
+     */
+    public Set<Integer> ownedShards() {
+        return System.nanoTime() - ownedUntil < 0 ? owned : Set.of();
+    }
+
+    public boolean owns(int shard) {
+        return ownedShards().contains(shard);
+    }
+
+    /**
+     * Узел владеет хотя бы одним шардом; для работы из одного шарда - узел является её ведущим.
+     */
+    public boolean isHeld() {
+        return !ownedShards().isEmpty();
+    }
+
+    /**
+     * Подписаться на смену шардов: слушатель получает полученные и потерянные шарды в потоке продления аренды.
+     */
+    public void onChange(BiConsumer<Set<Integer>, Set<Integer>> listener) {
+        listeners.add(listener);
+    }
+
+    void update(Set<Integer> shards, long until) {
+        // Если аренда успела истечь, все шарды считаются полученными заново: их могли обработать другие узлы.
+        Set<Integer> gained = new HashSet<>(shards);
+        gained.removeAll(ownedShards());
+        Set<Integer> lost = new HashSet<>(owned);
+        lost.removeAll(shards);
+        owned = Set.copyOf(shards);
+        ownedUntil = until;
+        if (gained.isEmpty() && lost.isEmpty()) return;
+        for (BiConsumer<Set<Integer>, Set<Integer>> listener : listeners) {
+            listener.accept(Set.copyOf(gained), Set.copyOf(lost));
+        }
+    }
+
+}
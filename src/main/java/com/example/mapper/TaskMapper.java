@@ -5,8 +5,11 @@ import com.example.dto.NewTaskDto;
 import com.example.dto.UpdateTaskDto;
 import com.example.model.Task;
 import java.util.List;
+import org.mapstruct.BeanMapping;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
+import org.mapstruct.MappingTarget;
+import org.mapstruct.NullValuePropertyMappingStrategy;
 
 @Mapper(componentModel = "spring")
 public interface TaskMapper {
@@ -14,6 +17,7 @@ public interface TaskMapper {
     TaskDto toTaskDto(Task task);
 
     @Mapping(target = "id", ignore = true)
+    @Mapping(target = "version", ignore = true)
     Task toTaskFromNewTaskDto(NewTaskDto newTaskDto);
 
     @Mapping(target = "id", source = "task.id")
@@ -21,8 +25,21 @@ public interface TaskMapper {
     @Mapping(target = "description", source = "updateTaskDto.description")
     @Mapping(target = "dueDate", source = "updateTaskDto.dueDate")
     @Mapping(target = "completed", source = "updateTaskDto.completed")
+    @Mapping(target = "version", source = "task.version")
     Task toTaskFromUpdateTaskDto(Task task, UpdateTaskDto updateTaskDto);
 
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "version", ignore = true)
+    @BeanMapping(nullValuePropertyMappingStrategy = NullValuePropertyMappingStrategy.IGNORE)
+    void updateTaskFromUpdateTaskDto(UpdateTaskDto updateTaskDto, @MappingTarget Task task);
+
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "version", ignore = true)
+    @BeanMapping(nullValuePropertyMappingStrategy = NullValuePropertyMappingStrategy.IGNORE)
+    void updateTaskDtoFromUpdateTaskDto(UpdateTaskDto updateTaskDto, @MappingTarget TaskDto taskDto);
+
     List<TaskDto> convertTaskListToTaskDtoList(List<Task> list);
 
-}
\ No newline at end of file
+    List<Task> convertNewTaskDtoListToTaskList(List<NewTaskDto> list);
+
+}
@@ -6,6 +6,9 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 import lombok.ToString;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EntityListeners;
@@ -14,9 +17,16 @@ import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 
+/**
+ * Задача. При включённом task.cache.second-level.enabled сущности хранятся в регионе {@link #CACHE_REGION}
+ * кеша второго уровня Hibernate.
+ */
 @Entity
 @Table(name = "tasks")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Task.CACHE_REGION)
 @NoArgsConstructor
 @Getter
 @Setter
@@ -24,9 +34,15 @@ import jakarta.persistence.Table;
 @EntityListeners(TaskListener.class)
 public class Task {
 
+    public static final String CACHE_REGION = "task";
+    public static final String LIST_CACHE_REGION = "task-lists";
+    // Пространство массовых запросов к tasks: не совпадает с таблицей сущности, поэтому Hibernate не сбрасывает
+    // по ним весь регион кеша второго уровня - изменённые задачи вытесняются по идентификаторам.
+    public static final String BULK_QUERY_SPACE = "tasks_bulk";
+
     @Id
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "task_seq")
-    @SequenceGenerator(name = "task_seq", sequenceName = "SEQ_TASK", allocationSize = 10)
+    @SequenceGenerator(name = "task_seq", sequenceName = "SEQ_TASK", allocationSize = 50)
     @Column(name = "tasks_id")
     private Long id; // Идентификатор задачи
 
@@ -42,6 +58,10 @@ public class Task {
     @Column(name = "tasks_completed")
     private Boolean completed; // Статус выполнения задачи
 
+    @Version
+    @Column(name = "tasks_version", nullable = false)
+    private Long version; // Версия задачи, увеличивается при каждом изменении
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
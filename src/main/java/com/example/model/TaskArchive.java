@@ -0,0 +1,47 @@
+package com.example.model;
+
+import java.time.LocalDateTime;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+/**
+ * Выполненная задача, перенесённая архиватором из tasks. Столбцы совпадают со столбцами tasks;
+ * в PostgreSQL таблица секционирована по месяцам срока выполнения.
+ */
+@Entity
+@Table(name = "tasks_archive")
+@NoArgsConstructor
+@Getter
+@Setter
+@ToString
+public class TaskArchive {
+
+    @Id
+    @Column(name = "tasks_id")
+    private Long id; // Идентификатор задачи
+
+    @Column(name = "tasks_title", nullable = false)
+    private String title; // Имя задачи
+
+    @Column(name = "tasks_description")
+    private String description; // Описание задачи
+
+    @Column(name = "tasks_due_date", nullable = false)
+    private LocalDateTime dueDate; // Срок выполнения задачи
+
+    @Column(name = "tasks_completed")
+    private Boolean completed; // Статус выполнения задачи
+
+    @Column(name = "tasks_version", nullable = false)
+    private Long version; // Версия задачи на момент переноса
+
+    @Column(name = "tasks_archived_at", nullable = false)
+    private LocalDateTime archivedAt; // Время переноса в архив
+
+}
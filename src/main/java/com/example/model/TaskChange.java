@@ -0,0 +1,62 @@
+package com.example.model;
+
+import java.time.LocalDateTime;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+
+/**
+ * Запись outbox об изменении задачи. Пишется в транзакции изменения; номер в ленте (seq)
+ * присваивается позже ретранслятором в порядке обнаружения зафиксированных записей.
+ */
+@Entity
+@Table(name = "task_changes")
+@NoArgsConstructor
+@Getter
+@Setter
+@ToString
+public class TaskChange {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "task_change_seq")
+    @SequenceGenerator(name = "task_change_seq", sequenceName = "SEQ_TASK_CHANGE", allocationSize = 50)
+    @Column(name = "task_changes_id")
+    private Long id; // Идентификатор записи
+
+    @Column(name = "task_changes_seq")
+    private Long seq; // Номер в ленте изменений, null - ещё не опубликовано
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "task_changes_type", nullable = false)
+    private Type type; // Вид изменения
+
+    @Column(name = "task_changes_task_id", nullable = false)
+    private Long taskId; // Идентификатор задачи
+
+    @Column(name = "task_changes_task_version")
+    private Long taskVersion; // Версия задачи после изменения
+
+    @Column(name = "task_changes_payload")
+    private String payload; // Задача после изменения в JSON, null для удаления и переноса в архив
+
+    @Column(name = "task_changes_created_at", nullable = false)
+    private LocalDateTime createdAt; // Время изменения
+
+    public enum Type {
+        CREATED, // Задача добавлена
+        UPDATED, // Задача изменена
+        DELETED, // Задача удалена
+        ARCHIVED // Выполненная задача перенесена в архив
+    }
+
+}
@@ -0,0 +1,36 @@
+package com.example.model;
+
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+import jakarta.persistence.Column;
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+
+/**
+ * Аренда шарда фоновой работы узлом. Шард принадлежит владельцу до expiresAt; свободный
+ * или просроченный шард может захватить любой узел.
+ */
+@Entity
+@Table(name = "task_leases")
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+@ToString
+public class TaskLease {
+
+    @EmbeddedId
+    private TaskLeaseKey key; // Работа и шард
+
+    @Column(name = "task_leases_owner")
+    private String owner; // Узел-владелец, null - шард свободен
+
+    @Column(name = "task_leases_expires_at")
+    private LocalDateTime expiresAt; // Срок аренды
+
+}
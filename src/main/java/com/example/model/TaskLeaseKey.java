@@ -0,0 +1,29 @@
+package com.example.model;
+
+import java.io.Serializable;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+
+/**
+ * Шард фоновой работы: имя работы и номер шарда.
+ */
+@Embeddable
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@EqualsAndHashCode
+@ToString
+public class TaskLeaseKey implements Serializable {
+
+    @Column(name = "task_leases_name", nullable = false)
+    private String name; // Имя фоновой работы
+
+    @Column(name = "task_leases_shard", nullable = false)
+    private int shard; // Номер шарда
+
+}
@@ -0,0 +1,33 @@
+package com.example.model;
+
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+/**
+ * Живой узел приложения: по числу живых узлов каждый узел считает свою долю шардов.
+ */
+@Entity
+@Table(name = "task_lease_nodes")
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+@ToString
+public class TaskLeaseNode {
+
+    @Id
+    @Column(name = "task_lease_nodes_id")
+    private String id; // Идентификатор узла
+
+    @Column(name = "task_lease_nodes_expires_at", nullable = false)
+    private LocalDateTime expiresAt; // Узел считается живым до этого времени
+
+}
@@ -1,36 +1,47 @@
 package com.example.model;
 
-import com.example.mapper.TaskMapper;
-import lombok.extern.slf4j.Slf4j;
-import org.mapstruct.factory.Mappers;
+import com.example.audit.TaskAuditEvent;
+import com.example.audit.TaskAuditSink;
+import org.springframework.beans.factory.ObjectProvider;
 import jakarta.persistence.PostLoad;
 import jakarta.persistence.PostPersist;
 import jakarta.persistence.PostRemove;
 import jakarta.persistence.PostUpdate;
 
-@Slf4j
+/**
+ * Передаёт события жизненного цикла задачи в журнал аудита; создаётся Spring через контейнер бинов Hibernate.
+ * Журнал может отсутствовать (например, в срезах тестов JPA), тогда события не публикуются.
+ */
 public class TaskListener {
 
-    private final TaskMapper taskMapper = Mappers.getMapper(TaskMapper.class);
+    private final ObjectProvider<TaskAuditSink> taskAuditSink;
+
+    public TaskListener(ObjectProvider<TaskAuditSink> taskAuditSink) {
+        this.taskAuditSink = taskAuditSink;
+    }
 
     @PostLoad
     private void afterLoad(Task task) {
-        log.info("Получена задача, id = {}: {}.", task.getId(), taskMapper.toTaskDto(task));
+        publish(TaskAuditEvent.Type.LOADED, task);
     }
 
     @PostPersist
     private void afterPersist(Task task) {
-        log.info("Добавлена новая задача: {}.", taskMapper.toTaskDto(task));
+        publish(TaskAuditEvent.Type.CREATED, task);
     }
 
     @PostUpdate
     private void afterUpdate(Task task) {
-        log.info("Обновлена задача с id = {}: {}.", task.getId(), taskMapper.toTaskDto(task));
+        publish(TaskAuditEvent.Type.UPDATED, task);
     }
 
     @PostRemove
     private void afterRemove(Task task) {
-        log.info("Удалена задача с id = {}.", task.getId());
+        publish(TaskAuditEvent.Type.DELETED, task);
+    }
+
+    private void publish(TaskAuditEvent.Type type, Task task) {
+        taskAuditSink.ifAvailable(sink -> sink.publish(type, task.getId(), task.getVersion()));
     }
 
-}
\ No newline at end of file
+}
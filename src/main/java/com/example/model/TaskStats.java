@@ -0,0 +1,32 @@
+package com.example.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+import jakarta.persistence.Column;
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+
+/**
+ * Строка сводной таблицы статистики: количество задач в ячейке (день срока, статус).
+ * Изменяется только при свёртке приращений {@link TaskStatsDelta}.
+ */
+@Entity
+@Table(name = "task_stats")
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+@ToString
+public class TaskStats {
+
+    @EmbeddedId
+    private TaskStatsKey key; // День срока и статус
+
+    @Column(name = "task_stats_count", nullable = false)
+    private Long count; // Количество задач
+
+}
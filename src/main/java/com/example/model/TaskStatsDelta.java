@@ -0,0 +1,43 @@
+package com.example.model;
+
+import java.time.LocalDate;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+
+/**
+ * Приращение статистики задач. Пишется в транзакции изменения задачи только вставкой, поэтому
+ * параллельные изменения задач одного дня не ждут друг друга на строке сводной таблицы.
+ */
+@Entity
+@Table(name = "task_stats_deltas")
+@NoArgsConstructor
+@Getter
+@Setter
+@ToString
+public class TaskStatsDelta {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "task_stats_delta_seq")
+    @SequenceGenerator(name = "task_stats_delta_seq", sequenceName = "SEQ_TASK_STATS_DELTA", allocationSize = 50)
+    @Column(name = "task_stats_deltas_id")
+    private Long id; // Идентификатор приращения
+
+    @Column(name = "task_stats_deltas_due_day", nullable = false)
+    private LocalDate dueDay; // День срока выполнения
+
+    @Column(name = "task_stats_deltas_completed", nullable = false)
+    private boolean completed; // Статус выполнения
+
+    @Column(name = "task_stats_deltas_delta", nullable = false)
+    private Long delta; // Изменение количества задач
+
+}
@@ -0,0 +1,41 @@
+package com.example.model;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+
+/**
+ * Ячейка статистики задач: день срока выполнения и статус. Задача без статуса считается невыполненной.
+ */
+@Embeddable
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@EqualsAndHashCode
+@ToString
+public class TaskStatsKey implements Serializable, Comparable<TaskStatsKey> {
+
+    @Column(name = "task_stats_due_day", nullable = false)
+    private LocalDate dueDay; // День срока выполнения
+
+    @Column(name = "task_stats_completed", nullable = false)
+    private boolean completed; // Статус выполнения
+
+    public static TaskStatsKey of(LocalDateTime dueDate, Boolean completed) {
+        return new TaskStatsKey(dueDate.toLocalDate(), Boolean.TRUE.equals(completed));
+    }
+
+    @Override
+    public int compareTo(TaskStatsKey other) {
+        int byDay = dueDay.compareTo(other.dueDay);
+        return byDay != 0 ? byDay : Boolean.compare(completed, other.completed);
+    }
+
+}
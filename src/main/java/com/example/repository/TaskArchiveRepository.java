@@ -0,0 +1,79 @@
+package com.example.repository;
+
+import com.example.model.TaskArchive;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import jakarta.persistence.QueryHint;
+
+@Repository
+public interface TaskArchiveRepository extends JpaRepository<TaskArchive, Long> {
+
+    /**
+     * Скопировать задачи в архив одним insert ... select, не загружая их в память. Запрос пишет только в
+     * tasks_archive, и кеш второго уровня сбрасывает только зависящие от этой таблицы регионы.
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "tasks_archive"))
+    @Query(nativeQuery = true, value = """
+            insert into tasks_archive (tasks_id, tasks_title, tasks_description, tasks_due_date, tasks_completed,
+                                       tasks_version, tasks_archived_at)
+            select t.tasks_id, t.tasks_title, t.tasks_description, t.tasks_due_date, t.tasks_completed,
+                   t.tasks_version, :archivedAt
+            from tasks t
+            where t.tasks_id in :ids
+            """)
+    int copyFromTasks(@Param("ids") Collection<Long> ids, @Param("archivedAt") LocalDateTime archivedAt);
+
+    /**
+     * Страница задач из tasks и tasks_archive по возрастанию id. Каждая ветка отдаёт не больше offset + limit
+     * строк по индексу, поэтому объединение не читает таблицы целиком; в архиве только выполненные задачи.
+     */
+    @Query(nativeQuery = true, value = """
+            select u.id as id, u.title as title, u.description as description, u.due_date as dueDate,
+                   u.completed as completed, u.version as version
+            from ((select t.tasks_id as id, t.tasks_title as title, t.tasks_description as description,
+                          t.tasks_due_date as due_date, t.tasks_completed as completed, t.tasks_version as version
+                   from tasks t
+                   where (:onlyCompleted = false or t.tasks_completed = true)
+                   and t.tasks_due_date between :dateStart and :dateEnd
+                   order by t.tasks_id
+                   limit :branchLimit)
+                  union all
+                  (select a.tasks_id, a.tasks_title, a.tasks_description, a.tasks_due_date, a.tasks_completed,
+                          a.tasks_version
+                   from tasks_archive a
+                   where a.tasks_due_date between :dateStart and :dateEnd
+                   order by a.tasks_id
+                   limit :branchLimit)) u
+            order by u.id
+            limit :limit offset :offset
+            """)
+    List<TaskRow> findAllWithArchive(
+            @Param("onlyCompleted") boolean onlyCompleted,
+            @Param("dateStart") LocalDateTime dateStart,
+            @Param("dateEnd") LocalDateTime dateEnd,
+            @Param("branchLimit") long branchLimit,
+            @Param("offset") long offset,
+            @Param("limit") int limit);
+
+    @Query(nativeQuery = true, value = """
+            select (select count(*) from tasks t
+                    where (:onlyCompleted = false or t.tasks_completed = true)
+                    and t.tasks_due_date between :dateStart and :dateEnd)
+                 + (select count(*) from tasks_archive a
+                    where a.tasks_due_date between :dateStart and :dateEnd)
+            """)
+    long countWithArchive(
+            @Param("onlyCompleted") boolean onlyCompleted,
+            @Param("dateStart") LocalDateTime dateStart,
+            @Param("dateEnd") LocalDateTime dateEnd);
+
+}
@@ -0,0 +1,30 @@
+package com.example.repository;
+
+import com.example.model.TaskChange;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface TaskChangeRepository extends JpaRepository<TaskChange, Long> {
+
+    List<TaskChange> findBySeqIsNullOrderByIdAsc(Limit limit);
+
+    List<TaskChange> findBySeqGreaterThanOrderBySeqAsc(Long seq, Limit limit);
+
+    @Query("select coalesce(max(c.seq), 0) from TaskChange c")
+    long findMaxSeq();
+
+    @Modifying
+    @Query("""
+            delete from TaskChange c
+            where c.seq < :maxSeq and c.createdAt < :before
+            """)
+    int deletePublishedBefore(@Param("maxSeq") Long maxSeq, @Param("before") LocalDateTime before);
+
+}
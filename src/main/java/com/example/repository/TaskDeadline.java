@@ -0,0 +1,16 @@
+package com.example.repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * Проекция срока задачи без загрузки всей строки: для планировщика сроков и архиватора.
+ */
+public interface TaskDeadline {
+
+    Long getId();
+
+    LocalDateTime getDueDate();
+
+    Long getVersion();
+
+}
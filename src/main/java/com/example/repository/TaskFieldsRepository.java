@@ -0,0 +1,18 @@
+package com.example.repository;
+
+import jakarta.persistence.Tuple;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+
+public interface TaskFieldsRepository {
+
+    /**
+     * Получить срез задач по фильтру, выбирая только заданные поля Task; элементы кортежа
+     * доступны по имени поля.
+     */
+    Slice<Tuple> findFieldsByParams(
+            List<String> fields, Boolean completed, LocalDateTime dateStart, LocalDateTime dateEnd, Pageable page);
+
+}
@@ -0,0 +1,49 @@
+package com.example.repository;
+
+import com.example.model.Task;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+@RequiredArgsConstructor
+public class TaskFieldsRepositoryImpl implements TaskFieldsRepository {
+
+    private final EntityManager entityManager;
+
+    @Override
+    public Slice<Tuple> findFieldsByParams(
+            List<String> fields, Boolean completed, LocalDateTime dateStart, LocalDateTime dateEnd, Pageable page) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Task> task = query.from(Task.class);
+
+        List<Predicate> predicates = new ArrayList<>();
+        if (completed != null) predicates.add(cb.equal(task.get("completed"), completed));
+        predicates.add(cb.between(task.get("dueDate"), dateStart, dateEnd));
+        query.multiselect(fields.stream().<Selection<?>>map(
+                        field -> task.get(field).alias(field)).toList())
+                .where(predicates.toArray(Predicate[]::new))
+                .orderBy(QueryUtils.toOrders(page.getSort(), task, cb));
+
+        // На одну строку больше, чтобы узнать о следующей странице без count-запроса.
+        List<Tuple> tuples = entityManager.createQuery(query)
+                .setFirstResult((int) page.getOffset())
+                .setMaxResults(page.getPageSize() + 1)
+                .getResultList();
+        boolean hasNext = tuples.size() > page.getPageSize();
+        return new SliceImpl<>(hasNext ? tuples.subList(0, page.getPageSize()) : tuples, page, hasNext);
+    }
+
+}
@@ -0,0 +1,20 @@
+package com.example.repository;
+
+import com.example.model.TaskLeaseNode;
+import java.time.LocalDateTime;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface TaskLeaseNodeRepository extends JpaRepository<TaskLeaseNode, String> {
+
+    long countByExpiresAtGreaterThanEqual(LocalDateTime now);
+
+    @Modifying
+    @Query("delete from TaskLeaseNode n where n.expiresAt < :before")
+    int deleteExpiredBefore(@Param("before") LocalDateTime before);
+
+}
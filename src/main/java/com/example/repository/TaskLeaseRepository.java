@@ -0,0 +1,44 @@
+package com.example.repository;
+
+import com.example.model.TaskLease;
+import com.example.model.TaskLeaseKey;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+
+@Repository
+public interface TaskLeaseRepository extends JpaRepository<TaskLease, TaskLeaseKey> {
+
+    List<TaskLease> findByKeyName(String name);
+
+    /**
+     * Шарды работы, которые узел может удержать или захватить: свои, свободные и просроченные.
+     * Выборка - select ... for update skip locked: строки, заблокированные другим узлом, пропускаются,
+     * поэтому узлы разбирают шарды параллельно, не дожидаясь друг друга.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("""
+            select l from TaskLease l
+            where l.key.name = :name
+            and (l.owner = :owner or l.owner is null or l.expiresAt < :now)
+            order by l.key.shard
+            """)
+    List<TaskLease> findClaimable(
+            @Param("name") String name,
+            @Param("owner") String owner,
+            @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("update TaskLease l set l.owner = null, l.expiresAt = null where l.owner = :owner")
+    int releaseAllByOwner(@Param("owner") String owner);
+
+}
@@ -1,26 +1,216 @@
 package com.example.repository;
 
+import com.example.dto.TaskDto;
 import com.example.model.Task;
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
 
+/**
+ * Списки задач читаются сразу в TaskDto: без управляемых сущностей, снимков для dirty checking
+ * и обратных вызовов @PostLoad.
+ */
 @Repository
-public interface TaskRepository extends JpaRepository<Task, Long> {
+public interface TaskRepository extends JpaRepository<Task, Long>, TaskFieldsRepository,
+        TaskUpdateRepository {
+
+    /**
+     * Страница и её количество попадают в кеш запросов (регион {@link Task#LIST_CACHE_REGION}), если включён
+     * кеш второго уровня. Любая запись в tasks через Hibernate делает закешированные результаты устаревшими.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = Task.LIST_CACHE_REGION)
+    })
+    @Query(value = """
+            select new com.example.dto.TaskDto(t.id, t.title, t.description, t.dueDate, t.completed, t.version)
+            from Task t
+            where ((:completed is null or t.completed = :completed)
+            and (t.dueDate BETWEEN :dateStart and :dateEnd))
+            """,
+            countQuery = """
+            select count(t) from Task t
+            where ((:completed is null or t.completed = :completed)
+            and (t.dueDate BETWEEN :dateStart and :dateEnd))
+            """)
+    Page<TaskDto> findAllByParams(
+            @Param("completed") Boolean completed,
+            @Param("dateStart") LocalDateTime dateStart,
+            @Param("dateEnd") LocalDateTime dateEnd,
+            Pageable page);
 
     @Query("""
-            select t from Task t 
-            where ((:completed is null or t.completed = :completed) 
-            and (t.dueDate BETWEEN :dateStart and :dateEnd)) 
+            select new com.example.dto.TaskDto(t.id, t.title, t.description, t.dueDate, t.completed, t.version)
+            from Task t
+            where ((:completed is null or t.completed = :completed)
+            and (t.dueDate BETWEEN :dateStart and :dateEnd))
             """)
-    Page<Task> findAllByParams(
+    Slice<TaskDto> findSliceByParams(
             @Param("completed") Boolean completed,
             @Param("dateStart") LocalDateTime dateStart,
             @Param("dateEnd") LocalDateTime dateEnd,
             Pageable page);
 
-}
\ No newline at end of file
+    @Query(value = """
+            select t.id as id, t.version as version from Task t
+            where ((:completed is null or t.completed = :completed)
+            and (t.dueDate BETWEEN :dateStart and :dateEnd))
+            """,
+            countQuery = """
+            select count(t) from Task t
+            where ((:completed is null or t.completed = :completed)
+            and (t.dueDate BETWEEN :dateStart and :dateEnd))
+            """)
+    Page<TaskVersion> findVersionsByParams(
+            @Param("completed") Boolean completed,
+            @Param("dateStart") LocalDateTime dateStart,
+            @Param("dateEnd") LocalDateTime dateEnd,
+            Pageable page);
+
+    @Query("""
+            select new com.example.dto.TaskDto(t.id, t.title, t.description, t.dueDate, t.completed, t.version)
+            from Task t
+            where t.id in :ids
+            """)
+    List<TaskDto> findDtosByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Идентификаторы задач, найденных полнотекстовым поиском (только PostgreSQL), по убыванию ранга.
+     * Читается не больше candidates + 1 совпадений, чтобы частое слово не сортировало всю таблицу;
+     * их число возвращается в каждой строке, и запрос, находящий больше candidates, отклоняется вызывающим.
+     */
+    @Query(nativeQuery = true, value = """
+            with matches as (
+                select t.tasks_id as id, ts_rank_cd(t.tasks_search, q.query) as rank
+                from tasks t cross join to_tsquery('simple', :query) as q(query)
+                where t.tasks_search @@ q.query
+                limit :candidates + 1)
+            select m.id as id, count(*) over () as matches from matches m
+            order by m.rank desc, m.id
+            offset :offset limit :limit
+            """)
+    List<TaskSearchHit> searchIds(
+            @Param("query") String query,
+            @Param("candidates") int candidates,
+            @Param("offset") long offset,
+            @Param("limit") int limit);
+
+    @Query("select t.version from Task t where t.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+
+    /**
+     * Существующие из удаляемых задач с полями ячеек статистики; строки блокируются, чтобы параллельное
+     * удаление тех же задач не уменьшило счётчики повторно и не опубликовало удаление дважды.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("""
+            select t.id as id, t.dueDate as dueDate, t.completed as completed
+            from Task t
+            where t.id in :ids
+            """)
+    List<TaskStatsRow> findStatsRowsByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Удалить задачи одним запросом без сброса региона задач в кеше второго уровня: удалённые задачи
+     * вытесняет вызывающий.
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = Task.BULK_QUERY_SPACE))
+    @Query(nativeQuery = true, value = "delete from tasks where tasks_id in :ids")
+    int deleteByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("""
+            select count(t) from Task t
+            where (t.completed = false or t.completed is null)
+            and t.dueDate >= :dateStart and t.dueDate < :dateEnd
+            """)
+    long countOpenByDueDate(
+            @Param("dateStart") LocalDateTime dateStart,
+            @Param("dateEnd") LocalDateTime dateEnd);
+
+    @Query("""
+            select count(t) from Task t
+            where ((:completed is null or t.completed = :completed)
+            and (t.dueDate BETWEEN :dateStart and :dateEnd))
+            """)
+    long countByParams(
+            @Param("completed") Boolean completed,
+            @Param("dateStart") LocalDateTime dateStart,
+            @Param("dateEnd") LocalDateTime dateEnd);
+
+    @Query("""
+            select new com.example.dto.TaskDto(t.id, t.title, t.description, t.dueDate, t.completed, t.version)
+            from Task t
+            where ((:completed is null or t.completed = :completed)
+            and (t.dueDate BETWEEN :dateStart and :dateEnd)
+            and t.id > :afterId)
+            order by t.id
+            """)
+    List<TaskDto> findAllByParamsAfter(
+            @Param("completed") Boolean completed,
+            @Param("dateStart") LocalDateTime dateStart,
+            @Param("dateEnd") LocalDateTime dateEnd,
+            @Param("afterId") Long afterId,
+            Limit limit);
+
+    /**
+     * Выполненные задачи со сроком раньше before для переноса в архив. Строки блокируются с skip locked:
+     * задачи, которые сейчас изменяются, переносятся следующей пачкой, а изменение не потеряется.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("""
+            select t.id as id, t.dueDate as dueDate, t.version as version from Task t
+            where t.completed = true and t.dueDate < :before
+            order by t.dueDate, t.id
+            """)
+    List<TaskDeadline> findArchivable(@Param("before") LocalDateTime before, Limit limit);
+
+    /**
+     * Невыполненные задачи корзин шардов buckets со сроком в окне [dateStart, dateEnd): для каждой корзины -
+     * диапазон срока в индексе idx_tasks_shard_bucket_due_date, строки чужих шардов не читаются.
+     */
+    @Query(nativeQuery = true, value = """
+            select t.tasks_id as id, t.tasks_due_date as dueDate, t.tasks_version as version
+            from tasks t
+            where t.tasks_shard_bucket in :buckets
+            and t.tasks_due_date >= :dateStart and t.tasks_due_date < :dateEnd
+            and (t.tasks_completed = false or t.tasks_completed is null)
+            """)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    Stream<TaskDeadline> streamOpenByDueDate(
+            @Param("dateStart") LocalDateTime dateStart,
+            @Param("dateEnd") LocalDateTime dateEnd,
+            @Param("buckets") Collection<Integer> buckets);
+
+    @Query("""
+            select t from Task t
+            where ((:completed is null or t.completed = :completed)
+            and (t.dueDate BETWEEN :dateStart and :dateEnd))
+            order by t.id
+            """)
+    @QueryHints(value = {
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")})
+    Stream<Task> streamAllByParams(
+            @Param("completed") Boolean completed,
+            @Param("dateStart") LocalDateTime dateStart,
+            @Param("dateEnd") LocalDateTime dateEnd);
+
+}
@@ -0,0 +1,22 @@
+package com.example.repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * Строка задачи из native-запроса, объединяющего tasks и tasks_archive.
+ */
+public interface TaskRow {
+
+    Long getId();
+
+    String getTitle();
+
+    String getDescription();
+
+    LocalDateTime getDueDate();
+
+    Boolean getCompleted();
+
+    Long getVersion();
+
+}
@@ -0,0 +1,12 @@
+package com.example.repository;
+
+/**
+ * Проекция найденной задачи: идентификатор и число совпадений запроса (не больше max-candidates + 1).
+ */
+public interface TaskSearchHit {
+
+    Long getId();
+
+    Long getMatches();
+
+}
@@ -0,0 +1,16 @@
+package com.example.repository;
+
+import java.time.LocalDate;
+
+/**
+ * Проекция количества задач в ячейке статистики (день срока, статус).
+ */
+public interface TaskStatsCount {
+
+    LocalDate getDueDay();
+
+    Boolean getCompleted();
+
+    Long getCount();
+
+}
@@ -0,0 +1,17 @@
+package com.example.repository;
+
+import com.example.model.TaskStatsDelta;
+import java.util.List;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.stereotype.Repository;
+import jakarta.persistence.LockModeType;
+
+@Repository
+public interface TaskStatsDeltaRepository extends JpaRepository<TaskStatsDelta, Long> {
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    List<TaskStatsDelta> findByOrderByIdAsc(Limit limit);
+
+}
@@ -0,0 +1,46 @@
+package com.example.repository;
+
+import com.example.model.TaskStats;
+import com.example.model.TaskStatsKey;
+import java.time.LocalDate;
+import java.util.List;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface TaskStatsRepository extends JpaRepository<TaskStats, TaskStatsKey> {
+
+    /**
+     * Количество задач по ячейкам: сводная таблица плюс ещё не свёрнутые приращения.
+     * Обе таблицы читаются одним запросом, поэтому параллельная свёртка не учитывается дважды.
+     */
+    @Query(nativeQuery = true, value = """
+            select s.due_day as dueDay, s.completed as completed, sum(s.cnt) as count
+            from (select task_stats_due_day as due_day, task_stats_completed as completed,
+                         task_stats_count as cnt
+                  from task_stats
+                  union all
+                  select task_stats_deltas_due_day, task_stats_deltas_completed, task_stats_deltas_delta
+                  from task_stats_deltas) s
+            group by s.due_day, s.completed
+            order by s.due_day, s.completed
+            """)
+    List<TaskStatsCount> findCounts();
+
+    /**
+     * Сумма свёрнутых счётчиков за дни [dayStart, dayEnd] - диапазон по первичному ключу сводной таблицы;
+     * ещё не свёрнутые приращения не учитываются.
+     */
+    @Query("""
+            select coalesce(sum(s.count), 0) from TaskStats s
+            where s.key.dueDay between :dayStart and :dayEnd
+            and (:completed is null or s.key.completed = :completed)
+            """)
+    long sumCounts(
+            @Param("completed") Boolean completed,
+            @Param("dayStart") LocalDate dayStart,
+            @Param("dayEnd") LocalDate dayEnd);
+
+}
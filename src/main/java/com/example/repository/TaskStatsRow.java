@@ -0,0 +1,16 @@
+package com.example.repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * Проекция удаляемой задачи: идентификатор и поля ячейки статистики.
+ */
+public interface TaskStatsRow {
+
+    Long getId();
+
+    LocalDateTime getDueDate();
+
+    Boolean getCompleted();
+
+}
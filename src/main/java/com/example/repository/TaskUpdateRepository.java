@@ -0,0 +1,18 @@
+package com.example.repository;
+
+import com.example.dto.TaskDto;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+public interface TaskUpdateRepository {
+
+    /**
+     * Изменить задачу указанной версии одним UPDATE: заданные поля заменяются, остальные сохраняются,
+     * версия увеличивается на единицу. Возвращает состояние задачи до изменения, прочитанное тем же
+     * запросом, или пустой результат, если задачи этой версии нет. Запрос не сбрасывает кеш второго уровня:
+     * вытеснить изменённую задачу должен вызывающий.
+     */
+    Optional<TaskDto> updateByIdAndVersion(Long id, Long version, String title, String description,
+                                           LocalDateTime dueDate, Boolean completed);
+
+}
@@ -0,0 +1,83 @@
+package com.example.repository;
+
+import com.example.dto.TaskDto;
+import jakarta.persistence.EntityManager;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.query.NativeQuery;
+
+@RequiredArgsConstructor
+public class TaskUpdateRepositoryImpl implements TaskUpdateRepository {
+
+    /**
+     * PostgreSQL: прежнее состояние - из подзапроса с блокировкой строки, на который ссылается returning.
+     */
+    private static final String POSTGRESQL_UPDATE = """
+            update tasks t set
+                tasks_title = coalesce(:title, t.tasks_title),
+                tasks_description = coalesce(:description, t.tasks_description),
+                tasks_due_date = coalesce(:dueDate, t.tasks_due_date),
+                tasks_completed = coalesce(:completed, t.tasks_completed),
+                tasks_version = t.tasks_version + 1
+            from (select tasks_id, tasks_title, tasks_description, tasks_due_date, tasks_completed, tasks_version
+                  from tasks
+                  where tasks_id = :id and tasks_version = :version
+                  for update) old
+            where t.tasks_id = old.tasks_id
+            returning old.tasks_id as id, old.tasks_title as title, old.tasks_description as description,
+                      old.tasks_due_date as due_date, old.tasks_completed as completed, old.tasks_version as version
+            """;
+
+    /**
+     * H2: прежнее состояние - из таблицы изменения данных old table.
+     */
+    private static final String H2_UPDATE = """
+            select tasks_id as id, tasks_title as title, tasks_description as description,
+                   tasks_due_date as due_date, tasks_completed as completed, tasks_version as version
+            from old table (
+                update tasks set
+                    tasks_title = coalesce(:title, tasks_title),
+                    tasks_description = coalesce(:description, tasks_description),
+                    tasks_due_date = coalesce(:dueDate, tasks_due_date),
+                    tasks_completed = coalesce(:completed, tasks_completed),
+                    tasks_version = tasks_version + 1
+                where tasks_id = :id and tasks_version = :version)
+            """;
+
+    private final EntityManager entityManager;
+
+    @Override
+    public Optional<TaskDto> updateByIdAndVersion(Long id, Long version, String title, String description,
+                                                  LocalDateTime dueDate, Boolean completed) {
+        // Запрос выполняется как выборка: Hibernate не считает его массовым изменением и не сбрасывает
+        // весь регион задач в кеше второго уровня.
+        @SuppressWarnings("unchecked")
+        List<Object[]> rows = entityManager.createNativeQuery(isPostgreSql() ? POSTGRESQL_UPDATE : H2_UPDATE)
+                .unwrap(NativeQuery.class)
+                .addScalar("id", Long.class)
+                .addScalar("title", String.class)
+                .addScalar("description", String.class)
+                .addScalar("due_date", LocalDateTime.class)
+                .addScalar("completed", Boolean.class)
+                .addScalar("version", Long.class)
+                .setParameter("id", id)
+                .setParameter("version", version)
+                .setParameter("title", title, String.class)
+                .setParameter("description", description, String.class)
+                .setParameter("dueDate", dueDate, LocalDateTime.class)
+                .setParameter("completed", completed, Boolean.class)
+                .getResultList();
+        return rows.stream().findFirst().map(row -> new TaskDto((Long) row[0], (String) row[1], (String) row[2],
+                (LocalDateTime) row[3], (Boolean) row[4], (Long) row[5]));
+    }
+
+    private boolean isPostgreSql() {
+        return entityManager.getEntityManagerFactory().unwrap(SessionFactoryImplementor.class)
+                .getJdbcServices().getDialect() instanceof PostgreSQLDialect;
+    }
+
+}
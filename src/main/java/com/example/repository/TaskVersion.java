@@ -0,0 +1,12 @@
+package com.example.repository;
+
+/**
+ * Проекция задачи для вычисления ETag без загрузки всей строки.
+ */
+public interface TaskVersion {
+
+    Long getId();
+
+    Long getVersion();
+
+}
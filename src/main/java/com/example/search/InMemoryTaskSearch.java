@@ -0,0 +1,177 @@
+package com.example.search;
+
+import com.example.dto.TaskChangeDto;
+import com.example.dto.TaskDto;
+import com.example.mapper.TaskMapper;
+import com.example.model.TaskChange;
+import com.example.repository.TaskRepository;
+import com.example.service.TaskChangesPublishedEvent;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Инвертированный индекс в памяти для профиля test (H2 без полнотекстового поиска PostgreSQL).
+ * Заполняется при запуске, затем обновляется по ленте изменений задач; рассчитан на один экземпляр
+ * приложения, так как события ретранслятора публикуются только в нём.
+ */
+@Component
+@ConditionalOnProperty(name = "task.search.engine", havingValue = "memory")
+@Slf4j
+public class InMemoryTaskSearch implements TaskSearch, SmartInitializingSingleton {
+
+    private static final double TITLE_WEIGHT = 1.0;
+    private static final double DESCRIPTION_WEIGHT = 0.4;
+
+    private final TaskRepository taskRepository;
+    private final TaskMapper taskMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final int maxCandidates;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Document> documents = new HashMap<>();
+    private final NavigableMap<String, Set<Long>> postings = new TreeMap<>();
+
+    public InMemoryTaskSearch(TaskRepository taskRepository, TaskMapper taskMapper,
+                              PlatformTransactionManager transactionManager,
+                              @Value("${task.search.max-candidates:10000}") int maxCandidates) {
+        this.taskRepository = taskRepository;
+        this.taskMapper = taskMapper;
+        this.maxCandidates = maxCandidates;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+    }
+
+    /**
+     * Построить индекс до запуска планировщика, чтобы ретранслятор не публиковал изменения раньше загрузки.
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        List<TaskDto> tasks = transactionTemplate.execute(status ->
+                taskMapper.convertTaskListToTaskDtoList(taskRepository.findAll()));
+        tasks.forEach(this::index);
+        log.info("Построен индекс поиска задач в памяти: задач = {}.", tasks.size());
+    }
+
+    @EventListener
+    public void onPublished(TaskChangesPublishedEvent event) {
+        for (TaskChangeDto change : event.changes()) {
+            if (change.getType() == TaskChange.Type.DELETED || change.getType() == TaskChange.Type.ARCHIVED) {
+                remove(change.getTaskId());
+            } else if (change.getTask() != null) {
+                index(change.getTask());
+            }
+        }
+    }
+
+    @Override
+    public Slice<TaskDto> search(String query, Integer from, Integer size) {
+        List<String> terms = TaskSearchTerms.ofQuery(query);
+        List<Hit> hits;
+        lock.readLock().lock();
+        try {
+            Set<Long> matches = null;
+            for (String term : terms) {
+                Set<Long> termMatches = new HashSet<>();
+                prefixed(term).values().forEach(termMatches::addAll);
+                if (matches == null) {
+                    matches = termMatches;
+                } else {
+                    matches.retainAll(termMatches);
+                }
+            }
+            TaskSearch.checkCandidates(query, (long) from * size, matches.size(), maxCandidates);
+            hits = matches.stream()
+                    .map(id -> new Hit(documents.get(id), documents.get(id).rank(terms)))
+                    .sorted(Comparator.comparingDouble(Hit::rank).reversed()
+                            .thenComparing(hit -> hit.document().task().getId()))
+                    .skip((long) from * size)
+                    .limit(size + 1)
+                    .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+        boolean hasNext = hits.size() > size;
+        List<TaskDto> tasks = hits.stream().limit(size).map(hit -> hit.document().task()).toList();
+        return new SliceImpl<>(tasks, PageRequest.of(from, size), hasNext);
+    }
+
+    private void index(TaskDto task) {
+        lock.writeLock().lock();
+        try {
+            Document current = documents.get(task.getId());
+            if (current != null && current.task().getVersion() > task.getVersion()) return;
+            removeDocument(task.getId());
+            Document document = new Document(task, TaskSearchTerms.of(task.getTitle()),
+                    TaskSearchTerms.of(task.getDescription()));
+            documents.put(task.getId(), document);
+            document.titleTerms().forEach(term -> postings.computeIfAbsent(term, key -> new HashSet<>())
+                    .add(task.getId()));
+            document.descriptionTerms().forEach(term -> postings.computeIfAbsent(term, key -> new HashSet<>())
+                    .add(task.getId()));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void remove(Long taskId) {
+        lock.writeLock().lock();
+        try {
+            removeDocument(taskId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void removeDocument(Long taskId) {
+        Document document = documents.remove(taskId);
+        if (document == null) return;
+        for (List<String> terms : List.of(document.titleTerms(), document.descriptionTerms())) {
+            for (String term : terms) {
+                Set<Long> ids = postings.get(term);
+                if (ids != null && ids.remove(taskId) && ids.isEmpty()) postings.remove(term);
+            }
+        }
+    }
+
+    private NavigableMap<String, Set<Long>> prefixed(String prefix) {
+        return postings.subMap(prefix, true, prefix + Character.MAX_VALUE, false);
+    }
+
+    private record Document(TaskDto task, List<String> titleTerms, List<String> descriptionTerms) {
+
+        /**
+         * Ранг как сумма вхождений слов с префиксами запроса, с весами полей - аналог ts_rank с весами A и B.
+         */
+        double rank(List<String> prefixes) {
+            double rank = 0;
+            for (String prefix : prefixes) {
+                rank += TITLE_WEIGHT * titleTerms.stream().filter(term -> term.startsWith(prefix)).count();
+                rank += DESCRIPTION_WEIGHT * descriptionTerms.stream().filter(term -> term.startsWith(prefix)).count();
+            }
+            return rank;
+        }
+
+    }
+
+    private record Hit(Document document, double rank) {
+    }
+
+}
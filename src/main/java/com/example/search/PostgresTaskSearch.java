@@ -0,0 +1,60 @@
+package com.example.search;
+
+import com.example.dto.TaskDto;
+import com.example.repository.TaskRepository;
+import com.example.repository.TaskSearchHit;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Поиск по столбцу tsvector с GIN-индексом: ранжируется не больше max-candidates совпадений
+ * (запрос, находящий больше, отклоняется), и только идентификаторы; полные строки, включая длинное описание, читаются лишь для страницы.
+ */
+@Component
+@ConditionalOnProperty(name = "task.search.engine", havingValue = "postgres", matchIfMissing = true)
+public class PostgresTaskSearch implements TaskSearch {
+
+    private final TaskRepository taskRepository;
+    private final int maxCandidates;
+
+    public PostgresTaskSearch(
+            TaskRepository taskRepository,
+            @Value("${task.search.max-candidates:10000}") int maxCandidates) {
+        this.taskRepository = taskRepository;
+        this.maxCandidates = maxCandidates;
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public Slice<TaskDto> search(String query, Integer from, Integer size) {
+        String tsQuery = TaskSearchTerms.ofQuery(query).stream()
+                .map(term -> term + ":*")
+                .collect(Collectors.joining(" & "));
+        long offset = (long) from * size;
+        List<TaskSearchHit> hits = taskRepository.searchIds(tsQuery, maxCandidates, offset, size + 1);
+        TaskSearch.checkCandidates(query, offset, hits.isEmpty() ? 0 : hits.get(0).getMatches(), maxCandidates);
+        List<Long> ids = hits.stream().map(TaskSearchHit::getId).toList();
+        boolean hasNext = ids.size() > size;
+        if (hasNext) ids = ids.subList(0, size);
+
+        List<Long> pageIds = ids;
+        Map<Long, Integer> positions = IntStream.range(0, pageIds.size()).boxed()
+                .collect(Collectors.toMap(pageIds::get, Function.identity()));
+        List<TaskDto> tasks = ids.isEmpty() ? List.of() : taskRepository.findDtosByIdIn(ids).stream()
+                .sorted(Comparator.comparing(taskDto -> positions.get(taskDto.getId())))
+                .toList();
+        return new SliceImpl<>(tasks, PageRequest.of(from, size), hasNext);
+    }
+
+}
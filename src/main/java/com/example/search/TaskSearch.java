@@ -0,0 +1,31 @@
+package com.example.search;
+
+import com.example.dto.TaskDto;
+import com.example.exception.BadRequestException;
+import org.springframework.data.domain.Slice;
+
+/**
+ * Полнотекстовый поиск задач по имени и описанию: все слова запроса ищутся по префиксу,
+ * совпадения в имени весят больше, чем в описании.
+ */
+public interface TaskSearch {
+
+    /**
+     * Найти задачи по запросу, упорядоченные по убыванию релевантности, затем по id. Ранжируется
+     * не больше maxCandidates совпадений: если запрос находит больше или страница начинается за этой границей,
+     * выбрасывается {@link BadRequestException}, а не отдаётся неполный результат.
+     */
+    Slice<TaskDto> search(String query, Integer from, Integer size);
+
+    static void checkCandidates(String query, long offset, long matches, int maxCandidates) {
+        if (matches > maxCandidates) {
+            throw new BadRequestException("Запрос \"" + query + "\" находит больше " + maxCandidates +
+                    " задач, уточните его.");
+        }
+        if (offset >= maxCandidates) {
+            throw new BadRequestException("Результаты поиска доступны только для первых " + maxCandidates +
+                    " совпадений.");
+        }
+    }
+
+}
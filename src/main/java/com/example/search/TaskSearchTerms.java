@@ -0,0 +1,35 @@
+package com.example.search;
+
+import com.example.exception.BadRequestException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Разбиение текста на слова для поиска: буквы и цифры в нижнем регистре, остальное - разделители,
+ * как у парсера конфигурации simple в PostgreSQL.
+ */
+public final class TaskSearchTerms {
+
+    private TaskSearchTerms() {
+    }
+
+    public static List<String> of(String text) {
+        if (text == null) return List.of();
+        return Arrays.stream(text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+"))
+                .filter(term -> !term.isEmpty())
+                .toList();
+    }
+
+    /**
+     * Слова поискового запроса; запрос без слов отклоняется.
+     */
+    public static List<String> ofQuery(String query) {
+        List<String> terms = of(query).stream().distinct().toList();
+        if (terms.isEmpty()) {
+            throw new BadRequestException("Поисковый запрос не содержит слов: " + query + ".");
+        }
+        return terms;
+    }
+
+}
@@ -0,0 +1,92 @@
+package com.example.service;
+
+import com.example.dto.TaskChangeDto;
+import com.example.dto.TaskDto;
+import com.example.model.Task;
+import com.example.model.TaskChange;
+import java.util.Collection;
+import java.util.List;
+import org.hibernate.SessionFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import jakarta.persistence.EntityManagerFactory;
+
+import static com.example.config.CacheConfig.TASKS_CACHE;
+
+/**
+ * Сброс кешей задач по ленте изменений. Свои записи сервис и Hibernate отражают в кешах сами, а изменения,
+ * сделанные на других узлах, видны только через ленту. Задача вытесняется из кеша {@link
+ * com.example.config.CacheConfig#TASKS_CACHE}, если закешированная версия старше изменения (свои изменения
+ * приходят с той же версией и запись не трогают), а при включённом кеше второго уровня - ещё и из региона
+ * {@link Task#CACHE_REGION} со сбросом кеша запросов списков.
+ */
+@Component
+public class TaskCacheEvictor {
+
+    private final Cache tasksCache;
+    private final EntityManagerFactory entityManagerFactory;
+    private final boolean secondLevelCacheEnabled;
+
+    public TaskCacheEvictor(
+            CacheManager cacheManager,
+            EntityManagerFactory entityManagerFactory,
+            @Value("${task.cache.second-level.enabled:false}") boolean secondLevelCacheEnabled) {
+        this.tasksCache = cacheManager.getCache(TASKS_CACHE);
+        this.entityManagerFactory = entityManagerFactory;
+        this.secondLevelCacheEnabled = secondLevelCacheEnabled;
+    }
+
+    @EventListener
+    public void onPublished(TaskChangesPublishedEvent event) {
+        for (TaskChangeDto change : event.changes()) {
+            if (isStale(change)) {
+                tasksCache.evict(change.getTaskId());
+            }
+        }
+        if (secondLevelCacheEnabled) {
+            evictSecondLevel(event.changes().stream().map(TaskChangeDto::getTaskId).toList());
+        }
+    }
+
+    /**
+     * Вытеснить задачи, изменённые своими запросами мимо сущностей, из кеша второго уровня вместе с кешем
+     * запросов списков: сразу и ещё раз после завершения транзакции, чтобы чтение до фиксации не вернуло
+     * в кеш прежнее состояние. Без кеша второго уровня ничего не делает.
+     */
+    public void evictEntities(Collection<Long> taskIds) {
+        if (!secondLevelCacheEnabled || taskIds.isEmpty()) return;
+        List<Long> ids = List.copyOf(taskIds);
+        evictSecondLevel(ids);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    evictSecondLevel(ids);
+                }
+            });
+        }
+    }
+
+    private void evictSecondLevel(Collection<Long> taskIds) {
+        org.hibernate.Cache cache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+        for (Long taskId : taskIds) {
+            cache.evictEntityData(Task.class, taskId);
+        }
+        cache.evictQueryRegion(Task.LIST_CACHE_REGION);
+    }
+
+    private boolean isStale(TaskChangeDto change) {
+        if (change.getType() == TaskChange.Type.DELETED || change.getType() == TaskChange.Type.ARCHIVED
+                || change.getVersion() == null) {
+            return true;
+        }
+        TaskDto cached = tasksCache.get(change.getTaskId(), TaskDto.class);
+        return cached != null && cached.getVersion() < change.getVersion();
+    }
+
+}
@@ -0,0 +1,216 @@
+package com.example.service;
+
+import com.example.dto.TaskChangeDto;
+import com.example.model.TaskChange;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Рассылка изменений задач подписчикам Server-Sent Events. Ожидающий подписчик не занимает поток:
+ * у каждого своя ограниченная очередь событий, которая отправляется задачей applicationTaskExecutor
+ * (на виртуальных потоках, если они включены) только когда в ней что-то есть. Медленный подписчик,
+ * переполнивший очередь, отключается и переподключается с Last-Event-ID, дочитывая пропущенное из ленты.
+ */
+@Component
+@Slf4j
+public class TaskChangeBroadcaster {
+
+    public static final String RESET_EVENT = "RESET";
+
+    private static final int REPLAY_PAGE_SIZE = 500;
+
+    private final TaskChangeRelay taskChangeRelay;
+    private final TaskExecutor taskExecutor;
+    private final long timeoutMillis;
+    private final int maxPending;
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+
+    public TaskChangeBroadcaster(
+            TaskChangeRelay taskChangeRelay,
+            @Qualifier("applicationTaskExecutor") TaskExecutor taskExecutor,
+            @Value("${task.sse.timeout:PT30M}") Duration timeout,
+            @Value("${task.sse.max-pending:1000}") int maxPending) {
+        this.taskChangeRelay = taskChangeRelay;
+        this.taskExecutor = taskExecutor;
+        this.timeoutMillis = timeout.toMillis();
+        this.maxPending = maxPending;
+    }
+
+    /**
+     * Подписаться на изменения задач по фильтру; если задан since (Last-Event-ID),
+     * сначала отправляются изменения ленты после него. Каждая страница читается в своей транзакции
+     * репозитория, и соединение возвращается в пул до того, как эмиттер будет отдан контроллеру
+     * (при этом spring.jpa.open-in-view должен быть выключен). До возврата из контроллера эмиттер копит
+     * отправленное без ограничения, поэтому пропущенных изменений читается не больше max-pending: если их больше,
+     * подписчик получает событие RESET и отключается - клиенту нужно перечитать задачи и подписаться
+     * без Last-Event-ID.
+     */
+    public SseEmitter subscribe(TaskChangeFilter filter, Long since) {
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        Subscriber subscriber = new Subscriber(filter, emitter, since == null ? -1 : since);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(e -> subscribers.remove(subscriber));
+        subscribers.add(subscriber);
+
+        if (since != null) {
+            List<TaskChangeDto> missed = new ArrayList<>();
+            List<TaskChangeDto> changes;
+            int pageSize;
+            long after = since;
+            do {
+                pageSize = Math.min(REPLAY_PAGE_SIZE, maxPending + 1 - missed.size());
+                changes = taskChangeRelay.getChanges(after, pageSize);
+                missed.addAll(changes);
+                if (!changes.isEmpty()) after = changes.get(changes.size() - 1).getSeq();
+            } while (changes.size() == pageSize && missed.size() <= maxPending);
+            if (missed.size() > maxPending) {
+                reset(subscriber, since);
+                return emitter;
+            }
+            missed.forEach(subscriber::replay);
+        }
+        subscriber.finishReplay();
+        return emitter;
+    }
+
+    @EventListener
+    public void onPublished(TaskChangesPublishedEvent event) {
+        for (Subscriber subscriber : subscribers) {
+            event.changes().forEach(subscriber::live);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${task.sse.heartbeat-interval:PT15S}")
+    public void heartbeat() {
+        for (Subscriber subscriber : subscribers) {
+            if (subscriber.pending.isEmpty()) subscriber.offer(SseEmitter.event().comment("heartbeat"));
+        }
+    }
+
+    public int getSubscribersCount() {
+        return subscribers.size();
+    }
+
+    private void reset(Subscriber subscriber, long since) {
+        log.info("Подписчику на изменения задач отправлен RESET: после Last-Event-ID = {} больше {} изменений.",
+                since, maxPending);
+        subscribers.remove(subscriber);
+        try {
+            subscriber.emitter.send(SseEmitter.event().name(RESET_EVENT)
+                    .data("Пропущено больше " + maxPending + " изменений: перечитайте задачи и подпишитесь " +
+                            "без Last-Event-ID."));
+            subscriber.emitter.complete();
+        } catch (IOException | IllegalStateException e) {
+            subscriber.emitter.completeWithError(e);
+        }
+    }
+
+    private final class Subscriber {
+
+        private final TaskChangeFilter filter;
+        private final SseEmitter emitter;
+        private final Queue<SseEmitter.SseEventBuilder> pending = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger pendingCount = new AtomicInteger();
+        private final AtomicBoolean sending = new AtomicBoolean();
+        // Живые изменения, пришедшие во время дочитывания ленты; null - дочитывание завершено.
+        private List<TaskChangeDto> replayBuffer = new ArrayList<>();
+        private long lastSeq;
+
+        private Subscriber(TaskChangeFilter filter, SseEmitter emitter, long lastSeq) {
+            this.filter = filter;
+            this.emitter = emitter;
+            this.lastSeq = lastSeq;
+        }
+
+        private synchronized void replay(TaskChangeDto change) {
+            accept(change);
+        }
+
+        private synchronized void live(TaskChangeDto change) {
+            if (replayBuffer != null) {
+                replayBuffer.add(change);
+            } else {
+                accept(change);
+            }
+        }
+
+        private synchronized void finishReplay() {
+            List<TaskChangeDto> buffered = replayBuffer;
+            replayBuffer = null;
+            buffered.forEach(this::accept);
+        }
+
+        private void accept(TaskChangeDto change) {
+            if (change.getSeq() <= lastSeq) return;
+            lastSeq = change.getSeq();
+            SseEmitter.SseEventBuilder event = toEvent(change);
+            if (event != null) offer(event);
+        }
+
+        /**
+         * Удаление и перенос в архив получают все подписчики; изменение задачи, вышедшей из фильтра, приходит как EXCLUDED
+         * без тела задачи, чтобы клиент убрал её из списка.
+         */
+        private SseEmitter.SseEventBuilder toEvent(TaskChangeDto change) {
+            String id = String.valueOf(change.getSeq());
+            if (change.getType() == TaskChange.Type.DELETED || change.getType() == TaskChange.Type.ARCHIVED
+                    || filter.matches(change.getTask())) {
+                return SseEmitter.event().id(id).name(change.getType().name()).data(change);
+            }
+            if (change.getType() == TaskChange.Type.UPDATED) {
+                TaskChangeDto excluded = new TaskChangeDto(
+                        change.getSeq(), change.getType(), change.getTaskId(), change.getVersion(), null);
+                return SseEmitter.event().id(id).name("EXCLUDED").data(excluded);
+            }
+            // Добавленная задача вне фильтра подписчику не нужна.
+            return null;
+        }
+
+        private void offer(SseEmitter.SseEventBuilder event) {
+            if (pendingCount.incrementAndGet() > maxPending) {
+                log.warn("Подписчик на изменения задач отключён: очередь превысила {} событий.", maxPending);
+                subscribers.remove(this);
+                emitter.complete();
+                return;
+            }
+            pending.add(event);
+            if (sending.compareAndSet(false, true)) taskExecutor.execute(this::send);
+        }
+
+        private void send() {
+            try {
+                SseEmitter.SseEventBuilder event;
+                while ((event = pending.poll()) != null) {
+                    pendingCount.decrementAndGet();
+                    emitter.send(event);
+                }
+            } catch (IOException | IllegalStateException e) {
+                subscribers.remove(this);
+                pending.clear();
+                return;
+            } finally {
+                sending.set(false);
+            }
+            if (!pending.isEmpty() && sending.compareAndSet(false, true)) taskExecutor.execute(this::send);
+        }
+
+    }
+
+}
@@ -0,0 +1,62 @@
+package com.example.service;
+
+import com.example.dto.TaskChangeDto;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.async.DeferredResult;
+
+/**
+ * Long-poll чтение ленты изменений: если новых изменений нет, запрос ждёт публикации следующей пачки
+ * без занятого потока, а по истечении ожидания получает пустой список.
+ */
+@Component
+@RequiredArgsConstructor
+public class TaskChangeFeed {
+
+    private final TaskChangeRelay taskChangeRelay;
+    private final Set<Waiter> waiters = ConcurrentHashMap.newKeySet();
+
+    public DeferredResult<List<TaskChangeDto>> poll(long since, int limit, Duration timeout) {
+        DeferredResult<List<TaskChangeDto>> result = new DeferredResult<>(timeout.toMillis(), List.of());
+        List<TaskChangeDto> changes = taskChangeRelay.getChanges(since, limit);
+        if (!changes.isEmpty()) {
+            result.setResult(changes);
+            return result;
+        }
+
+        Waiter waiter = new Waiter(since, limit, result);
+        waiters.add(waiter);
+        result.onCompletion(() -> waiters.remove(waiter));
+        // Пачка могла быть опубликована между чтением и регистрацией ожидания.
+        changes = taskChangeRelay.getChanges(since, limit);
+        if (!changes.isEmpty()) complete(waiter, changes);
+        return result;
+    }
+
+    @EventListener
+    public void onPublished(TaskChangesPublishedEvent event) {
+        List<TaskChangeDto> changes = event.changes();
+        long firstSeq = changes.get(0).getSeq();
+        for (Waiter waiter : waiters) {
+            // Отставшему потребителю нужны и более ранние изменения - их читаем из БД.
+            List<TaskChangeDto> pending = waiter.since() >= firstSeq - 1 ?
+                    changes.stream().filter(change -> change.getSeq() > waiter.since()).limit(waiter.limit()).toList() :
+                    taskChangeRelay.getChanges(waiter.since(), waiter.limit());
+            if (!pending.isEmpty()) complete(waiter, pending);
+        }
+    }
+
+    private void complete(Waiter waiter, List<TaskChangeDto> changes) {
+        waiters.remove(waiter);
+        waiter.result().setResult(changes);
+    }
+
+    private record Waiter(long since, int limit, DeferredResult<List<TaskChangeDto>> result) {
+    }
+
+}
@@ -0,0 +1,19 @@
+package com.example.service;
+
+import com.example.dto.TaskDto;
+import java.time.LocalDateTime;
+
+/**
+ * Фильтр подписчика на изменения задач; повторяет условия списка задач (findAllByParams):
+ * статус выполнения и окно срока выполнения. Границы по умолчанию вычисляются в момент проверки.
+ */
+public record TaskChangeFilter(Boolean completed, LocalDateTime dateStart, LocalDateTime dateEnd) {
+
+    public boolean matches(TaskDto taskDto) {
+        LocalDateTime start = dateStart == null ? LocalDateTime.now() : dateStart;
+        LocalDateTime end = dateEnd == null ? LocalDateTime.now().plusYears(100) : dateEnd;
+        return (completed == null || completed.equals(taskDto.getCompleted()))
+                && !taskDto.getDueDate().isBefore(start) && !taskDto.getDueDate().isAfter(end);
+    }
+
+}
@@ -0,0 +1,137 @@
+package com.example.service;
+
+import com.example.dto.TaskChangeDto;
+import com.example.dto.TaskDto;
+import com.example.lease.TaskLeaseService;
+import com.example.lease.TaskShardLease;
+import com.example.model.TaskChange;
+import com.example.repository.TaskChangeRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Ретранслятор outbox: пачками забирает зафиксированные записи без номера и присваивает им
+ * последовательные номера ленты. Номер выдаётся в порядке обнаружения записи, а не в порядке её id,
+ * поэтому транзакция, зафиксированная позже, никогда не получит номер меньше уже выданного
+ * и потребитель, читающий ленту по since, не пропустит изменений.
+ * Номера присваивает только узел, арендовавший работу task-outbox-relay; все узлы, включая его, читают
+ * пронумерованную ленту и публикуют её локально, поэтому подписчики в памяти видят изменения с любого узла.
+ */
+@Component
+@Slf4j
+public class TaskChangeRelay {
+
+    private final TaskChangeRepository taskChangeRepository;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final Duration retention;
+    private final TaskShardLease lease;
+
+    private long publishedSeq; // Номер последнего опубликованного на этом узле изменения, только в потоке планировщика
+
+    public TaskChangeRelay(
+            TaskChangeRepository taskChangeRepository,
+            ObjectMapper objectMapper,
+            ApplicationEventPublisher eventPublisher,
+            PlatformTransactionManager transactionManager,
+            TaskLeaseService taskLeaseService,
+            @Value("${task.outbox.batch-size:500}") int batchSize,
+            @Value("${task.outbox.retention:7d}") Duration retention) {
+        this.taskChangeRepository = taskChangeRepository;
+        this.objectMapper = objectMapper;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.retention = retention;
+        this.lease = taskLeaseService.register("task-outbox-relay", 1);
+        // Подписчики загружают своё состояние после создания ретранслятора, поэтому изменения не пропадут.
+        this.publishedSeq = taskChangeRepository.findMaxSeq();
+    }
+
+    /**
+     * Пронумеровать накопившиеся изменения, если узел ведущий, и опубликовать локально все новые номера ленты.
+     */
+    @Scheduled(fixedDelayString = "${task.outbox.relay-interval:PT0.2S}")
+    public void relay() {
+        if (lease.isHeld()) {
+            Integer assigned;
+            do {
+                try {
+                    assigned = transactionTemplate.execute(status -> assignSeq());
+                } catch (DataIntegrityViolationException e) {
+                    // Номера заняты прежним ведущим, аренда которого истекла: пачка будет перечитана при следующем запуске.
+                    log.warn("Пачка изменений задач не пронумерована: {}.", e.getMessage());
+                    break;
+                }
+            } while (assigned == batchSize);
+        }
+        List<TaskChangeDto> published;
+        do {
+            published = getChanges(publishedSeq, batchSize);
+            if (!published.isEmpty()) {
+                publishedSeq = published.get(published.size() - 1).getSeq();
+                eventPublisher.publishEvent(new TaskChangesPublishedEvent(published));
+            }
+        } while (published.size() == batchSize);
+    }
+
+    /**
+     * Удалить опубликованные изменения старше срока хранения; последнее изменение остаётся,
+     * чтобы нумерация ленты продолжалась с него.
+     */
+    @Scheduled(fixedDelayString = "${task.outbox.purge-interval:PT1H}")
+    public void purge() {
+        if (!lease.isHeld()) return;
+        Integer deleted = transactionTemplate.execute(status -> taskChangeRepository.deletePublishedBefore(
+                taskChangeRepository.findMaxSeq(), LocalDateTime.now().minus(retention)));
+        log.info("Удалено устаревших изменений задач: {}.", deleted);
+    }
+
+    /**
+     * Получить опубликованные изменения с номером больше since.
+     */
+    public List<TaskChangeDto> getChanges(long since, int limit) {
+        return taskChangeRepository.findBySeqGreaterThanOrderBySeqAsc(since, Limit.of(limit)).stream()
+                .map(this::toTaskChangeDto)
+                .toList();
+    }
+
+    private int assignSeq() {
+        List<TaskChange> pending = taskChangeRepository.findBySeqIsNullOrderByIdAsc(Limit.of(batchSize));
+        if (pending.isEmpty()) return 0;
+        long seq = taskChangeRepository.findMaxSeq();
+        for (TaskChange taskChange : pending) {
+            taskChange.setSeq(++seq);
+        }
+        return pending.size();
+    }
+
+    private TaskChangeDto toTaskChangeDto(TaskChange taskChange) {
+        TaskDto taskDto = null;
+        if (taskChange.getPayload() != null) {
+            try {
+                taskDto = objectMapper.readValue(taskChange.getPayload(), TaskDto.class);
+            } catch (JsonProcessingException e) {
+                throw new IllegalStateException("Изменение задачи с id = " + taskChange.getId() +
+                        " не прочитано.", e);
+            }
+        }
+        return new TaskChangeDto(taskChange.getSeq(), taskChange.getType(), taskChange.getTaskId(),
+                taskChange.getTaskVersion(), taskDto);
+    }
+
+}
@@ -0,0 +1,11 @@
+package com.example.service;
+
+import com.example.dto.TaskChangeDto;
+import java.util.List;
+
+/**
+ * Событие приложения: ретранслятор присвоил номера в ленте очередной пачке изменений.
+ * Изменения упорядочены по номеру и уже зафиксированы в БД.
+ */
+public record TaskChangesPublishedEvent(List<TaskChangeDto> changes) {
+}
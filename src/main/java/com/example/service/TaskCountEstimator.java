@@ -0,0 +1,24 @@
+package com.example.service;
+
+import com.example.repository.TaskStatsRepository;
+import java.time.LocalDateTime;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Приблизительное количество задач для списка по свёрнутым счётчикам статистики: запрос читает
+ * по строке сводной таблицы на день окна и статус, а не задачи. Оценка отстаёт от базы на интервал
+ * свёртки приращений и учитывает крайние дни окна целиком; точное количество считается только по запросу
+ * клиента (TaskTotalMode.EXACT).
+ */
+@Component
+@RequiredArgsConstructor
+public class TaskCountEstimator {
+
+    private final TaskStatsRepository taskStatsRepository;
+
+    public long estimate(Boolean completed, LocalDateTime dateStart, LocalDateTime dateEnd) {
+        return taskStatsRepository.sumCounts(completed, dateStart.toLocalDate(), dateEnd.toLocalDate());
+    }
+
+}
@@ -0,0 +1,146 @@
+package com.example.service;
+
+import com.example.dto.NewTaskDto;
+import com.example.dto.TaskDto;
+import com.example.dto.TaskImportResult;
+import com.fasterxml.jackson.core.JacksonException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+
+/**
+ * Импорт задач из NDJSON: входной поток читается построчно, каждая строка проверяется ограничениями
+ * {@link NewTaskDto}, задачи сохраняются пакетами фиксированного размера, результат по каждой строке
+ * отдаётся потребителю сразу после фиксации её пакета. В памяти находится не больше одного пакета.
+ */
+@Component
+@Slf4j
+public class TaskImporter {
+
+    private final TaskService taskService;
+    private final ObjectReader newTaskReader;
+    private final Validator validator;
+    private final int batchSize;
+    private final int maxLineLength;
+
+    public TaskImporter(TaskService taskService, ObjectMapper objectMapper, Validator validator,
+                        @Value("${task.import.batch-size:500}") int batchSize,
+                        @Value("${task.import.max-line-length:16384}") int maxLineLength) {
+        this.taskService = taskService;
+        this.newTaskReader = objectMapper.readerFor(NewTaskDto.class);
+        this.validator = validator;
+        this.batchSize = batchSize;
+        this.maxLineLength = maxLineLength;
+    }
+
+    public void importTasks(Reader reader, Consumer<TaskImportResult> consumer) throws IOException {
+        Batch batch = new Batch();
+        StringBuilder line = new StringBuilder();
+        long lineNumber = 0;
+        boolean endOfInput = false;
+        while (!endOfInput) {
+            line.setLength(0);
+            boolean tooLong = false;
+            int ch;
+            while ((ch = reader.read()) != -1 && ch != '\n') {
+                if (line.length() < maxLineLength) {
+                    line.append((char) ch);
+                } else {
+                    tooLong = true;
+                }
+            }
+            endOfInput = ch == -1;
+            if (endOfInput && line.isEmpty()) break;
+            lineNumber++;
+
+            if (tooLong) {
+                batch.reject(lineNumber, List.of("Строка длиннее " + maxLineLength + " символов."));
+            } else if (!line.toString().isBlank()) {
+                parse(lineNumber, line.toString(), batch);
+            }
+            if (batch.size() >= batchSize) batch.flush(consumer);
+        }
+        batch.flush(consumer);
+    }
+
+    private void parse(long lineNumber, String line, Batch batch) {
+        NewTaskDto newTaskDto;
+        try {
+            newTaskDto = newTaskReader.readValue(line);
+        } catch (JacksonException e) {
+            batch.reject(lineNumber, List.of("Некорректный JSON: " + e.getOriginalMessage()));
+            return;
+        }
+        List<String> errors = validator.validate(newTaskDto).stream()
+                .map(TaskImporter::toErrorMessage)
+                .sorted()
+                .toList();
+        if (errors.isEmpty()) {
+            batch.accept(lineNumber, newTaskDto);
+        } else {
+            batch.reject(lineNumber, errors);
+        }
+    }
+
+    private static String toErrorMessage(ConstraintViolation<NewTaskDto> violation) {
+        return "Field: " + violation.getPropertyPath() + ". Error: " + violation.getMessage() +
+                " Value: " + violation.getInvalidValue();
+    }
+
+    /**
+     * Строки текущего пакета в порядке поступления; валидные задачи сохраняются одной транзакцией.
+     */
+    private class Batch {
+
+        private final List<TaskImportResult> results = new ArrayList<>();
+        private final List<TaskImportResult> pending = new ArrayList<>();
+        private final List<NewTaskDto> newTaskDtos = new ArrayList<>();
+
+        void accept(long lineNumber, NewTaskDto newTaskDto) {
+            TaskImportResult result = new TaskImportResult(lineNumber, TaskImportResult.Status.CREATED, null, null);
+            results.add(result);
+            pending.add(result);
+            newTaskDtos.add(newTaskDto);
+        }
+
+        void reject(long lineNumber, List<String> errors) {
+            results.add(new TaskImportResult(lineNumber, TaskImportResult.Status.INVALID, null, errors));
+        }
+
+        int size() {
+            return results.size();
+        }
+
+        void flush(Consumer<TaskImportResult> consumer) {
+            if (!newTaskDtos.isEmpty()) {
+                try {
+                    List<TaskDto> saved = taskService.saveTasks(newTaskDtos);
+                    for (int i = 0; i < pending.size(); i++) {
+                        pending.get(i).setId(saved.get(i).getId());
+                    }
+                } catch (RuntimeException e) {
+                    log.warn("Не сохранён пакет импорта из {} задач: {}.", newTaskDtos.size(), e.getMessage());
+                    pending.forEach(result -> {
+                        result.setStatus(TaskImportResult.Status.FAILED);
+                        result.setErrors(List.of(String.valueOf(e.getMessage())));
+                    });
+                }
+            }
+            results.forEach(consumer);
+            results.clear();
+            pending.clear();
+            newTaskDtos.clear();
+        }
+
+    }
+
+}
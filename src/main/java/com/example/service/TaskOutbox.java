@@ -0,0 +1,70 @@
+package com.example.service;
+
+import com.example.dto.TaskDto;
+import com.example.model.TaskChange;
+import com.example.repository.TaskChangeRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Запись изменений задач в outbox; вызывается только внутри транзакции изменения,
+ * поэтому запись в ленте появляется тогда и только тогда, когда зафиксировано само изменение.
+ */
+@Component
+@Transactional(propagation = Propagation.MANDATORY)
+@RequiredArgsConstructor
+public class TaskOutbox {
+
+    private final TaskChangeRepository taskChangeRepository;
+    private final ObjectMapper objectMapper;
+
+    public void append(TaskChange.Type type, TaskDto taskDto) {
+        taskChangeRepository.save(toTaskChange(type, taskDto));
+    }
+
+    public void appendAll(TaskChange.Type type, Collection<TaskDto> taskDtos) {
+        taskChangeRepository.saveAll(taskDtos.stream().map(taskDto -> toTaskChange(type, taskDto)).toList());
+    }
+
+    public void appendDeleted(Collection<Long> taskIds) {
+        appendWithoutPayload(TaskChange.Type.DELETED, taskIds);
+    }
+
+    public void appendArchived(Collection<Long> taskIds) {
+        appendWithoutPayload(TaskChange.Type.ARCHIVED, taskIds);
+    }
+
+    private void appendWithoutPayload(TaskChange.Type type, Collection<Long> taskIds) {
+        LocalDateTime now = LocalDateTime.now();
+        List<TaskChange> taskChanges = taskIds.stream().map(taskId -> {
+            TaskChange taskChange = new TaskChange();
+            taskChange.setType(type);
+            taskChange.setTaskId(taskId);
+            taskChange.setCreatedAt(now);
+            return taskChange;
+        }).toList();
+        taskChangeRepository.saveAll(taskChanges);
+    }
+
+    private TaskChange toTaskChange(TaskChange.Type type, TaskDto taskDto) {
+        TaskChange taskChange = new TaskChange();
+        taskChange.setType(type);
+        taskChange.setTaskId(taskDto.getId());
+        taskChange.setTaskVersion(taskDto.getVersion());
+        taskChange.setCreatedAt(LocalDateTime.now());
+        try {
+            taskChange.setPayload(objectMapper.writeValueAsString(taskDto));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Задача с id = " + taskDto.getId() + " не сериализована.", e);
+        }
+        return taskChange;
+    }
+
+}
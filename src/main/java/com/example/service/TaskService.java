@@ -1,21 +1,66 @@
 package com.example.service;
 
+import com.example.dto.TaskCursorPage;
 import com.example.dto.TaskDto;
+import com.example.dto.TaskStatsDto;
 import com.example.dto.NewTaskDto;
+import com.example.dto.TaskTotalMode;
 import com.example.dto.UpdateTaskDto;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 
 public interface TaskService {
 
     TaskDto getTaskById(Long taskId);
 
+    Long getTaskVersion(Long taskId);
+
+    String getAllTasksEtag(
+            Boolean completed, LocalDateTime dateStart, LocalDateTime dateEnd, Integer from, Integer size);
+
     Page<TaskDto> getAllTasks(Boolean completed, LocalDateTime dateStart, LocalDateTime dateEnd, Integer from, Integer size);
 
+    Slice<TaskDto> getTasksSlice(
+            Boolean completed, LocalDateTime dateStart, LocalDateTime dateEnd, Integer from, Integer size);
+
+    Page<TaskDto> getAllTasksWithEstimatedTotal(
+            Boolean completed, LocalDateTime dateStart, LocalDateTime dateEnd, Integer from, Integer size);
+
+    Slice<Map<String, Object>> getAllTasksFields(Boolean completed, LocalDateTime dateStart, LocalDateTime dateEnd,
+                                                 Integer from, Integer size, List<String> fields, TaskTotalMode total);
+
+    Slice<TaskDto> getAllTasksWithArchive(Boolean completed, LocalDateTime dateStart, LocalDateTime dateEnd,
+                                          Integer from, Integer size, TaskTotalMode total);
+
+    Slice<Map<String, Object>> getAllTasksFieldsWithArchive(Boolean completed, LocalDateTime dateStart,
+                                                            LocalDateTime dateEnd, Integer from, Integer size,
+                                                            List<String> fields, TaskTotalMode total);
+
+    TaskCursorPage getAllTasksAfter(
+            Boolean completed, LocalDateTime dateStart, LocalDateTime dateEnd, String after, Integer size);
+
+    void exportTasks(
+            Boolean completed, LocalDateTime dateStart, LocalDateTime dateEnd, Consumer<TaskDto> consumer);
+
+    TaskStatsDto getTaskStats(LocalDate dayStart, LocalDate dayEnd);
+
     TaskDto saveTask(NewTaskDto newTaskDto);
 
     TaskDto updateTask(Long taskId, UpdateTaskDto updateTaskDto);
 
+    TaskDto updateTaskIfMatch(Long taskId, UpdateTaskDto updateTaskDto, Long version);
+
     void deleteTaskById(Long taskId);
 
+    List<TaskDto> saveTasks(List<NewTaskDto> newTaskDtos);
+
+    List<TaskDto> updateTasks(List<UpdateTaskDto> updateTaskDtos);
+
+    void deleteTasksByIds(List<Long> taskIds);
+
 }
\ No newline at end of file
@@ -1,64 +1,465 @@
 package com.example.service;
 
+import com.example.audit.TaskAuditEvent;
+import com.example.audit.TaskAuditSink;
+import com.example.dto.TaskCursorPage;
+import com.example.dto.TaskDayStatsDto;
 import com.example.dto.TaskDto;
 import com.example.dto.NewTaskDto;
+import com.example.dto.TaskStatsDto;
+import com.example.dto.TaskTotalMode;
 import com.example.dto.UpdateTaskDto;
+import com.example.exception.BadRequestException;
+import com.example.exception.ConflictException;
 import com.example.exception.NotFoundException;
 import com.example.mapper.TaskMapper;
 import com.example.model.Task;
+import com.example.model.TaskChange;
+import com.example.model.TaskStatsKey;
+import com.example.repository.TaskArchiveRepository;
 import com.example.repository.TaskRepository;
+import com.example.repository.TaskRow;
+import com.example.repository.TaskStatsCount;
+import com.example.repository.TaskStatsRepository;
+import com.example.repository.TaskStatsRow;
+import com.example.repository.TaskVersion;
+import com.example.util.TaskCursor;
+import com.example.util.TaskEtag;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.support.PageableExecutionUtils;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+
+import static com.example.config.CacheConfig.TASKS_CACHE;
+import static com.example.util.DateTimeConstant.PATTERN_FOR_DATETIME;
 
 @Service
 @Transactional
 @RequiredArgsConstructor
 public class TaskServiceImpl implements TaskService {
 
+    private static final List<String> TASK_FIELDS =
+            List.of("id", "title", "description", "dueDate", "completed", "version");
+    private static final int MAX_STATS_DAYS = 366;
+    private static final DateTimeFormatter DUE_DATE_FORMATTER = DateTimeFormatter.ofPattern(PATTERN_FOR_DATETIME);
 
     private final TaskRepository taskRepository;
     private final TaskMapper taskMapper;
+    private final TaskCountEstimator taskCountEstimator;
+    private final EntityManager entityManager;
+    private final TaskAuditSink taskAuditSink;
+    private final TaskOutbox taskOutbox;
+    private final TaskStatsRecorder taskStatsRecorder;
+    private final TaskStatsRepository taskStatsRepository;
+    private final TaskArchiveRepository taskArchiveRepository;
+    private final TaskCacheEvictor taskCacheEvictor;
 
-    @Transactional(readOnly = true)
+    @Transactional
+    @Cacheable(cacheNames = TASKS_CACHE, key = "#taskId", sync = true)
     @Override
     public TaskDto getTaskById(Long taskId) {
+        // Транзакция не только на чтение: задача загружается в общий кеш из основной БД. Строка из отстающей
+        // реплики осталась бы в кеше на весь его срок и скрыла бы от записавшего клиента его же изменение.
         return taskMapper.toTaskDto(returnTask(taskId));
     }
 
+    @Transactional(readOnly = true)
+    @Override
+    public Long getTaskVersion(Long taskId) {
+        return taskRepository.findVersionById(taskId)
+                .orElseThrow(() -> new NotFoundException("Задача с id = " + taskId + " не найдена."));
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public String getAllTasksEtag(
+            Boolean completed, LocalDateTime dateStart, LocalDateTime dateEnd, Integer from, Integer size) {
+        Pageable page = PageRequest.of(from, size, Sort.by(Sort.Direction.ASC, "id"));
+        dateStart = startOrDefault(dateStart);
+        dateEnd = endOrDefault(dateEnd);
+
+        Page<TaskVersion> versionsPage = taskRepository.findVersionsByParams(completed, dateStart, dateEnd, page);
+        return TaskEtag.ofPage(versionsPage, TaskVersion::getId, TaskVersion::getVersion);
+    }
+
     @Transactional(readOnly = true)
     @Override
     public Page<TaskDto> getAllTasks(
             Boolean completed, LocalDateTime dateStart, LocalDateTime dateEnd, Integer from, Integer size) {
         Pageable page = PageRequest.of(from, size, Sort.by(Sort.Direction.ASC, "id"));
-        if (dateStart == null) dateStart = LocalDateTime.now();
-        if (dateEnd == null) dateEnd = LocalDateTime.now().plusYears(100);
+        dateStart = startOrDefault(dateStart);
+        dateEnd = endOrDefault(dateEnd);
+
+        return taskRepository.findAllByParams(completed, dateStart, dateEnd, page);
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public Slice<TaskDto> getTasksSlice(
+            Boolean completed, LocalDateTime dateStart, LocalDateTime dateEnd, Integer from, Integer size) {
+        Pageable page = PageRequest.of(from, size, Sort.by(Sort.Direction.ASC, "id"));
+        dateStart = startOrDefault(dateStart);
+        dateEnd = endOrDefault(dateEnd);
+
+        return taskRepository.findSliceByParams(completed, dateStart, dateEnd, page);
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public Page<TaskDto> getAllTasksWithEstimatedTotal(
+            Boolean completed, LocalDateTime dateStart, LocalDateTime dateEnd, Integer from, Integer size) {
+        Pageable page = PageRequest.of(from, size, Sort.by(Sort.Direction.ASC, "id"));
+        LocalDateTime effectiveStart = startOrDefault(dateStart);
+        LocalDateTime effectiveEnd = endOrDefault(dateEnd);
+
+        Slice<TaskDto> tasksSlice = taskRepository.findSliceByParams(completed, effectiveStart, effectiveEnd, page);
+        return withEstimatedTotal(tasksSlice, completed, effectiveStart, effectiveEnd);
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public Slice<Map<String, Object>> getAllTasksFields(Boolean completed, LocalDateTime dateStart,
+                                                        LocalDateTime dateEnd, Integer from, Integer size,
+                                                        List<String> fields, TaskTotalMode total) {
+        List<String> selectedFields = selectFields(fields);
+        Pageable page = PageRequest.of(from, size, Sort.by(Sort.Direction.ASC, "id"));
+        LocalDateTime effectiveStart = startOrDefault(dateStart);
+        LocalDateTime effectiveEnd = endOrDefault(dateEnd);
 
-        Page<Task> tasksPage = taskRepository.findAllByParams(completed, dateStart, dateEnd, page);
-        return tasksPage.map(taskMapper::toTaskDto);
+        Slice<Map<String, Object>> tasksSlice = taskRepository.findFieldsByParams(
+                        selectedFields, completed, effectiveStart, effectiveEnd, page)
+                .map(tuple -> toFields(tuple, selectedFields));
+        return switch (total) {
+            case NONE -> tasksSlice;
+            case ESTIMATED -> withEstimatedTotal(tasksSlice, completed, effectiveStart, effectiveEnd);
+            case EXACT -> PageableExecutionUtils.getPage(tasksSlice.getContent(), page,
+                    () -> taskRepository.countByParams(completed, effectiveStart, effectiveEnd));
+        };
     }
 
+    @Transactional(readOnly = true)
+    @Override
+    public Slice<TaskDto> getAllTasksWithArchive(Boolean completed, LocalDateTime dateStart, LocalDateTime dateEnd,
+                                                 Integer from, Integer size, TaskTotalMode total) {
+        // В архиве только выполненные задачи: для невыполненных объединять с архивом нечего.
+        if (Boolean.FALSE.equals(completed)) {
+            return switch (total) {
+                case EXACT -> getAllTasks(completed, dateStart, dateEnd, from, size);
+                case NONE -> getTasksSlice(completed, dateStart, dateEnd, from, size);
+                case ESTIMATED -> getAllTasksWithEstimatedTotal(completed, dateStart, dateEnd, from, size);
+            };
+        }
+        Pageable page = PageRequest.of(from, size, Sort.by(Sort.Direction.ASC, "id"));
+        LocalDateTime effectiveStart = startOrDefault(dateStart);
+        LocalDateTime effectiveEnd = endOrDefault(dateEnd);
+        boolean onlyCompleted = Boolean.TRUE.equals(completed);
+
+        int limit = total == TaskTotalMode.NONE ? size + 1 : size;
+        List<TaskDto> tasks = taskArchiveRepository.findAllWithArchive(onlyCompleted, effectiveStart, effectiveEnd,
+                        page.getOffset() + limit, page.getOffset(), limit).stream()
+                .map(TaskServiceImpl::toTaskDto)
+                .toList();
+        if (total == TaskTotalMode.NONE) {
+            boolean hasNext = tasks.size() > size;
+            return new SliceImpl<>(hasNext ? tasks.subList(0, size) : tasks, page, hasNext);
+        }
+        // Оценки числа задач в архиве нет: при ESTIMATED количество считается точно.
+        return PageableExecutionUtils.getPage(tasks, page,
+                () -> taskArchiveRepository.countWithArchive(onlyCompleted, effectiveStart, effectiveEnd));
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public Slice<Map<String, Object>> getAllTasksFieldsWithArchive(Boolean completed, LocalDateTime dateStart,
+                                                                   LocalDateTime dateEnd, Integer from, Integer size,
+                                                                   List<String> fields, TaskTotalMode total) {
+        List<String> selectedFields = selectFields(fields);
+        return getAllTasksWithArchive(completed, dateStart, dateEnd, from, size, total)
+                .map(taskDto -> toFields(taskDto, selectedFields));
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public TaskCursorPage getAllTasksAfter(
+            Boolean completed, LocalDateTime dateStart, LocalDateTime dateEnd, String after, Integer size) {
+        Long afterId = TaskCursor.decode(after);
+        dateStart = startOrDefault(dateStart);
+        dateEnd = endOrDefault(dateEnd);
+
+        // Запрашиваем на одну задачу больше, чтобы узнать, есть ли следующая страница, без count-запроса.
+        List<TaskDto> tasks = taskRepository.findAllByParamsAfter(
+                completed, dateStart, dateEnd, afterId, Limit.of(size + 1));
+        boolean hasNext = tasks.size() > size;
+        if (hasNext) tasks = tasks.subList(0, size);
+
+        TaskCursorPage cursorPage = new TaskCursorPage();
+        cursorPage.setContent(tasks);
+        cursorPage.setSize(size);
+        cursorPage.setNextCursor(hasNext ? TaskCursor.encode(tasks.get(size - 1).getId()) : null);
+        return cursorPage;
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public void exportTasks(
+            Boolean completed, LocalDateTime dateStart, LocalDateTime dateEnd, Consumer<TaskDto> consumer) {
+        dateStart = startOrDefault(dateStart);
+        dateEnd = endOrDefault(dateEnd);
+
+        // Задачи читаются курсором порциями по fetch size и сразу отсоединяются, чтобы контекст не рос.
+        try (Stream<Task> tasks = taskRepository.streamAllByParams(completed, dateStart, dateEnd)) {
+            tasks.forEach(task -> {
+                consumer.accept(taskMapper.toTaskDto(task));
+                entityManager.detach(task);
+            });
+        }
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public TaskStatsDto getTaskStats(LocalDate dayStart, LocalDate dayEnd) {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDate today = now.toLocalDate();
+        if (dayStart == null) dayStart = today;
+        if (dayEnd == null) dayEnd = dayStart.plusDays(6);
+        if (dayEnd.isBefore(dayStart) || ChronoUnit.DAYS.between(dayStart, dayEnd) >= MAX_STATS_DAYS) {
+            throw new BadRequestException("Интервал статистики должен содержать от 1 до " + MAX_STATS_DAYS +
+                    " дней.");
+        }
+
+        // Счётчики читаются из сводной таблицы: запрос не зависит от количества задач, только от числа дней.
+        long open = 0;
+        long completed = 0;
+        long overdue = 0;
+        Map<LocalDate, TaskDayStatsDto> days = new LinkedHashMap<>();
+        for (TaskStatsCount count : taskStatsRepository.findCounts()) {
+            LocalDate day = count.getDueDay();
+            long tasks = count.getCount();
+            if (count.getCompleted()) {
+                completed += tasks;
+            } else {
+                open += tasks;
+                if (day.isBefore(today)) overdue += tasks;
+            }
+            if (!day.isBefore(dayStart) && !day.isAfter(dayEnd) && tasks != 0) {
+                TaskDayStatsDto dayStats = days.computeIfAbsent(day, key -> new TaskDayStatsDto(key, 0L, 0L));
+                if (count.getCompleted()) {
+                    dayStats.setCompleted(tasks);
+                } else {
+                    dayStats.setOpen(tasks);
+                }
+            }
+        }
+        // Сводная таблица хранит дни, поэтому задачи, просроченные сегодня, досчитываются по индексу срока.
+        overdue += taskRepository.countOpenByDueDate(today.atStartOfDay(), now);
+        return new TaskStatsDto(open + completed, open, completed, overdue, List.copyOf(days.values()));
+    }
+
+    @CachePut(cacheNames = TASKS_CACHE, key = "#result.id")
     @Override
     public TaskDto saveTask(NewTaskDto newTaskDto) {
         Task task = taskRepository.save(taskMapper.toTaskFromNewTaskDto(newTaskDto));
-        return taskMapper.toTaskDto(task);
+        TaskDto taskDto = taskMapper.toTaskDto(task);
+        taskOutbox.append(TaskChange.Type.CREATED, taskDto);
+        taskStatsRecorder.record(List.of(), List.of(TaskStatsKey.of(task.getDueDate(), task.getCompleted())));
+        return taskDto;
     }
 
+    @CacheEvict(cacheNames = TASKS_CACHE, key = "#taskId")
     @Override
     public TaskDto updateTask(Long taskId, UpdateTaskDto updateTaskDto) {
         Task task = returnTask(taskId);
-        task = taskMapper.toTaskFromUpdateTaskDto(task, updateTaskDto);
-        return taskMapper.toTaskDto(task);
+        TaskStatsKey before = TaskStatsKey.of(task.getDueDate(), task.getCompleted());
+        taskMapper.updateTaskFromUpdateTaskDto(updateTaskDto, task);
+        // Версия увеличивается при flush, поэтому в ответ попадает уже сохранённое состояние.
+        taskRepository.flush();
+        TaskDto taskDto = taskMapper.toTaskDto(task);
+        taskOutbox.append(TaskChange.Type.UPDATED, taskDto);
+        taskStatsRecorder.record(List.of(before), List.of(TaskStatsKey.of(task.getDueDate(), task.getCompleted())));
+        return taskDto;
+    }
+
+    @CacheEvict(cacheNames = TASKS_CACHE, key = "#taskId")
+    @Override
+    public TaskDto updateTaskIfMatch(Long taskId, UpdateTaskDto updateTaskDto, Long version) {
+        // Один запрос: UPDATE с проверкой версии возвращает состояние задачи до изменения. Из него берутся
+        // прежняя ячейка статистики, а применением полей запроса по тем же правилам coalesce - новое состояние
+        // для ответа и ленты изменений.
+        TaskDto taskDto = taskRepository.updateByIdAndVersion(taskId, version, updateTaskDto.getTitle(),
+                        updateTaskDto.getDescription(), updateTaskDto.getDueDate(), updateTaskDto.getCompleted())
+                .orElseThrow(() -> versionConflict(taskId, version));
+        taskCacheEvictor.evictEntities(List.of(taskId));
+        TaskStatsKey before = TaskStatsKey.of(taskDto.getDueDate(), taskDto.getCompleted());
+        taskMapper.updateTaskDtoFromUpdateTaskDto(updateTaskDto, taskDto);
+        taskDto.setVersion(version + 1);
+        // UPDATE мимо сущности не вызывает её слушатель, поэтому событие аудита публикуется здесь.
+        taskAuditSink.publish(TaskAuditEvent.Type.UPDATED, taskId, version + 1);
+        taskOutbox.append(TaskChange.Type.UPDATED, taskDto);
+        TaskStatsKey after = TaskStatsKey.of(taskDto.getDueDate(), taskDto.getCompleted());
+        if (!before.equals(after)) {
+            taskStatsRecorder.record(List.of(before), List.of(after));
+        }
+        return taskDto;
     }
 
+    @CacheEvict(cacheNames = TASKS_CACHE, key = "#taskId")
     @Override
     public void deleteTaskById(Long taskId) {
-        taskRepository.deleteById(taskId);
+        // Удаление по загруженной сущности проверяет версию: параллельное удаление не уменьшит счётчики дважды.
+        taskRepository.findById(taskId).ifPresent(task -> {
+            taskRepository.delete(task);
+            taskStatsRecorder.record(List.of(TaskStatsKey.of(task.getDueDate(), task.getCompleted())), List.of());
+            taskOutbox.appendDeleted(List.of(taskId));
+        });
+    }
+
+    @Override
+    public List<TaskDto> saveTasks(List<NewTaskDto> newTaskDtos) {
+        List<Task> tasks = taskRepository.saveAll(taskMapper.convertNewTaskDtoListToTaskList(newTaskDtos));
+        List<TaskDto> taskDtos = taskMapper.convertTaskListToTaskDtoList(tasks);
+        taskOutbox.appendAll(TaskChange.Type.CREATED, taskDtos);
+        taskStatsRecorder.record(List.of(), statsKeys(tasks));
+        return taskDtos;
+    }
+
+    @CacheEvict(cacheNames = TASKS_CACHE, allEntries = true)
+    @Override
+    public List<TaskDto> updateTasks(List<UpdateTaskDto> updateTaskDtos) {
+        if (updateTaskDtos.stream().map(UpdateTaskDto::getId).anyMatch(Objects::isNull)) {
+            throw new BadRequestException("Для пакетного обновления у каждой задачи должен быть указан id.");
+        }
+        List<Long> taskIds = updateTaskDtos.stream().map(UpdateTaskDto::getId).distinct().toList();
+        Map<Long, Task> tasks = taskRepository.findAllById(taskIds).stream()
+                .collect(Collectors.toMap(Task::getId, Function.identity()));
+        List<Long> notFoundIds = taskIds.stream().filter(taskId -> !tasks.containsKey(taskId)).toList();
+        if (!notFoundIds.isEmpty()) {
+            throw new NotFoundException("Задачи с id = " + notFoundIds + " не найдены.");
+        }
+
+        // Изменения применяются к управляемым сущностям и уходят в базу пакетами JDBC при flush;
+        // flush до маппинга нужен, чтобы в ответ и в ленту изменений попали увеличенные версии.
+        List<Task> updatedTasks = taskIds.stream().map(tasks::get).toList();
+        List<TaskStatsKey> before = statsKeys(updatedTasks);
+        updateTaskDtos.forEach(updateTaskDto ->
+                taskMapper.updateTaskFromUpdateTaskDto(updateTaskDto, tasks.get(updateTaskDto.getId())));
+        taskRepository.flush();
+        taskOutbox.appendAll(TaskChange.Type.UPDATED, taskMapper.convertTaskListToTaskDtoList(updatedTasks));
+        taskStatsRecorder.record(before, statsKeys(updatedTasks));
+        return updateTaskDtos.stream()
+                .map(updateTaskDto -> taskMapper.toTaskDto(tasks.get(updateTaskDto.getId())))
+                .toList();
+    }
+
+    @CacheEvict(cacheNames = TASKS_CACHE, allEntries = true)
+    @Override
+    public void deleteTasksByIds(List<Long> taskIds) {
+        // Статистика, аудит и лента получают только задачи, которые были и удалены этим вызовом.
+        List<TaskStatsRow> rows = taskRepository.findStatsRowsByIdIn(taskIds);
+        if (rows.isEmpty()) {
+            return;
+        }
+        List<Long> deletedIds = rows.stream().map(TaskStatsRow::getId).toList();
+        taskRepository.deleteByIdIn(deletedIds);
+        taskCacheEvictor.evictEntities(deletedIds);
+        taskStatsRecorder.record(rows.stream()
+                .map(row -> TaskStatsKey.of(row.getDueDate(), row.getCompleted()))
+                .toList(), List.of());
+        deletedIds.forEach(taskId -> taskAuditSink.publish(TaskAuditEvent.Type.DELETED, taskId, null));
+        taskOutbox.appendDeleted(deletedIds);
+    }
+
+    // Окно по умолчанию отсчитывается от начала текущей минуты: одинаковые запросы в течение минуты получают
+    // одинаковые параметры и попадают в кеш запросов списков.
+    private static LocalDateTime startOrDefault(LocalDateTime dateStart) {
+        return dateStart != null ? dateStart : LocalDateTime.now().truncatedTo(ChronoUnit.MINUTES);
+    }
+
+    private static LocalDateTime endOrDefault(LocalDateTime dateEnd) {
+        return dateEnd != null ? dateEnd : LocalDateTime.now().truncatedTo(ChronoUnit.MINUTES).plusYears(100);
+    }
+
+    private <T> Page<T> withEstimatedTotal(Slice<T> tasksSlice, Boolean completed, LocalDateTime dateStart,
+                                           LocalDateTime dateEnd) {
+        long total = taskCountEstimator.estimate(completed, dateStart, dateEnd);
+        // Отстающая оценка не должна противоречить фактически прочитанной странице.
+        long lowerBound = tasksSlice.getPageable().getOffset() + tasksSlice.getNumberOfElements() +
+                (tasksSlice.hasNext() ? 1 : 0);
+        return new PageImpl<>(tasksSlice.getContent(), tasksSlice.getPageable(), Math.max(total, lowerBound));
+    }
+
+    private static List<String> selectFields(List<String> fields) {
+        List<String> unknownFields = fields.stream().filter(field -> !TASK_FIELDS.contains(field)).toList();
+        if (!unknownFields.isEmpty()) {
+            throw new BadRequestException("Неизвестные поля задачи: " + unknownFields + ". Допустимые поля: " +
+                    TASK_FIELDS + ".");
+        }
+        return TASK_FIELDS.stream().filter(fields::contains).toList();
+    }
+
+    private static Map<String, Object> toFields(TaskDto taskDto, List<String> fields) {
+        Map<String, Object> taskFields = new LinkedHashMap<>();
+        for (String field : fields) {
+            taskFields.put(field, switch (field) {
+                case "id" -> taskDto.getId();
+                case "title" -> taskDto.getTitle();
+                case "description" -> taskDto.getDescription();
+                case "dueDate" -> DUE_DATE_FORMATTER.format(taskDto.getDueDate());
+                case "completed" -> taskDto.getCompleted();
+                case "version" -> taskDto.getVersion();
+                default -> throw new IllegalArgumentException("Неизвестное поле задачи: " + field + ".");
+            });
+        }
+        return taskFields;
+    }
+
+    private static TaskDto toTaskDto(TaskRow row) {
+        return new TaskDto(row.getId(), row.getTitle(), row.getDescription(), row.getDueDate(), row.getCompleted(),
+                row.getVersion());
+    }
+
+    private static Map<String, Object> toFields(Tuple tuple, List<String> fields) {
+        Map<String, Object> taskFields = new LinkedHashMap<>();
+        for (String field : fields) {
+            Object value = tuple.get(field);
+            // Срок выполнения отдаётся в том же формате, что и в TaskDto.
+            taskFields.put(field, value instanceof LocalDateTime dateTime ? DUE_DATE_FORMATTER.format(dateTime) : value);
+        }
+        return taskFields;
+    }
+
+    private ConflictException versionConflict(Long taskId, Long version) {
+        Long actualVersion = getTaskVersion(taskId);
+        return new ConflictException("Задача с id = " + taskId + " изменена: ожидалась версия " + version +
+                ", текущая версия " + actualVersion + ".");
+    }
+
+    private static List<TaskStatsKey> statsKeys(List<Task> tasks) {
+        return tasks.stream().map(task -> TaskStatsKey.of(task.getDueDate(), task.getCompleted())).toList();
     }
 
     private Task returnTask(Long taskId) {
@@ -0,0 +1,95 @@
+package com.example.service;
+
+import com.example.lease.TaskLeaseService;
+import com.example.lease.TaskShardLease;
+import com.example.model.TaskStats;
+import com.example.model.TaskStatsDelta;
+import com.example.model.TaskStatsKey;
+import com.example.repository.TaskStatsDeltaRepository;
+import com.example.repository.TaskStatsRepository;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Свёртка приращений статистики задач в сводную таблицу. Приращения пачки блокируются на запись,
+ * поэтому параллельная свёртка дождётся фиксации и не применит их повторно. Свёртку запускает только узел,
+ * арендовавший работу task-stats-compactor, чтобы узлы не ждали блокировок одних и тех же приращений.
+ */
+@Component
+@Slf4j
+public class TaskStatsCompactor {
+
+    private final TaskStatsRepository taskStatsRepository;
+    private final TaskStatsDeltaRepository taskStatsDeltaRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final TaskShardLease lease;
+
+    public TaskStatsCompactor(
+            TaskStatsRepository taskStatsRepository,
+            TaskStatsDeltaRepository taskStatsDeltaRepository,
+            PlatformTransactionManager transactionManager,
+            TaskLeaseService taskLeaseService,
+            @Value("${task.stats.batch-size:1000}") int batchSize) {
+        this.taskStatsRepository = taskStatsRepository;
+        this.taskStatsDeltaRepository = taskStatsDeltaRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.lease = taskLeaseService.register("task-stats-compactor", 1);
+    }
+
+    /**
+     * Свернуть все накопившиеся приращения.
+     */
+    @Scheduled(fixedDelayString = "${task.stats.compact-interval:PT1S}")
+    public void compact() {
+        if (!lease.isHeld()) return;
+        Integer folded;
+        do {
+            try {
+                folded = transactionTemplate.execute(status -> fold());
+            } catch (DataIntegrityViolationException e) {
+                // Строку ячейки одновременно добавила параллельная свёртка: пачка будет перечитана при следующем запуске.
+                log.warn("Приращения статистики задач не свёрнуты: {}.", e.getMessage());
+                return;
+            }
+        } while (folded == batchSize);
+    }
+
+    private int fold() {
+        List<TaskStatsDelta> taskStatsDeltas = taskStatsDeltaRepository.findByOrderByIdAsc(Limit.of(batchSize));
+        if (taskStatsDeltas.isEmpty()) return 0;
+        Map<TaskStatsKey, Long> deltas = new TreeMap<>();
+        taskStatsDeltas.forEach(taskStatsDelta -> deltas.merge(
+                new TaskStatsKey(taskStatsDelta.getDueDay(), taskStatsDelta.isCompleted()),
+                taskStatsDelta.getDelta(), Long::sum));
+
+        Map<TaskStatsKey, TaskStats> rows = taskStatsRepository.findAllById(deltas.keySet()).stream()
+                .collect(Collectors.toMap(TaskStats::getKey, Function.identity()));
+        deltas.forEach((key, delta) -> {
+            TaskStats row = rows.get(key);
+            if (row == null) {
+                if (delta != 0) taskStatsRepository.save(new TaskStats(key, delta));
+            } else if (row.getCount() + delta == 0) {
+                // Пустые ячейки удаляются, чтобы сводная таблица не росла с каждым прошедшим днём.
+                taskStatsRepository.delete(row);
+            } else {
+                row.setCount(row.getCount() + delta);
+            }
+        });
+        taskStatsDeltaRepository.deleteAllByIdInBatch(taskStatsDeltas.stream().map(TaskStatsDelta::getId).toList());
+        return taskStatsDeltas.size();
+    }
+
+}
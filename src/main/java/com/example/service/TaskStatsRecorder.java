@@ -0,0 +1,47 @@
+package com.example.service;
+
+import com.example.model.TaskStatsDelta;
+import com.example.model.TaskStatsKey;
+import com.example.repository.TaskStatsDeltaRepository;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Запись приращений статистики задач; как и {@link TaskOutbox}, вызывается только внутри транзакции
+ * изменения, поэтому статистика меняется тогда и только тогда, когда зафиксировано само изменение.
+ */
+@Component
+@Transactional(propagation = Propagation.MANDATORY)
+@RequiredArgsConstructor
+public class TaskStatsRecorder {
+
+    private final TaskStatsDeltaRepository taskStatsDeltaRepository;
+
+    /**
+     * Учесть переход задач из ячеек removed в ячейки added. На каждую затронутую ячейку пишется
+     * одно приращение, встречные изменения одной ячейки взаимно сокращаются.
+     */
+    public void record(Collection<TaskStatsKey> removed, Collection<TaskStatsKey> added) {
+        Map<TaskStatsKey, Long> deltas = new TreeMap<>();
+        removed.forEach(key -> deltas.merge(key, -1L, Long::sum));
+        added.forEach(key -> deltas.merge(key, 1L, Long::sum));
+        List<TaskStatsDelta> taskStatsDeltas = deltas.entrySet().stream()
+                .filter(entry -> entry.getValue() != 0)
+                .map(entry -> {
+                    TaskStatsDelta taskStatsDelta = new TaskStatsDelta();
+                    taskStatsDelta.setDueDay(entry.getKey().getDueDay());
+                    taskStatsDelta.setCompleted(entry.getKey().isCompleted());
+                    taskStatsDelta.setDelta(entry.getValue());
+                    return taskStatsDelta;
+                })
+                .toList();
+        if (!taskStatsDeltas.isEmpty()) taskStatsDeltaRepository.saveAll(taskStatsDeltas);
+    }
+
+}
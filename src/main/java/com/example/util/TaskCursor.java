@@ -0,0 +1,31 @@
+package com.example.util;
+
+import com.example.exception.BadRequestException;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+public class TaskCursor {
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    /**
+     * Закодировать id последней задачи страницы в непрозрачный курсор.
+     */
+    public static String encode(Long lastId) {
+        return ENCODER.encodeToString(String.valueOf(lastId).getBytes(StandardCharsets.US_ASCII));
+    }
+
+    /**
+     * Раскодировать курсор в id, после которого начинается страница; пустой курсор - начало списка.
+     */
+    public static Long decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) return 0L;
+        try {
+            return Long.parseLong(new String(DECODER.decode(cursor), StandardCharsets.US_ASCII));
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Некорректный курсор: " + cursor + ".");
+        }
+    }
+
+}
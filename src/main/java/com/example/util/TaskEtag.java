@@ -0,0 +1,50 @@
+package com.example.util;
+
+import com.example.exception.BadRequestException;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Function;
+import org.springframework.data.domain.Page;
+import org.springframework.util.DigestUtils;
+
+public class TaskEtag {
+
+    /**
+     * Сильный ETag задачи по её версии; null, если версия неизвестна.
+     */
+    public static String of(Long version) {
+        return version == null ? null : "\"" + version + "\"";
+    }
+
+    /**
+     * Получить версию задачи из заголовка If-Match; null для «*» - подойдёт любая версия.
+     */
+    public static Long parse(String eTag) {
+        String value = eTag.trim();
+        if (value.equals("*")) return null;
+        if (value.length() > 2 && value.startsWith("\"") && value.endsWith("\"")) {
+            try {
+                return Long.parseLong(value.substring(1, value.length() - 1));
+            } catch (NumberFormatException e) {
+                // ниже - общая ошибка формата
+            }
+        }
+        throw new BadRequestException("Некорректный ETag: " + eTag + ".");
+    }
+
+    /**
+     * Слабый ETag страницы задач: хеш номера и размера страницы, общего количества
+     * и пар id:версия в порядке выдачи. Не зависит от сериализованного тела ответа, поэтому слабый:
+     * ответы с сильным ETag Tomcat не сжимает.
+     */
+    public static <T> String ofPage(Page<T> page, Function<T, Long> id, Function<T, Long> version) {
+        StringBuilder sb = new StringBuilder()
+                .append(page.getNumber()).append(':')
+                .append(page.getSize()).append(':')
+                .append(page.getTotalElements());
+        for (T element : page.getContent()) {
+            sb.append(';').append(id.apply(element)).append(':').append(version.apply(element));
+        }
+        return "W/\"" + DigestUtils.md5DigestAsHex(sb.toString().getBytes(StandardCharsets.US_ASCII)) + "\"";
+    }
+
+}
@@ -0,0 +1,3 @@
+create index idx_tasks_due_date_id on tasks (tasks_due_date, tasks_id);
+
+create index idx_tasks_completed_due_date_id on tasks (tasks_completed, tasks_due_date, tasks_id);
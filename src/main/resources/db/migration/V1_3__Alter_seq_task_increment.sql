@@ -0,0 +1 @@
+alter sequence SEQ_TASK increment by 50;
@@ -0,0 +1 @@
+alter table tasks add column tasks_version BIGINT default 0 not null;
@@ -0,0 +1,15 @@
+create table task_changes
+(
+    task_changes_id           BIGINT primary key not null,
+    task_changes_seq          BIGINT,
+    task_changes_type         varchar(16)        not null,
+    task_changes_task_id      BIGINT             not null,
+    task_changes_task_version BIGINT,
+    task_changes_payload      varchar(4096),
+    task_changes_created_at   TIMESTAMP WITHOUT TIME ZONE not null
+);
+
+create sequence SEQ_TASK_CHANGE
+    start with 1 INCREMENT BY 50;
+
+create unique index idx_task_changes_seq on task_changes (task_changes_seq);
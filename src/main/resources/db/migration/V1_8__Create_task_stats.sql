@@ -0,0 +1,23 @@
+create table task_stats
+(
+    task_stats_due_day   DATE    not null,
+    task_stats_completed boolean not null,
+    task_stats_count     BIGINT  not null,
+    constraint pk_task_stats primary key (task_stats_due_day, task_stats_completed)
+);
+
+create table task_stats_deltas
+(
+    task_stats_deltas_id        BIGINT primary key not null,
+    task_stats_deltas_due_day   DATE    not null,
+    task_stats_deltas_completed boolean not null,
+    task_stats_deltas_delta     BIGINT  not null
+);
+
+create sequence SEQ_TASK_STATS_DELTA
+    start with 1 INCREMENT BY 50;
+
+insert into task_stats (task_stats_due_day, task_stats_completed, task_stats_count)
+select cast(tasks_due_date as date), coalesce(tasks_completed, false), count(*)
+from tasks
+group by cast(tasks_due_date as date), coalesce(tasks_completed, false);
@@ -0,0 +1,14 @@
+create table task_lease_nodes
+(
+    task_lease_nodes_id         varchar(128) primary key not null,
+    task_lease_nodes_expires_at TIMESTAMP WITHOUT TIME ZONE not null
+);
+
+create table task_leases
+(
+    task_leases_name       varchar(64) not null,
+    task_leases_shard      INTEGER     not null,
+    task_leases_owner      varchar(128),
+    task_leases_expires_at TIMESTAMP WITHOUT TIME ZONE,
+    constraint pk_task_leases primary key (task_leases_name, task_leases_shard)
+);
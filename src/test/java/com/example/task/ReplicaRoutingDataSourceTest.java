@@ -0,0 +1,131 @@
+package com.example.task;
+
+import com.example.datasource.ClientWrites;
+import com.example.datasource.ReplicaRoutingDataSource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.http.Cookie;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.Map;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ReplicaRoutingDataSourceTest {
+
+    private static final String LAG_QUERY = "select lag";
+
+    @Mock
+    private DataSource primary;
+
+    @Mock
+    private DataSource replica;
+
+    @Mock
+    private Connection primaryConnection;
+
+    @Mock
+    private Connection replicaConnection;
+
+    @Mock
+    private Statement statement;
+
+    @Mock
+    private ResultSet resultSet;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @AfterEach
+    public void resetRequest() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    @DisplayName("получено соединение, когда реплика отстаёт в пределах допустимого, то из реплики")
+    void getConnection_whenReplicaLagAllowed_thenReplica() throws SQLException {
+        ReplicaRoutingDataSource dataSource = routingDataSource(100);
+        when(replica.getConnection()).thenReturn(replicaConnection);
+
+        assertThat(dataSource.getConnection(), sameInstance(replicaConnection));
+        assertThat(reads("replica"), equalTo(1.0));
+    }
+
+    @Test
+    @DisplayName("получено соединение, когда реплика отстаёт больше допустимого, то из основной БД")
+    void getConnection_whenReplicaLagTooLarge_thenPrimary() throws SQLException {
+        ReplicaRoutingDataSource dataSource = routingDataSource(10_000);
+        when(primary.getConnection()).thenReturn(primaryConnection);
+
+        assertThat(dataSource.getConnection(), sameInstance(primaryConnection));
+        assertThat(reads("primary"), equalTo(1.0));
+    }
+
+    @Test
+    @DisplayName("получено соединение, когда клиент запроса только что записал, то из основной БД")
+    void getConnection_whenClientRecentlyWritten_thenPrimary() throws SQLException {
+        ReplicaRoutingDataSource dataSource = routingDataSource(100);
+        when(primary.getConnection()).thenReturn(primaryConnection);
+        bindRequest(System.currentTimeMillis());
+
+        assertThat(dataSource.getConnection(), sameInstance(primaryConnection));
+    }
+
+    @Test
+    @DisplayName("получено соединение, когда запись клиента старше окна и отставания реплики, то из реплики")
+    void getConnection_whenClientWriteWindowPassed_thenReplica() throws SQLException {
+        ReplicaRoutingDataSource dataSource = routingDataSource(100);
+        bindRequest(System.currentTimeMillis() - 2000);
+
+        assertThat(dataSource.getConnection(), sameInstance(replicaConnection));
+    }
+
+    @Test
+    @DisplayName("получено соединение, когда реплика недоступна, то из основной БД")
+    void getConnection_whenReplicaUnavailable_thenPrimary() throws SQLException {
+        when(replica.getConnection()).thenThrow(new SQLException("Connection refused"));
+        ReplicaRoutingDataSource dataSource = new ReplicaRoutingDataSource(primary, Map.of("replica", replica),
+                new SimpleMeterRegistry(), Duration.ofSeconds(5), Duration.ofSeconds(1), LAG_QUERY);
+        dataSource.afterPropertiesSet();
+        when(primary.getConnection()).thenReturn(primaryConnection);
+
+        assertThat(dataSource.getConnection(), sameInstance(primaryConnection));
+    }
+
+    private ReplicaRoutingDataSource routingDataSource(double lagMillis) throws SQLException {
+        when(replica.getConnection()).thenReturn(replicaConnection);
+        when(replicaConnection.createStatement()).thenReturn(statement);
+        when(statement.executeQuery(LAG_QUERY)).thenReturn(resultSet);
+        when(resultSet.getDouble(1)).thenReturn(lagMillis);
+        ReplicaRoutingDataSource dataSource = new ReplicaRoutingDataSource(primary, Map.of("replica", replica),
+                meterRegistry, Duration.ofSeconds(5), Duration.ofSeconds(1), LAG_QUERY);
+        dataSource.afterPropertiesSet();
+        return dataSource;
+    }
+
+    private void bindRequest(long lastWriteMillis) {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setCookies(new Cookie(ClientWrites.COOKIE, Long.toString(lastWriteMillis)));
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+    }
+
+    private double reads(String target) {
+        return meterRegistry.get("task.datasource.reads").tag("target", target).counter().count();
+    }
+
+}
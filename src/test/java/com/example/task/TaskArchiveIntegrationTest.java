@@ -0,0 +1,102 @@
+package com.example.task;
+
+import com.example.archive.TaskArchiver;
+import com.example.dto.NewTaskDto;
+import com.example.dto.TaskChangeDto;
+import com.example.dto.TaskDto;
+import com.example.dto.TaskTotalMode;
+import com.example.exception.NotFoundException;
+import com.example.model.TaskChange;
+import com.example.service.TaskChangeRelay;
+import com.example.service.TaskService;
+import java.time.LocalDateTime;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.not;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Архивация по расписанию отключена: пачки переносятся явным вызовом.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.MOCK,
+        properties = {"task.archive.interval=PT1H", "task.archive.age=P1D"})
+@ActiveProfiles("test")
+@RequiredArgsConstructor(onConstructor = @__(@Autowired))
+class TaskArchiveIntegrationTest {
+
+    private final TaskService taskService;
+    private final TaskArchiver taskArchiver;
+    private final TaskChangeRelay taskChangeRelay;
+
+    @Test
+    @DisplayName("перенесены задачи в архив, когда задача выполнена и срок старше возраста архива, " +
+            "то она видна только с includeArchived")
+    void archiveBatch_whenCompletedTaskOld_thenMovedAndVisibleOnlyWithArchive() {
+        LocalDateTime now = LocalDateTime.now().withNano(0);
+        TaskDto archived = taskService.saveTask(makeTaskDto(now.minusDays(2), true));
+        TaskDto open = taskService.saveTask(makeTaskDto(now.minusDays(2), false));
+        TaskDto recent = taskService.saveTask(makeTaskDto(now.minusHours(1), true));
+        long since = taskChangeRelay.getChanges(0, Integer.MAX_VALUE).size();
+
+        taskArchiver.archiveBatch();
+        taskChangeRelay.relay();
+
+        assertThrows(NotFoundException.class, () -> taskService.getTaskById(archived.getId()));
+        assertThat(taskService.getTaskById(open.getId()), equalTo(open));
+        assertThat(taskService.getTaskById(recent.getId()), equalTo(recent));
+        Page<TaskDto> live = taskService.getAllTasks(null, now.minusDays(3), now, 0, 100);
+        assertThat(live.getContent(), not(hasItem(archived)));
+        Slice<TaskDto> withArchive = taskService.getAllTasksWithArchive(
+                null, now.minusDays(3), now, 0, 100, TaskTotalMode.EXACT);
+        assertThat(withArchive.getContent(), contains(archived, open, recent));
+        assertThat(((Page<TaskDto>) withArchive).getTotalElements(), equalTo(3L));
+        Slice<TaskDto> completed = taskService.getAllTasksWithArchive(
+                true, now.minusDays(3), now, 0, 100, TaskTotalMode.EXACT);
+        assertThat(completed.getContent(), contains(archived, recent));
+        List<TaskChangeDto> changes = taskChangeRelay.getChanges(since, 100);
+        assertThat(changes.get(changes.size() - 1).getType(), equalTo(TaskChange.Type.ARCHIVED));
+        assertThat(changes.get(changes.size() - 1).getTaskId(), equalTo(archived.getId()));
+    }
+
+    @Test
+    @DisplayName("получены задачи с архивом без подсчёта, когда задачи в обеих таблицах, " +
+            "то страницы идут по id и есть признак следующей страницы")
+    void getAllTasksWithArchive_whenSlicing_thenPagesOrderedById() {
+        LocalDateTime day = LocalDateTime.now().withNano(0).minusYears(3);
+        TaskDto first = taskService.saveTask(makeTaskDto(day, true));
+        TaskDto second = taskService.saveTask(makeTaskDto(day.plusHours(1), false));
+        TaskDto third = taskService.saveTask(makeTaskDto(day.plusHours(2), true));
+        taskArchiver.archiveBatch();
+
+        Slice<TaskDto> firstPage = taskService.getAllTasksWithArchive(
+                null, day, day.plusHours(2), 0, 2, TaskTotalMode.NONE);
+        Slice<TaskDto> secondPage = taskService.getAllTasksWithArchive(
+                null, day, day.plusHours(2), 1, 2, TaskTotalMode.NONE);
+
+        assertThat(firstPage.getContent(), contains(first, second));
+        assertThat(firstPage.hasNext(), equalTo(true));
+        assertThat(secondPage.getContent(), contains(third));
+        assertThat(secondPage.hasNext(), equalTo(false));
+    }
+
+    private NewTaskDto makeTaskDto(LocalDateTime dueDate, boolean completed) {
+        NewTaskDto newTaskDto = new NewTaskDto();
+        newTaskDto.setTitle("archived task");
+        newTaskDto.setDueDate(dueDate);
+        newTaskDto.setCompleted(completed);
+        return newTaskDto;
+    }
+
+}
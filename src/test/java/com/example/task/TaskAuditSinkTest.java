@@ -0,0 +1,92 @@
+package com.example.task;
+
+import com.example.audit.TaskAuditEvent;
+import com.example.audit.TaskAuditSink;
+import com.example.audit.TaskAuditWriter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+
+class TaskAuditSinkTest {
+
+    private final List<TaskAuditEvent> written = new CopyOnWriteArrayList<>();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private TaskAuditSink sink;
+
+    @AfterEach
+    public void closeSink() throws InterruptedException {
+        sink.close();
+    }
+
+    @Test
+    @DisplayName("опубликованы изменения задач, когда журнал закрыт, то все события переданы приёмнику по порядку")
+    void publish_whenClosed_thenAllEventsWrittenInOrder() throws InterruptedException {
+        sink = new TaskAuditSink(written::addAll, meterRegistry, 100, 2, Duration.ofSeconds(5), 0.0);
+
+        sink.publish(TaskAuditEvent.Type.CREATED, 1L, 0L);
+        sink.publish(TaskAuditEvent.Type.UPDATED, 1L, 1L);
+        sink.publish(TaskAuditEvent.Type.DELETED, 1L, null);
+        sink.close();
+
+        assertThat(written.stream().map(TaskAuditEvent::type).toList(), contains(
+                TaskAuditEvent.Type.CREATED, TaskAuditEvent.Type.UPDATED, TaskAuditEvent.Type.DELETED));
+    }
+
+    @Test
+    @DisplayName("опубликовано чтение задачи, когда доля выборки нулевая или приёмник выключен, то событие не пишется")
+    void publish_whenLoadNotSampledOrWriterDisabled_thenNothingWritten() throws InterruptedException {
+        sink = new TaskAuditSink(written::addAll, meterRegistry, 100, 10, Duration.ofMillis(10), 0.0);
+        sink.publish(TaskAuditEvent.Type.LOADED, 1L, 0L);
+        sink.close();
+
+        TaskAuditWriter disabled = new TaskAuditWriter() {
+            @Override
+            public boolean isEnabled() {
+                return false;
+            }
+
+            @Override
+            public void write(List<TaskAuditEvent> batch) {
+                written.addAll(batch);
+            }
+        };
+        sink = new TaskAuditSink(disabled, meterRegistry, 100, 10, Duration.ofMillis(10), 1.0);
+        sink.publish(TaskAuditEvent.Type.CREATED, 1L, 0L);
+        sink.close();
+
+        assertThat(written, empty());
+    }
+
+    @Test
+    @DisplayName("опубликованы события, когда очередь переполнена, то лишние отбрасываются без блокировки")
+    void publish_whenQueueFull_thenEventsDroppedAndCounted() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        sink = new TaskAuditSink(batch -> {
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }, meterRegistry, 1, 1, Duration.ofMillis(10), 0.0);
+
+        for (long i = 0; i < 5; i++) {
+            sink.publish(TaskAuditEvent.Type.CREATED, i, 0L);
+        }
+        release.countDown();
+
+        assertThat(meterRegistry.counter("task.audit.dropped").count(), greaterThanOrEqualTo(3.0));
+    }
+
+}
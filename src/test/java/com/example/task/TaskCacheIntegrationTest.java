@@ -0,0 +1,144 @@
+package com.example.task;
+
+import com.example.dto.NewTaskDto;
+import com.example.dto.TaskChangeDto;
+import com.example.dto.TaskDto;
+import com.example.dto.UpdateTaskDto;
+import com.example.exception.NotFoundException;
+import com.example.model.TaskChange;
+import com.example.service.TaskChangesPublishedEvent;
+import com.example.service.TaskService;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.LocalDateTime;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import static com.example.config.CacheConfig.TASKS_CACHE;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.MOCK)
+@ActiveProfiles("test")
+@RequiredArgsConstructor(onConstructor = @__(@Autowired))
+class TaskCacheIntegrationTest {
+
+    private final TaskService taskService;
+    private final CacheManager cacheManager;
+    private final MeterRegistry meterRegistry;
+    private final JdbcTemplate jdbcTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private Cache cache;
+    private TaskDto taskDto;
+
+    @BeforeEach
+    public void addTask() {
+        cache = cacheManager.getCache(TASKS_CACHE);
+        NewTaskDto newTaskDto = new NewTaskDto();
+        newTaskDto.setTitle("task1");
+        newTaskDto.setDueDate(LocalDateTime.now().plusDays(7));
+        taskDto = taskService.saveTask(newTaskDto);
+    }
+
+    @AfterEach
+    public void deleteTask() {
+        taskService.deleteTaskById(taskDto.getId());
+    }
+
+    @Test
+    @DisplayName("сохранена задача, когда вызвано, то она сразу попадает в кеш")
+    void saveTask_whenInvoked_thenTaskCached() {
+        assertThat(cache.get(taskDto.getId(), TaskDto.class), equalTo(taskDto));
+    }
+
+    @Test
+    @DisplayName("получена задача по ид повторно, когда она в кеше, то засчитывается попадание")
+    void getTaskById_whenCached_thenCacheHitRecorded() {
+        cache.evict(taskDto.getId());
+        double hits = cacheGets("hit");
+        double misses = cacheGets("miss");
+
+        taskService.getTaskById(taskDto.getId());
+        taskService.getTaskById(taskDto.getId());
+
+        assertThat(cacheGets("miss"), equalTo(misses + 1));
+        assertThat(cacheGets("hit"), equalTo(hits + 1));
+    }
+
+    @Test
+    @DisplayName("обновлена задача, когда она в кеше, то запись вытесняется")
+    void updateTask_whenCached_thenEvicted() {
+        taskService.getTaskById(taskDto.getId());
+        assertThat(cache.get(taskDto.getId()), notNullValue());
+
+        UpdateTaskDto updateTaskDto = new UpdateTaskDto();
+        updateTaskDto.setTitle("task2");
+        taskService.updateTask(taskDto.getId(), updateTaskDto);
+
+        assertThat(cache.get(taskDto.getId()), nullValue());
+    }
+
+    @Test
+    @DisplayName("удалена задача, когда она в кеше, то запись вытесняется и задача не находится")
+    void deleteTaskById_whenCached_thenEvictedAndNotFound() {
+        taskService.getTaskById(taskDto.getId());
+
+        taskService.deleteTaskById(taskDto.getId());
+
+        assertThat(cache.get(taskDto.getId()), nullValue());
+        assertThrows(NotFoundException.class, () -> taskService.getTaskById(taskDto.getId()));
+        assertThat(cache.get(taskDto.getId()), nullValue());
+    }
+
+    @Test
+    @DisplayName("получена задача по ид, когда она в кеше и изменена на другом узле, то изменение из ленты " +
+            "вытесняет запись и возвращается новое состояние")
+    void getTaskById_whenChangedOnOtherNode_thenEvictedByChangeFeed() {
+        taskService.getTaskById(taskDto.getId());
+        jdbcTemplate.update("update tasks set tasks_title = ?, tasks_version = tasks_version + 1 where tasks_id = ?",
+                "remote", taskDto.getId());
+        TaskDto remote = taskService.getTaskById(taskDto.getId());
+        assertThat(remote.getTitle(), equalTo("task1"));
+
+        remote.setTitle("remote");
+        remote.setVersion(taskDto.getVersion() + 1);
+        publish(new TaskChangeDto(Long.MAX_VALUE, TaskChange.Type.UPDATED, taskDto.getId(), remote.getVersion(), remote));
+
+        assertThat(taskService.getTaskById(taskDto.getId()).getTitle(), equalTo("remote"));
+    }
+
+    @Test
+    @DisplayName("опубликовано изменение задачи, когда в кеше та же версия, то запись не вытесняется")
+    void onPublished_whenCachedVersionCurrent_thenNotEvicted() {
+        taskService.getTaskById(taskDto.getId());
+
+        publish(new TaskChangeDto(Long.MAX_VALUE, TaskChange.Type.CREATED, taskDto.getId(), taskDto.getVersion(),
+                taskDto));
+
+        assertThat(cache.get(taskDto.getId(), TaskDto.class), equalTo(taskDto));
+    }
+
+    private void publish(TaskChangeDto change) {
+        eventPublisher.publishEvent(new TaskChangesPublishedEvent(List.of(change)));
+    }
+
+    private double cacheGets(String result) {
+        return meterRegistry.get("cache.gets").tag("cache", TASKS_CACHE).tag("result", result)
+                .functionCounter().count();
+    }
+
+}
@@ -0,0 +1,128 @@
+package com.example.task;
+
+import com.example.dto.NewTaskDto;
+import com.example.dto.TaskChangeDto;
+import com.example.dto.TaskDto;
+import com.example.dto.UpdateTaskDto;
+import com.example.model.TaskChange;
+import com.example.repository.TaskChangeRepository;
+import com.example.service.TaskChangeFeed;
+import com.example.service.TaskChangeRelay;
+import com.example.service.TaskService;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.nullValue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Пул соединений уменьшен, чтобы ожидающих long-poll запросов было больше, чем соединений.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.MOCK, properties = {
+        "spring.datasource.hikari.maximum-pool-size=" + TaskChangeFeedIntegrationTest.POOL_SIZE,
+        "spring.datasource.hikari.connection-timeout=2000"})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@RequiredArgsConstructor(onConstructor = @__(@Autowired))
+class TaskChangeFeedIntegrationTest {
+
+    static final int POOL_SIZE = 3;
+
+    private final MockMvc mockMvc;
+    private final TaskService taskService;
+    private final TaskChangeRelay taskChangeRelay;
+    private final TaskChangeFeed taskChangeFeed;
+    private final TaskChangeRepository taskChangeRepository;
+
+    private long since;
+
+    @BeforeEach
+    public void relayPending() {
+        taskChangeRelay.relay();
+        since = taskChangeRepository.findMaxSeq();
+    }
+
+    @Test
+    @DisplayName("изменена задача, когда ретранслятор отработал, то лента содержит изменения по порядку")
+    void relay_whenTaskCreatedUpdatedDeleted_thenChangesPublishedInOrder() {
+        TaskDto taskDto = taskService.saveTask(makeTaskDto("task1"));
+        UpdateTaskDto updateTaskDto = new UpdateTaskDto();
+        updateTaskDto.setCompleted(true);
+        taskService.updateTask(taskDto.getId(), updateTaskDto);
+        taskService.deleteTaskById(taskDto.getId());
+
+        taskChangeRelay.relay();
+        List<TaskChangeDto> changes = taskChangeRelay.getChanges(since, 100).stream()
+                .filter(change -> change.getTaskId().equals(taskDto.getId()))
+                .toList();
+
+        assertThat(changes.stream().map(TaskChangeDto::getType).toList(),
+                contains(TaskChange.Type.CREATED, TaskChange.Type.UPDATED, TaskChange.Type.DELETED));
+        assertThat(changes.get(0).getTask(), equalTo(taskDto));
+        assertThat(changes.get(1).getVersion(), equalTo(1L));
+        assertThat(changes.get(1).getTask().getCompleted(), equalTo(true));
+        assertThat(changes.get(2).getTask(), nullValue());
+        assertThat(changes.get(1).getSeq(), equalTo(changes.get(0).getSeq() + 1));
+    }
+
+    @Test
+    @DisplayName("ожидаются изменения, когда задача добавлена, то ожидание завершается после ретрансляции")
+    void poll_whenTaskCreatedWhileWaiting_thenResultSetAfterRelay() {
+        DeferredResult<List<TaskChangeDto>> result = taskChangeFeed.poll(since, 100, Duration.ofSeconds(30));
+        assertThat(result.hasResult(), equalTo(false));
+
+        TaskDto taskDto = taskService.saveTask(makeTaskDto("task1"));
+        taskChangeRelay.relay();
+
+        @SuppressWarnings("unchecked")
+        List<TaskChangeDto> changes = (List<TaskChangeDto>) result.getResult();
+        assertThat(changes, hasSize(1));
+        assertThat(changes.get(0).getTaskId(), equalTo(taskDto.getId()));
+        taskService.deleteTaskById(taskDto.getId());
+    }
+
+    @SneakyThrows
+    @Test
+    @DisplayName("ожидают изменений запросов больше, чем соединений в пуле, когда выполняется другой запрос, " +
+            "то он получает соединение")
+    void getTaskChanges_whenMorePollsThanConnections_thenOtherRequestServed() {
+        // Номер далеко впереди ленты: ожидание не завершится публикацией изменений во время теста.
+        long farSince = since + 1_000_000;
+        for (int i = 0; i <= POOL_SIZE; i++) {
+            mockMvc.perform(get("/tasks/changes")
+                            .param("since", String.valueOf(farSince))
+                            .param("timeout", "60"))
+                    .andExpect(request().asyncStarted());
+        }
+
+        mockMvc.perform(get("/tasks/stats"))
+                .andExpect(status().isOk());
+    }
+
+    private NewTaskDto makeTaskDto(String title) {
+        NewTaskDto taskDto = new NewTaskDto();
+        taskDto.setTitle(title);
+        taskDto.setDueDate(LocalDateTime.now().plusDays(7).truncatedTo(ChronoUnit.SECONDS));
+        return taskDto;
+    }
+
+}
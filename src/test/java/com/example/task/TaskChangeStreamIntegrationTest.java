@@ -0,0 +1,193 @@
+package com.example.task;
+
+import com.example.dto.NewTaskDto;
+import com.example.dto.TaskChangeDto;
+import com.example.dto.TaskDto;
+import com.example.model.TaskChange;
+import com.example.repository.TaskChangeRepository;
+import com.example.service.TaskChangeBroadcaster;
+import com.example.service.TaskChangeRelay;
+import com.example.service.TaskChangesPublishedEvent;
+import com.example.service.TaskService;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.not;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Пул соединений уменьшен, чтобы подписчиков, дочитывающих ленту, было больше, чем соединений,
+ * а очередь подписчика - чтобы проверить дочитывание ленты длиннее неё.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.MOCK, properties = {
+        "spring.datasource.hikari.maximum-pool-size=" + TaskChangeStreamIntegrationTest.POOL_SIZE,
+        "spring.datasource.hikari.connection-timeout=2000",
+        "task.sse.max-pending=" + TaskChangeStreamIntegrationTest.MAX_PENDING})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@RequiredArgsConstructor(onConstructor = @__(@Autowired))
+class TaskChangeStreamIntegrationTest {
+
+    static final int POOL_SIZE = 3;
+    static final int MAX_PENDING = 5;
+
+    private final MockMvc mockMvc;
+    private final TaskService taskService;
+    private final TaskChangeRelay taskChangeRelay;
+    private final TaskChangeBroadcaster taskChangeBroadcaster;
+    private final TaskChangeRepository taskChangeRepository;
+
+    @SneakyThrows
+    @Test
+    @DisplayName("подписка на изменения задач с фильтром, когда опубликованы изменения, " +
+            "то подписчик получает только подходящие под фильтр")
+    void streamTaskChanges_whenChangesPublished_thenFilteredEventsSent() {
+        MockHttpServletResponse response = mockMvc.perform(get("/tasks/stream")
+                        .param("Статус выполнения задачи", "false")
+                        .accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(request().asyncStarted())
+                .andReturn()
+                .getResponse();
+
+        taskChangeBroadcaster.onPublished(new TaskChangesPublishedEvent(List.of(
+                change(9001L, TaskChange.Type.CREATED, makeTaskDto(9001L, false)),
+                change(9002L, TaskChange.Type.CREATED, makeTaskDto(9002L, true)),
+                change(9003L, TaskChange.Type.UPDATED, makeTaskDto(9001L, true)),
+                change(9004L, TaskChange.Type.DELETED, null))));
+
+        String content = awaitContent(response, "id:9004");
+        assertThat(content, containsString("id:9001\nevent:CREATED\n"));
+        assertThat(content, not(containsString("id:9002")));
+        assertThat(content, containsString("id:9003\nevent:EXCLUDED\n"));
+        assertThat(content, containsString("id:9004\nevent:DELETED\n"));
+    }
+
+    @SneakyThrows
+    @Test
+    @DisplayName("подписка на изменения задач, когда передан Last-Event-ID, то пропущенные изменения досылаются")
+    void streamTaskChanges_whenLastEventIdPassed_thenMissedChangesReplayed() {
+        taskChangeRelay.relay();
+        long since = taskChangeRepository.findMaxSeq();
+        NewTaskDto newTaskDto = new NewTaskDto();
+        newTaskDto.setTitle("task1");
+        newTaskDto.setDueDate(LocalDateTime.now().plusDays(7));
+        TaskDto taskDto = taskService.saveTask(newTaskDto);
+        taskChangeRelay.relay();
+
+        MockHttpServletResponse response = mockMvc.perform(get("/tasks/stream")
+                        .header("Last-Event-ID", since)
+                        .accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(request().asyncStarted())
+                .andReturn()
+                .getResponse();
+
+        String content = awaitContent(response, "\"taskId\":" + taskDto.getId());
+        assertThat(content, containsString("id:" + (since + 1) + "\nevent:CREATED\n"));
+        taskService.deleteTaskById(taskDto.getId());
+    }
+
+    @SneakyThrows
+    @Test
+    @DisplayName("подписка на изменения задач, когда после Last-Event-ID изменений больше очереди подписчика, " +
+            "то вместо них отправляется RESET и поток закрывается")
+    void streamTaskChanges_whenMoreMissedChangesThanMaxPending_thenResetSent() {
+        taskChangeRelay.relay();
+        long since = taskChangeRepository.findMaxSeq();
+        List<NewTaskDto> newTaskDtos = new ArrayList<>();
+        for (int i = 0; i <= MAX_PENDING; i++) {
+            NewTaskDto newTaskDto = new NewTaskDto();
+            newTaskDto.setTitle("task" + i);
+            newTaskDto.setDueDate(LocalDateTime.now().plusDays(7));
+            newTaskDtos.add(newTaskDto);
+        }
+        List<TaskDto> taskDtos = taskService.saveTasks(newTaskDtos);
+        taskChangeRelay.relay();
+        int subscribersCount = taskChangeBroadcaster.getSubscribersCount();
+
+        MockHttpServletResponse response = mockMvc.perform(get("/tasks/stream")
+                        .header("Last-Event-ID", since)
+                        .accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(request().asyncStarted())
+                .andReturn()
+                .getResponse();
+
+        String content = awaitContent(response, "event:" + TaskChangeBroadcaster.RESET_EVENT);
+        assertThat(content, containsString("event:" + TaskChangeBroadcaster.RESET_EVENT + "\n"));
+        assertThat(content, not(containsString("event:CREATED")));
+        assertThat(taskChangeBroadcaster.getSubscribersCount(), equalTo(subscribersCount));
+        taskDtos.forEach(taskDto -> taskService.deleteTaskById(taskDto.getId()));
+    }
+
+    @SneakyThrows
+    @Test
+    @DisplayName("подписчиков с Last-Event-ID больше, чем соединений в пуле, когда выполняется другой запрос, " +
+            "то он получает соединение")
+    void streamTaskChanges_whenMoreReplaysThanConnections_thenOtherRequestServed() {
+        taskChangeRelay.relay();
+        long since = taskChangeRepository.findMaxSeq();
+        NewTaskDto newTaskDto = new NewTaskDto();
+        newTaskDto.setTitle("task1");
+        newTaskDto.setDueDate(LocalDateTime.now().plusDays(7));
+        TaskDto taskDto = taskService.saveTask(newTaskDto);
+        taskChangeRelay.relay();
+
+        for (int i = 0; i <= POOL_SIZE; i++) {
+            MockHttpServletResponse response = mockMvc.perform(get("/tasks/stream")
+                            .header("Last-Event-ID", since)
+                            .accept(MediaType.TEXT_EVENT_STREAM))
+                    .andExpect(request().asyncStarted())
+                    .andReturn()
+                    .getResponse();
+            assertThat(awaitContent(response, "\"taskId\":" + taskDto.getId()),
+                    containsString("\"taskId\":" + taskDto.getId()));
+        }
+
+        mockMvc.perform(get("/tasks/stats"))
+                .andExpect(status().isOk());
+        taskService.deleteTaskById(taskDto.getId());
+    }
+
+    @SneakyThrows
+    private String awaitContent(MockHttpServletResponse response, String expected) {
+        for (int i = 0; i < 100; i++) {
+            String content = response.getContentAsString(StandardCharsets.UTF_8);
+            if (content.contains(expected)) return content;
+            Thread.sleep(50);
+        }
+        return response.getContentAsString(StandardCharsets.UTF_8);
+    }
+
+    private TaskChangeDto change(Long seq, TaskChange.Type type, TaskDto taskDto) {
+        Long taskId = taskDto == null ? 9001L : taskDto.getId();
+        return new TaskChangeDto(seq, type, taskId, 0L, taskDto);
+    }
+
+    private TaskDto makeTaskDto(Long id, Boolean completed) {
+        TaskDto taskDto = new TaskDto();
+        taskDto.setId(id);
+        taskDto.setTitle("task" + id);
+        taskDto.setDueDate(LocalDateTime.now().plusDays(7));
+        taskDto.setCompleted(completed);
+        taskDto.setVersion(0L);
+        return taskDto;
+    }
+
+}
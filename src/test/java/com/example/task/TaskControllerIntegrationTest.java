@@ -1,18 +1,40 @@
 package com.example.task;
 
 import com.example.controller.TaskController;
+import com.example.dto.TaskChangeDto;
+import com.example.dto.TaskCursorPage;
+import com.example.dto.TaskDayStatsDto;
 import com.example.dto.TaskDto;
+import com.example.dto.TaskImportResult;
+import com.example.dto.TaskStatsDto;
+import com.example.dto.TaskTotalMode;
 import com.example.dto.NewTaskDto;
 import com.example.dto.UpdateTaskDto;
 import com.example.exception.ApiError;
+import com.example.exception.BadRequestException;
+import com.example.exception.ConflictException;
 import com.example.exception.NotFoundException;
 import com.example.exception.NotSaveException;
+import com.example.export.TaskExportWriterFactory;
+import com.example.model.TaskChange;
+import com.example.search.TaskSearch;
+import com.example.service.TaskChangeBroadcaster;
+import com.example.service.TaskChangeFeed;
+import com.example.service.TaskChangeFilter;
+import com.example.service.TaskImporter;
 import com.example.service.TaskService;
+import com.example.util.TaskCursor;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
+import java.io.BufferedReader;
+import java.io.Reader;
 import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
 
 import lombok.SneakyThrows;
 import org.junit.jupiter.api.BeforeEach;
@@ -22,11 +44,18 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.blankString;
@@ -34,10 +63,14 @@ import static org.hamcrest.Matchers.equalTo;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(TaskController.class)
 @AutoConfigureMockMvc(addFilters = false)
+@Import(TaskExportWriterFactory.class)
 class TaskControllerIntegrationTest {
 
     @Autowired
@@ -46,6 +79,14 @@ class TaskControllerIntegrationTest {
     private MockMvc mockMvc;
     @MockBean
     private TaskService taskService;
+    @MockBean
+    private TaskImporter taskImporter;
+    @MockBean
+    private TaskChangeFeed taskChangeFeed;
+    @MockBean
+    private TaskChangeBroadcaster taskChangeBroadcaster;
+    @MockBean
+    private TaskSearch taskSearch;
 
     private final TaskDto taskDto = new TaskDto();
     private final TaskDto taskDto2 = new TaskDto();
@@ -110,6 +151,119 @@ class TaskControllerIntegrationTest {
         verify(taskService, times(1)).getTaskById(anyLong());
     }
 
+    @SneakyThrows
+    @Test
+    @DisplayName("получена задача по ид, когда If-None-Match совпадает с версией, " +
+            "то ответ статус не изменено без тела, и задача не загружается")
+    void getTaskById_whenEtagMatches_thenReturnedNotModified() {
+        Long taskId = 1L;
+        when(taskService.getTaskVersion(taskId)).thenReturn(3L);
+
+        String result = mockMvc.perform(get("/tasks/{taskId}", taskId)
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"3\""))
+                .andDo(print())
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"3\""))
+                .andReturn()
+                .getResponse()
+                .getContentAsString(StandardCharsets.UTF_8);
+
+        assertThat(result, blankString());
+        verify(taskService, never()).getTaskById(anyLong());
+    }
+
+    @SneakyThrows
+    @Test
+    @DisplayName("получена задача по ид, когда If-None-Match устарел, " +
+            "то ответ статус ок, задача и новый ETag")
+    void getTaskById_whenEtagStale_thenReturnedTaskWithEtag() {
+        Long taskId = 1L;
+        taskDto.setVersion(4L);
+        when(taskService.getTaskVersion(taskId)).thenReturn(4L);
+        when(taskService.getTaskById(taskId)).thenReturn(taskDto);
+
+        String result = mockMvc.perform(get("/tasks/{taskId}", taskId)
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"3\""))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"4\""))
+                .andReturn()
+                .getResponse()
+                .getContentAsString(StandardCharsets.UTF_8);
+
+        assertThat(objectMapper.writeValueAsString(taskDto), equalTo(result));
+    }
+
+    @SneakyThrows
+    @Test
+    @DisplayName("получены все задачи, когда If-None-Match совпадает, " +
+            "то ответ статус не изменено, и список не загружается")
+    void getAllTasks_whenEtagMatches_thenReturnedNotModified() {
+        when(taskService.getAllTasksEtag(any(), any(), any(), anyInt(), anyInt())).thenReturn("W/\"abc\"");
+
+        mockMvc.perform(get("/tasks")
+                        .header(HttpHeaders.IF_NONE_MATCH, "W/\"abc\""))
+                .andDo(print())
+                .andExpect(status().isNotModified());
+
+        verify(taskService, never()).getAllTasks(any(), any(), any(), anyInt(), anyInt());
+    }
+
+    @SneakyThrows
+    @Test
+    @DisplayName("получены изменения задач, когда они есть, то ответ статус ок и список изменений")
+    void getTaskChanges_whenChangesPublished_thenResponseStatusOkWithChangesInBody() {
+        taskDto.setVersion(0L);
+        List<TaskChangeDto> changes = List.of(new TaskChangeDto(5L, TaskChange.Type.CREATED, 1L, 0L, taskDto));
+        DeferredResult<List<TaskChangeDto>> deferred = new DeferredResult<>();
+        deferred.setResult(changes);
+        when(taskChangeFeed.poll(anyLong(), anyInt(), any(Duration.class))).thenReturn(deferred);
+
+        MvcResult mvcResult = mockMvc.perform(get("/tasks/changes")
+                        .param("since", "4")
+                        .param("timeout", "10"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        String result = mockMvc.perform(asyncDispatch(mvcResult))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString(StandardCharsets.UTF_8);
+
+        assertThat(objectMapper.writeValueAsString(changes), equalTo(result));
+        verify(taskChangeFeed, times(1)).poll(4L, 100, Duration.ofSeconds(10));
+    }
+
+    @SneakyThrows
+    @Test
+    @DisplayName("получены изменения задач, когда время ожидания больше допустимого, то ответ статус бед реквест")
+    void getTaskChanges_whenTimeoutTooLong_thenReturnedBadRequest() {
+        mockMvc.perform(get("/tasks/changes")
+                        .param("timeout", "600"))
+                .andDo(print())
+                .andExpect(status().isBadRequest());
+
+        verify(taskChangeFeed, never()).poll(anyLong(), anyInt(), any(Duration.class));
+    }
+
+    @SneakyThrows
+    @Test
+    @DisplayName("подписка на изменения задач, когда передан Last-Event-ID, то подписка создаётся с фильтром " +
+            "и номером последнего изменения")
+    void streamTaskChanges_whenLastEventIdPassed_thenSubscribedWithFilter() {
+        when(taskChangeBroadcaster.subscribe(any(TaskChangeFilter.class), any())).thenReturn(new SseEmitter());
+
+        mockMvc.perform(get("/tasks/stream")
+                        .param("Статус выполнения задачи", "false")
+                        .header("Last-Event-ID", "7")
+                        .accept(MediaType.TEXT_EVENT_STREAM))
+                .andDo(print())
+                .andExpect(request().asyncStarted());
+
+        verify(taskChangeBroadcaster, times(1)).subscribe(new TaskChangeFilter(false, null, null), 7L);
+    }
+
     @SneakyThrows
     @Test
     @DisplayName("получены все задачи, когда вызваны, то ответ статус ок и список задач")
@@ -129,6 +283,253 @@ class TaskControllerIntegrationTest {
 
         assertThat(objectMapper.writeValueAsString(tasksPage), equalTo(result));
         verify(taskService, times(1)).getAllTasks(any(), any(), any(), anyInt(), anyInt());
+        verify(taskService, never()).getAllTasksEtag(any(), any(), any(), anyInt(), anyInt());
+    }
+
+    @SneakyThrows
+    @Test
+    @DisplayName("получены все задачи без подсчёта количества, когда вызваны, то ответ статус ок и срез задач")
+    void getAllTasks_whenTotalNone_thenResponseStatusOkWithTasksSliceInBody() {
+        Slice<TaskDto> tasksSlice = new SliceImpl<>(List.of(taskDto, taskDto2), PageRequest.of(0, 10), false);
+        when(taskService.getTasksSlice(any(), any(), any(), anyInt(), anyInt())).thenReturn(tasksSlice);
+
+        String result = mockMvc.perform(get("/tasks")
+                        .param("total", "NONE")
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString(StandardCharsets.UTF_8);
+
+        assertThat(objectMapper.writeValueAsString(tasksSlice), equalTo(result));
+        verify(taskService, times(1)).getTasksSlice(any(), any(), any(), anyInt(), anyInt());
+        verify(taskService, never()).getAllTasks(any(), any(), any(), anyInt(), anyInt());
+    }
+
+    @SneakyThrows
+    @Test
+    @DisplayName("найдены задачи, когда вызвано, то ответ статус ок и срез найденных задач")
+    void searchTasks_whenInvoked_thenResponseStatusOkWithTasksSliceInBody() {
+        Slice<TaskDto> tasksSlice = new SliceImpl<>(List.of(taskDto), PageRequest.of(0, 10), false);
+        when(taskSearch.search(anyString(), anyInt(), anyInt())).thenReturn(tasksSlice);
+
+        String result = mockMvc.perform(get("/tasks/search")
+                        .param("q", "кино")
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString(StandardCharsets.UTF_8);
+
+        assertThat(objectMapper.writeValueAsString(tasksSlice), equalTo(result));
+        verify(taskSearch, times(1)).search("кино", 0, 10);
+    }
+
+    @SneakyThrows
+    @Test
+    @DisplayName("найдены задачи, когда запрос не задан, то ответ статус 400")
+    void searchTasks_whenQueryMissing_thenResponseStatusBadRequest() {
+        mockMvc.perform(get("/tasks/search")
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andDo(print())
+                .andExpect(status().isBadRequest());
+
+        verify(taskSearch, never()).search(any(), any(), any());
+    }
+
+    @SneakyThrows
+    @Test
+    @DisplayName("получена статистика задач, когда вызвано, то ответ статус ок и счётчики из сервиса")
+    void getTaskStats_whenInvoked_thenResponseStatusOkWithStatsInBody() {
+        TaskStatsDto taskStats = new TaskStatsDto(3L, 2L, 1L, 1L,
+                List.of(new TaskDayStatsDto(LocalDate.of(2030, 1, 1), 2L, 1L)));
+        when(taskService.getTaskStats(any(), any())).thenReturn(taskStats);
+
+        String result = mockMvc.perform(get("/tasks/stats")
+                        .param("dayStart", "2030-01-01")
+                        .param("dayEnd", "2030-01-07")
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString(StandardCharsets.UTF_8);
+
+        assertThat(objectMapper.writeValueAsString(taskStats), equalTo(result));
+        verify(taskService, times(1)).getTaskStats(LocalDate.of(2030, 1, 1), LocalDate.of(2030, 1, 7));
+    }
+
+    @SneakyThrows
+    @Test
+    @DisplayName("получена статистика задач, когда интервал неверный, то ответ статус 400")
+    void getTaskStats_whenIntervalInvalid_thenResponseStatusBadRequest() {
+        when(taskService.getTaskStats(any(), any())).thenThrow(new BadRequestException("Ошибка интервала"));
+
+        mockMvc.perform(get("/tasks/stats")
+                        .param("dayStart", "2030-01-07")
+                        .param("dayEnd", "2030-01-01")
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andDo(print())
+                .andExpect(status().isBadRequest());
+    }
+
+    @SneakyThrows
+    @Test
+    @DisplayName("получены задачи с выбранными полями, когда вызваны, то ответ содержит только эти поля и без ETag")
+    void getAllTasks_whenFieldsGiven_thenResponseStatusOkWithSelectedFields() {
+        Slice<Map<String, Object>> tasksSlice = new PageImpl<>(
+                List.of(Map.of("id", 1L, "title", "task1")), PageRequest.of(0, 10), 1);
+        when(taskService.getAllTasksFields(any(), any(), any(), anyInt(), anyInt(), anyList(), any()))
+                .thenReturn(tasksSlice);
+
+        String result = mockMvc.perform(get("/tasks")
+                        .param("fields", "id,title")
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.ETAG))
+                .andReturn()
+                .getResponse()
+                .getContentAsString(StandardCharsets.UTF_8);
+
+        assertThat(objectMapper.writeValueAsString(tasksSlice), equalTo(result));
+        verify(taskService, times(1)).getAllTasksFields(isNull(), isNull(), isNull(), eq(0), eq(10),
+                eq(List.of("id", "title")), eq(TaskTotalMode.EXACT));
+        verify(taskService, never()).getAllTasks(any(), any(), any(), anyInt(), anyInt());
+    }
+
+    @SneakyThrows
+    @Test
+    @DisplayName("получены задачи с архивом, когда передан includeArchived, то список читается с архивом и без ETag")
+    void getAllTasks_whenIncludeArchived_thenResponseStatusOkWithArchivedTasks() {
+        Slice<TaskDto> tasksSlice = new PageImpl<>(List.of(taskDto, taskDto2), PageRequest.of(0, 10), 2);
+        when(taskService.getAllTasksWithArchive(any(), any(), any(), anyInt(), anyInt(), any()))
+                .thenReturn(tasksSlice);
+
+        String result = mockMvc.perform(get("/tasks")
+                        .param("includeArchived", "true")
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.ETAG))
+                .andReturn()
+                .getResponse()
+                .getContentAsString(StandardCharsets.UTF_8);
+
+        assertThat(objectMapper.writeValueAsString(tasksSlice), equalTo(result));
+        verify(taskService, times(1)).getAllTasksWithArchive(isNull(), isNull(), isNull(), eq(0), eq(10),
+                eq(TaskTotalMode.EXACT));
+        verify(taskService, never()).getAllTasks(any(), any(), any(), anyInt(), anyInt());
+    }
+
+    @SneakyThrows
+    @Test
+    @DisplayName("получены задачи по курсору, когда вызваны, то ответ статус ок и страница с курсором")
+    void getAllTasksAfter_whenInvoked_thenResponseStatusOkWithCursorPageInBody() {
+        TaskCursorPage cursorPage = new TaskCursorPage();
+        cursorPage.setContent(List.of(taskDto, taskDto2));
+        cursorPage.setSize(2);
+        cursorPage.setNextCursor(TaskCursor.encode(2L));
+        when(taskService.getAllTasksAfter(any(), any(), any(), anyString(), anyInt())).thenReturn(cursorPage);
+
+        String result = mockMvc.perform(get("/tasks")
+                        .param("after", "")
+                        .param("size", "2")
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString(StandardCharsets.UTF_8);
+
+        assertThat(objectMapper.writeValueAsString(cursorPage), equalTo(result));
+        verify(taskService, times(1)).getAllTasksAfter(null, null, null, "", 2);
+        verify(taskService, never()).getAllTasks(any(), any(), any(), anyInt(), anyInt());
+    }
+
+    @SneakyThrows
+    @Test
+    @DisplayName("получены задачи по курсору, когда курсор некорректен, то ответ статус бед реквест")
+    void getAllTasksAfter_whenCursorInvalid_thenReturnedBadRequest() {
+        BadRequestException exception = new BadRequestException("Некорректный курсор: abc.");
+        when(taskService.getAllTasksAfter(any(), any(), any(), anyString(), anyInt())).thenThrow(exception);
+
+        String result = mockMvc.perform(get("/tasks")
+                        .param("after", "abc")
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andDo(print())
+                .andExpect(status().isBadRequest())
+                .andReturn()
+                .getResponse()
+                .getContentAsString(StandardCharsets.UTF_8);
+
+        ApiError apiError = objectMapper.readValue(result, ApiError.class);
+
+        assertThat("Некорректный курсор: abc.", equalTo(apiError.getMessage()));
+    }
+
+    @SneakyThrows
+    @Test
+    @DisplayName("выгружены задачи, когда формат не задан, то ответ - задачи в NDJSON по одной на строку")
+    void exportTasks_whenInvoked_thenResponseNdjsonWithTaskPerLine() {
+        doAnswer(invocation -> {
+            Consumer<TaskDto> consumer = invocation.getArgument(3);
+            consumer.accept(taskDto);
+            consumer.accept(taskDto2);
+            return null;
+        }).when(taskService).exportTasks(any(), any(), any(), any());
+
+        String result = mockMvc.perform(get("/tasks/export")
+                        .characterEncoding(StandardCharsets.UTF_8))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-ndjson;charset=UTF-8"))
+                .andReturn()
+                .getResponse()
+                .getContentAsString(StandardCharsets.UTF_8);
+
+        assertThat(objectMapper.writeValueAsString(taskDto) + "\n" +
+                objectMapper.writeValueAsString(taskDto2) + "\n", equalTo(result));
+        verify(taskService, times(1)).exportTasks(any(), any(), any(), any());
+    }
+
+    @SneakyThrows
+    @Test
+    @DisplayName("выгружены задачи в CSV, когда поле содержит запятую и кавычки, то поле экранируется")
+    void exportTasks_whenCsv_thenResponseCsvWithEscapedFields() {
+        TaskDto csvTaskDto = new TaskDto();
+        csvTaskDto.setId(3L);
+        csvTaskDto.setTitle("Сходить в \"кино\", потом домой");
+        csvTaskDto.setDueDate(LocalDateTime.of(2024, 6, 15, 19, 0));
+        csvTaskDto.setCompleted(true);
+        doAnswer(invocation -> {
+            Consumer<TaskDto> consumer = invocation.getArgument(3);
+            consumer.accept(csvTaskDto);
+            return null;
+        }).when(taskService).exportTasks(any(), any(), any(), any());
+
+        String result = mockMvc.perform(get("/tasks/export")
+                        .param("format", "CSV")
+                        .characterEncoding(StandardCharsets.UTF_8))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString(StandardCharsets.UTF_8);
+
+        assertThat("id,title,description,dueDate,completed\n" +
+                "3,\"Сходить в \"\"кино\"\", потом домой\",,2024-06-15 19:00:00,true\n", equalTo(result));
     }
 
     @SneakyThrows
@@ -250,6 +651,95 @@ class TaskControllerIntegrationTest {
         verify(taskService, times(1)).updateTask(anyLong(), any(UpdateTaskDto.class));
     }
 
+    @SneakyThrows
+    @Test
+    @DisplayName("обновлена задача с If-Match, когда версия совпадает и нужен минимальный ответ, " +
+            "то ответ статус нет контента с новым ETag")
+    void updateTask_whenIfMatchAndReturnMinimal_thenNoContentWithEtag() {
+        Long taskId = 1L;
+        taskDto.setVersion(4L);
+        when(taskService.updateTaskIfMatch(anyLong(), any(UpdateTaskDto.class), anyLong())).thenReturn(taskDto);
+
+        mockMvc.perform(put("/tasks/{id}", taskId)
+                        .header(HttpHeaders.IF_MATCH, "\"3\"")
+                        .header("Prefer", "return=minimal")
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(taskDto2)))
+                .andDo(print())
+                .andExpect(status().isNoContent())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"4\""));
+
+        verify(taskService, times(1)).updateTaskIfMatch(eq(taskId), any(UpdateTaskDto.class), eq(3L));
+        verify(taskService, never()).updateTask(anyLong(), any(UpdateTaskDto.class));
+        verify(taskService, never()).getTaskById(anyLong());
+    }
+
+    @SneakyThrows
+    @Test
+    @DisplayName("обновлена задача с If-Match, когда версия совпадает, то ответ статус ок с состоянием " +
+            "после обновления без повторного чтения")
+    void updateTask_whenIfMatch_thenReturnedUpdatedTaskWithoutRead() {
+        Long taskId = 1L;
+        taskDto.setVersion(4L);
+        when(taskService.updateTaskIfMatch(anyLong(), any(UpdateTaskDto.class), anyLong())).thenReturn(taskDto);
+
+        String result = mockMvc.perform(put("/tasks/{id}", taskId)
+                        .header(HttpHeaders.IF_MATCH, "\"3\"")
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(taskDto2)))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"4\""))
+                .andReturn()
+                .getResponse()
+                .getContentAsString(StandardCharsets.UTF_8);
+
+        assertThat(objectMapper.readValue(result, TaskDto.class).getTitle(), equalTo(taskDto.getTitle()));
+        verify(taskService, never()).getTaskById(anyLong());
+    }
+
+    @SneakyThrows
+    @Test
+    @DisplayName("обновлена задача с If-Match, когда версия устарела, то ответ статус конфликт")
+    void updateTask_whenIfMatchStale_thenReturnedConflict() {
+        Long taskId = 1L;
+        when(taskService.updateTaskIfMatch(anyLong(), any(UpdateTaskDto.class), anyLong()))
+                .thenThrow(new ConflictException("Задача с id = 1 изменена."));
+
+        String result = mockMvc.perform(put("/tasks/{id}", taskId)
+                        .header(HttpHeaders.IF_MATCH, "\"3\"")
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(taskDto2)))
+                .andDo(print())
+                .andExpect(status().isConflict())
+                .andReturn()
+                .getResponse()
+                .getContentAsString(StandardCharsets.UTF_8);
+
+        ApiError apiError = objectMapper.readValue(result, ApiError.class);
+
+        assertThat("Задача с id = 1 изменена.", equalTo(apiError.getMessage()));
+        verify(taskService, never()).getTaskById(anyLong());
+    }
+
+    @SneakyThrows
+    @Test
+    @DisplayName("обновлена задача с If-Match, когда ETag некорректен, то ответ статус бед реквест")
+    void updateTask_whenIfMatchMalformed_thenReturnedBadRequest() {
+        mockMvc.perform(put("/tasks/{id}", 1L)
+                        .header(HttpHeaders.IF_MATCH, "W/\"3\"")
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(taskDto2)))
+                .andDo(print())
+                .andExpect(status().isBadRequest());
+
+        verify(taskService, never()).updateTaskIfMatch(anyLong(), any(UpdateTaskDto.class), anyLong());
+    }
+
     @SneakyThrows
     @Test
     @DisplayName("удалена задача, когда вызвано, то ответ статус нет контента")
@@ -269,4 +759,142 @@ class TaskControllerIntegrationTest {
         verify(taskService, times(1)).deleteTaskById(taskId);
     }
 
-}
\ No newline at end of file
+    @SneakyThrows
+    @Test
+    @DisplayName("импортированы задачи, когда вызвано, то ответ - результат по каждой строке в NDJSON")
+    void importTasks_whenInvoked_thenResponseNdjsonWithResultPerLine() {
+        TaskImportResult created = new TaskImportResult(1L, TaskImportResult.Status.CREATED, 10L, null);
+        TaskImportResult invalid = new TaskImportResult(2L, TaskImportResult.Status.INVALID, null, List.of("Ошибка"));
+        doAnswer(invocation -> {
+            BufferedReader reader = new BufferedReader(invocation.<Reader>getArgument(0));
+            assertThat(reader.lines().toList(), equalTo(List.of("{\"title\":\"Title 1\"}", "{}")));
+            Consumer<TaskImportResult> consumer = invocation.getArgument(1);
+            consumer.accept(created);
+            consumer.accept(invalid);
+            return null;
+        }).when(taskImporter).importTasks(any(Reader.class), any());
+
+        String result = mockMvc.perform(post("/tasks/import")
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .contentType("application/x-ndjson")
+                        .content("{\"title\":\"Title 1\"}\n{}"))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString(StandardCharsets.UTF_8);
+
+        assertThat("{\"line\":1,\"status\":\"CREATED\",\"id\":10}\n" +
+                "{\"line\":2,\"status\":\"INVALID\",\"errors\":[\"Ошибка\"]}\n", equalTo(result));
+    }
+
+    @SneakyThrows
+    @Test
+    @DisplayName("сохранены задачи пакетом, когда задачи валидны, " +
+            "то ответ статус создано, и они сохраняются")
+    void saveTasks_whenTasksValid_thenSavedTasks() {
+        NewTaskDto newTaskDto = new NewTaskDto();
+        newTaskDto.setTitle("Title 1");
+        newTaskDto.setDueDate(LocalDateTime.now().plusDays(5));
+        when(taskService.saveTasks(anyList())).thenReturn(List.of(taskDto, taskDto2));
+
+        String result = mockMvc.perform(post("/tasks/batch")
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(newTaskDto, newTaskDto))))
+                .andDo(print())
+                .andExpect(status().isCreated())
+                .andReturn()
+                .getResponse()
+                .getContentAsString(StandardCharsets.UTF_8);
+
+        assertThat(objectMapper.writeValueAsString(List.of(taskDto, taskDto2)), equalTo(result));
+        verify(taskService, times(1)).saveTasks(anyList());
+    }
+
+    @SneakyThrows
+    @Test
+    @DisplayName("сохранены задачи пакетом, когда задача в пакете не валидна, " +
+            "то ответ статус бед реквест, и они не сохраняются")
+    void saveTasks_whenTaskNotValid_thenReturnedError() {
+        NewTaskDto validTaskDto = new NewTaskDto();
+        validTaskDto.setTitle("Title 1");
+        validTaskDto.setDueDate(LocalDateTime.now().plusDays(5));
+        NewTaskDto invalidTaskDto = new NewTaskDto();
+        invalidTaskDto.setTitle("1");
+        invalidTaskDto.setDueDate(LocalDateTime.now().plusDays(5));
+
+        String result = mockMvc.perform(post("/tasks/batch")
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(validTaskDto, invalidTaskDto))))
+                .andDo(print())
+                .andExpect(status().isBadRequest())
+                .andReturn()
+                .getResponse()
+                .getContentAsString(StandardCharsets.UTF_8);
+
+        ApiError apiError = objectMapper.readValue(result, ApiError.class);
+
+        assertThat("Field: [1].title. Error: Ошибка! Имя задачи может содержать минимум 2, " +
+                "максимум 250 символов. ", equalTo(apiError.getMessage()));
+        verify(taskService, never()).saveTasks(anyList());
+    }
+
+    @SneakyThrows
+    @Test
+    @DisplayName("обновлены задачи пакетом, когда задачи валидны, " +
+            "то ответ статус ок, и они обновляются")
+    void updateTasks_whenTasksValid_thenUpdatedTasks() {
+        UpdateTaskDto updateTaskDto = new UpdateTaskDto();
+        updateTaskDto.setId(2L);
+        updateTaskDto.setTitle("Title 2");
+        when(taskService.updateTasks(anyList())).thenReturn(List.of(taskDto2));
+
+        String result = mockMvc.perform(patch("/tasks/batch")
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(updateTaskDto))))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString(StandardCharsets.UTF_8);
+
+        assertThat(objectMapper.writeValueAsString(List.of(taskDto2)), equalTo(result));
+        verify(taskService, times(1)).updateTasks(anyList());
+    }
+
+    @SneakyThrows
+    @Test
+    @DisplayName("удалены задачи пакетом, когда вызвано, то ответ статус нет контента")
+    void deleteTasksByIds_whenInvoked_thenDeletedTasks() {
+        String result = mockMvc.perform(delete("/tasks/batch")
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(1L, 2L))))
+                .andDo(print())
+                .andExpect(status().isNoContent())
+                .andReturn()
+                .getResponse()
+                .getContentAsString(StandardCharsets.UTF_8);
+
+        assertThat(result, blankString());
+        verify(taskService, times(1)).deleteTasksByIds(List.of(1L, 2L));
+    }
+
+    @SneakyThrows
+    @Test
+    @DisplayName("удалены задачи пакетом, когда список пуст, то ответ статус бед реквест")
+    void deleteTasksByIds_whenEmpty_thenReturnedError() {
+        mockMvc.perform(delete("/tasks/batch")
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[]"))
+                .andDo(print())
+                .andExpect(status().isBadRequest());
+
+        verify(taskService, never()).deleteTasksByIds(anyList());
+    }
+
+}
@@ -0,0 +1,49 @@
+package com.example.task;
+
+import com.example.dto.NewTaskDto;
+import com.example.dto.TaskDto;
+import com.example.service.TaskService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.LocalDateTime;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.MOCK)
+@ActiveProfiles("test")
+@RequiredArgsConstructor(onConstructor = @__(@Autowired))
+class TaskDataSourceMetricsIntegrationTest {
+
+    private static final String POOL = "task-manager-pool";
+
+    private final TaskService taskService;
+    private final MeterRegistry meterRegistry;
+
+    @Test
+    @DisplayName("сохранена задача, когда вызвано, то время получения соединения из пула учитывается в метриках")
+    void saveTask_whenInvoked_thenPoolAcquireTimeRecorded() {
+        Timer acquire = meterRegistry.get("hikaricp.connections.acquire").tag("pool", POOL).timer();
+        long acquired = acquire.count();
+
+        NewTaskDto newTaskDto = new NewTaskDto();
+        newTaskDto.setTitle("task1");
+        newTaskDto.setDueDate(LocalDateTime.now().plusDays(7));
+        TaskDto taskDto = taskService.saveTask(newTaskDto);
+        taskService.deleteTaskById(taskDto.getId());
+
+        assertThat(acquire.count(), greaterThan(acquired));
+        assertThat(meterRegistry.get("hikaricp.connections.active").tag("pool", POOL).gauge().value(),
+                greaterThanOrEqualTo(0.0));
+        assertThat(meterRegistry.get("hikaricp.connections.idle").tag("pool", POOL).gauge().value(),
+                greaterThanOrEqualTo(0.0));
+    }
+
+}
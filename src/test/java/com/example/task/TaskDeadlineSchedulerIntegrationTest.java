@@ -0,0 +1,117 @@
+package com.example.task;
+
+import com.example.deadline.TaskDueEvent;
+import com.example.deadline.TaskDueSink;
+import com.example.dto.NewTaskDto;
+import com.example.dto.TaskDto;
+import com.example.dto.UpdateTaskDto;
+import com.example.service.TaskService;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+
+/**
+ * Сроки задач с тиком 100 мс; события собирает тестовый приёмник рядом с приёмником-логом.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.MOCK, properties = {
+        "task.due.tick=PT0.1S",
+        "task.due.overdue-after=PT1S"})
+@ActiveProfiles("test")
+@RequiredArgsConstructor(onConstructor = @__(@Autowired))
+class TaskDeadlineSchedulerIntegrationTest {
+
+    private final TaskService taskService;
+    private final CollectingTaskDueSink sink;
+
+    @BeforeEach
+    public void clearEvents() {
+        sink.events.clear();
+    }
+
+    @Test
+    @DisplayName("наступил срок задачи, когда она не выполнена, то приходит событие DUE, а затем OVERDUE")
+    void tick_whenDueDatePassed_thenDueAndOverdueFired() throws InterruptedException {
+        TaskDto task = taskService.saveTask(makeTaskDto(LocalDateTime.now().plusSeconds(1)));
+
+        awaitEvents(task.getId(), 2);
+
+        assertThat(types(task.getId()), contains(TaskDueEvent.Type.DUE, TaskDueEvent.Type.OVERDUE));
+    }
+
+    @Test
+    @DisplayName("наступил прежний срок задачи, когда срок перенесён, задача выполнена или удалена, то событий нет")
+    void tick_whenTaskPostponedCompletedOrDeleted_thenNothingFired() throws InterruptedException {
+        TaskDto postponed = taskService.saveTask(makeTaskDto(LocalDateTime.now().plusSeconds(1)));
+        TaskDto completed = taskService.saveTask(makeTaskDto(LocalDateTime.now().plusSeconds(1)));
+        TaskDto deleted = taskService.saveTask(makeTaskDto(LocalDateTime.now().plusSeconds(1)));
+        TaskDto control = taskService.saveTask(makeTaskDto(LocalDateTime.now().plusSeconds(1)));
+
+        UpdateTaskDto postpone = new UpdateTaskDto();
+        postpone.setDueDate(LocalDateTime.now().plusDays(1));
+        taskService.updateTask(postponed.getId(), postpone);
+        UpdateTaskDto complete = new UpdateTaskDto();
+        complete.setCompleted(true);
+        taskService.updateTask(completed.getId(), complete);
+        taskService.deleteTaskById(deleted.getId());
+        awaitEvents(control.getId(), 1);
+
+        assertThat(types(postponed.getId()), empty());
+        assertThat(types(completed.getId()), empty());
+        assertThat(types(deleted.getId()), empty());
+    }
+
+    private void awaitEvents(Long taskId, int expected) throws InterruptedException {
+        for (int i = 0; i < 100 && types(taskId).size() < expected; i++) {
+            Thread.sleep(50);
+        }
+    }
+
+    private List<TaskDueEvent.Type> types(Long taskId) {
+        return sink.events.stream()
+                .filter(event -> event.task().getId().equals(taskId))
+                .map(TaskDueEvent::type)
+                .toList();
+    }
+
+    private NewTaskDto makeTaskDto(LocalDateTime dueDate) {
+        NewTaskDto newTaskDto = new NewTaskDto();
+        newTaskDto.setTitle("task");
+        newTaskDto.setDueDate(dueDate);
+        return newTaskDto;
+    }
+
+    @TestConfiguration
+    static class SinkConfig {
+
+        @Bean
+        CollectingTaskDueSink collectingTaskDueSink() {
+            return new CollectingTaskDueSink();
+        }
+
+    }
+
+    static class CollectingTaskDueSink implements TaskDueSink {
+
+        private final List<TaskDueEvent> events = new CopyOnWriteArrayList<>();
+
+        @Override
+        public void accept(List<TaskDueEvent> batch) {
+            events.addAll(batch);
+        }
+
+    }
+
+}
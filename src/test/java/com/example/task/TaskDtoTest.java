@@ -3,13 +3,19 @@ package com.example.task;
 import com.example.dto.TaskDto;
 import com.example.dto.NewTaskDto;
 import com.example.dto.UpdateTaskDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import java.time.LocalDateTime;
+import java.util.List;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.json.JsonTest;
 import org.springframework.boot.test.json.JacksonTester;
 import org.springframework.boot.test.json.JsonContent;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
 
 import static com.example.util.DateTimeConstant.FORMATTER_FOR_DATETIME;
 import static org.assertj.core.api.Assertions.assertThat;
@@ -26,6 +32,9 @@ class TaskDtoTest {
     @Autowired
     private JacksonTester<UpdateTaskDto> jsonUpdate;
 
+    @Autowired
+    private ObjectMapper objectMapper;
+
     @Test
     @DisplayName("получена ДТО задачи, когда вызвана сериализация, " +
             "то получена сериализованная задача")
@@ -101,4 +110,23 @@ class TaskDtoTest {
                 .isEqualTo(taskDto.getCompleted().booleanValue());
     }
 
+    @Test
+    @DisplayName("получены ДТО задач, когда вызвана сериализация, " +
+            "то результат совпадает байт в байт с сериализацией по аннотациям")
+    void testTaskDtoSerializerMatchesReflection() throws Exception {
+        ObjectWriter reflection = Jackson2ObjectMapperBuilder.json().build().writer();
+        List<TaskDto> taskDtos = List.of(
+                new TaskDto(1L, "Title 1", "Description 1", LocalDateTime.of(2030, 1, 2, 3, 4, 5, 6), false, 0L),
+                new TaskDto(Long.MAX_VALUE, "Задача \"в кавычках\"\n\t\\", "</script>\u2028",
+                        LocalDateTime.of(1, 12, 31, 23, 59, 59), true, 7L),
+                new TaskDto(2L, "Title 2", null, LocalDateTime.of(12345, 6, 7, 8, 9, 10), null, null),
+                new TaskDto(null, null, null, null, null, null));
+
+        for (TaskDto taskDto : taskDtos) {
+            assertThat(objectMapper.writeValueAsBytes(taskDto)).isEqualTo(reflection.writeValueAsBytes(taskDto));
+        }
+        PageImpl<TaskDto> page = new PageImpl<>(taskDtos, PageRequest.of(0, 10), 100);
+        assertThat(objectMapper.writeValueAsBytes(page)).isEqualTo(reflection.writeValueAsBytes(page));
+    }
+
 }
\ No newline at end of file
@@ -0,0 +1,98 @@
+package com.example.task;
+
+import com.example.dto.NewTaskDto;
+import com.example.dto.TaskDto;
+import com.example.dto.TaskImportResult;
+import com.example.service.TaskImporter;
+import com.example.service.TaskService;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import jakarta.validation.Validation;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.startsWith;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TaskImporterTest {
+
+    private static final String VALID_LINE = "{\"title\":\"Сходить в кино\",\"dueDate\":\"2030-06-15 19:00:00\"}";
+    private static final String INVALID_LINE = "{\"title\":\"1\",\"dueDate\":\"2030-06-15 19:00:00\"}";
+
+    @Mock
+    private TaskService taskService;
+
+    private TaskImporter taskImporter;
+
+    private final AtomicLong ids = new AtomicLong();
+
+    @BeforeEach
+    public void createImporter() {
+        taskImporter = new TaskImporter(taskService, JsonMapper.builder().findAndAddModules().build(),
+                Validation.buildDefaultValidatorFactory().getValidator(), 2, 100);
+    }
+
+    @Test
+    @DisplayName("импортированы задачи, когда строки валидны и нет, " +
+            "тогда валидные сохраняются пакетами, а по каждой строке есть результат")
+    void importTasks_whenMixedLines_thenValidSavedInBatchesAndResultPerLine() throws Exception {
+        when(taskService.saveTasks(anyList())).thenAnswer(invocation -> {
+            List<NewTaskDto> newTaskDtos = invocation.getArgument(0);
+            return newTaskDtos.stream().map(newTaskDto -> {
+                TaskDto taskDto = new TaskDto();
+                taskDto.setId(ids.incrementAndGet());
+                return taskDto;
+            }).toList();
+        });
+        String input = String.join("\n", VALID_LINE, INVALID_LINE, "{не json", "", VALID_LINE, VALID_LINE);
+        List<TaskImportResult> results = new ArrayList<>();
+
+        taskImporter.importTasks(new StringReader(input), results::add);
+
+        assertThat(results.stream().map(TaskImportResult::getLine).toList(), contains(1L, 2L, 3L, 5L, 6L));
+        assertThat(results.stream().map(TaskImportResult::getStatus).toList(), contains(
+                TaskImportResult.Status.CREATED, TaskImportResult.Status.INVALID, TaskImportResult.Status.INVALID,
+                TaskImportResult.Status.CREATED, TaskImportResult.Status.CREATED));
+        assertThat(results.stream().map(TaskImportResult::getId).toList(), contains(1L, null, null, 2L, 3L));
+        assertThat(results.get(1).getErrors().get(0), startsWith("Field: title."));
+        assertThat(results.get(2).getErrors().get(0), startsWith("Некорректный JSON"));
+        verify(taskService, times(3)).saveTasks(anyList());
+    }
+
+    @Test
+    @DisplayName("импортированы задачи, когда пакет не сохранён, тогда строки пакета помечаются ошибкой")
+    void importTasks_whenBatchNotSaved_thenLinesFailed() throws Exception {
+        when(taskService.saveTasks(anyList())).thenThrow(new IllegalStateException("Нет соединения."));
+        List<TaskImportResult> results = new ArrayList<>();
+
+        taskImporter.importTasks(new StringReader(VALID_LINE + "\n"), results::add);
+
+        assertThat(1, equalTo(results.size()));
+        assertThat(TaskImportResult.Status.FAILED, equalTo(results.get(0).getStatus()));
+        assertThat(List.of("Нет соединения."), equalTo(results.get(0).getErrors()));
+    }
+
+    @Test
+    @DisplayName("импортированы задачи, когда строка слишком длинная, тогда она отклоняется без разбора")
+    void importTasks_whenLineTooLong_thenLineRejected() throws Exception {
+        List<TaskImportResult> results = new ArrayList<>();
+
+        taskImporter.importTasks(new StringReader("x".repeat(101) + "\n" + INVALID_LINE), results::add);
+
+        assertThat(results.stream().map(TaskImportResult::getLine).toList(), contains(1L, 2L));
+        assertThat(List.of("Строка длиннее 100 символов."), equalTo(results.get(0).getErrors()));
+        verify(taskService, never()).saveTasks(anyList());
+    }
+
+}
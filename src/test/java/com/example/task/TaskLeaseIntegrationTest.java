@@ -0,0 +1,111 @@
+package com.example.task;
+
+import com.example.lease.TaskLeaseService;
+import com.example.lease.TaskShardLease;
+import com.example.repository.TaskLeaseNodeRepository;
+import com.example.repository.TaskLeaseRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasSize;
+
+/**
+ * Продление аренды по расписанию отключено: узел контекста и второй узел на той же БД продлевают аренду
+ * явным вызовом.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.MOCK, properties = "task.lease.renew-interval=PT1H")
+@ActiveProfiles("test")
+@RequiredArgsConstructor(onConstructor = @__(@Autowired))
+class TaskLeaseIntegrationTest {
+
+    private final TaskLeaseService taskLeaseService;
+    private final TaskLeaseRepository taskLeaseRepository;
+    private final TaskLeaseNodeRepository taskLeaseNodeRepository;
+    private final PlatformTransactionManager transactionManager;
+
+    @Test
+    @DisplayName("продлена аренда, когда появился второй узел, то шарды делятся поровну, а после его остановки возвращаются")
+    void renew_whenSecondNodeJoinsAndLeaves_thenShardsRebalanced() {
+        TaskLeaseService other = makeNode("node-b");
+        TaskShardLease lease = taskLeaseService.register("test-rebalance", 4);
+        TaskShardLease otherLease = other.register("test-rebalance", 4);
+
+        taskLeaseService.renew();
+        assertThat(lease.ownedShards(), equalTo(Set.of(0, 1, 2, 3)));
+        other.renew();
+        assertThat(otherLease.ownedShards(), empty());
+        taskLeaseService.renew();
+        other.renew();
+
+        assertThat(lease.ownedShards(), hasSize(2));
+        assertThat(otherLease.ownedShards(), hasSize(2));
+        Set<Integer> all = new HashSet<>(lease.ownedShards());
+        all.addAll(otherLease.ownedShards());
+        assertThat(all, equalTo(Set.of(0, 1, 2, 3)));
+
+        other.release();
+        taskLeaseService.renew();
+        assertThat(otherLease.ownedShards(), empty());
+        assertThat(lease.ownedShards(), equalTo(Set.of(0, 1, 2, 3)));
+    }
+
+    /**
+     * В PostgreSQL заблокированные строки пропускаются (for no key update skip locked); диалект H2 skip locked
+     * не поддерживает, и узел оставляет работу до следующего продления по таймауту блокировки.
+     */
+    @Test
+    @DisplayName("продлена аренда, когда шарды заблокированы другим узлом, то они не захватываются до следующего продления")
+    void renew_whenShardsLockedByOtherNode_thenNotClaimed() throws Exception {
+        TaskShardLease lease = taskLeaseService.register("test-skip-locked", 2);
+        taskLeaseService.renew();
+        taskLeaseService.release();
+        CountDownLatch locked = new CountDownLatch(1);
+        CountDownLatch renewed = new CountDownLatch(1);
+
+        CompletableFuture<Void> other = CompletableFuture.runAsync(() ->
+                new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                    taskLeaseRepository.findClaimable("test-skip-locked", "node-c", LocalDateTime.now());
+                    locked.countDown();
+                    await(renewed);
+                }));
+        locked.await(10, TimeUnit.SECONDS);
+        taskLeaseService.renew();
+        renewed.countDown();
+        other.get(10, TimeUnit.SECONDS);
+
+        assertThat(lease.ownedShards(), empty());
+        taskLeaseService.renew();
+        assertThat(lease.ownedShards(), equalTo(Set.of(0, 1)));
+    }
+
+    private TaskLeaseService makeNode(String nodeId) {
+        return new TaskLeaseService(taskLeaseRepository, taskLeaseNodeRepository, transactionManager,
+                new SimpleMeterRegistry(), nodeId, Duration.ofSeconds(15));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+}
@@ -0,0 +1,129 @@
+package com.example.task;
+
+import com.example.dto.NewTaskDto;
+import com.example.dto.TaskDto;
+import com.example.service.TaskService;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import jakarta.servlet.Filter;
+import lombok.RequiredArgsConstructor;
+import lombok.SneakyThrows;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+/**
+ * Нагрузочный тест GET /tasks/{id}: запускается задачей gradle loadTest, режим потоков задаётся
+ * -PvirtualThreads. Ожидание ответа Postgres моделируется фильтром с блокирующей задержкой,
+ * кеш задач выключен, чтобы каждый запрос доходил до БД.
+ */
+@Tag("load")
+@Slf4j
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.cache.type=none",
+        "server.tomcat.threads.max=50",
+        "spring.datasource.hikari.maximum-pool-size=50",
+        "logging.level.org.springframework.orm.jpa=WARN",
+        "logging.level.org.springframework.transaction=WARN",
+        "logging.level.org.springframework.security=WARN"})
+@ActiveProfiles("test")
+@RequiredArgsConstructor(onConstructor = @__(@Autowired))
+class TaskLoadTest {
+
+    private static final int REQUESTS = 10_000;
+    private static final int CONCURRENCY = 500;
+    private static final long BLOCKING_MILLIS = 20;
+
+    private final TaskService taskService;
+
+    @LocalServerPort
+    private int port;
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    @SneakyThrows
+    @Test
+    @DisplayName("получена задача по ид, когда запросов много и они параллельны, то все успешны и задержки измерены")
+    void getTaskById_whenHighConcurrency_thenAllOkAndLatencyReported() {
+        NewTaskDto newTaskDto = new NewTaskDto();
+        newTaskDto.setTitle("task1");
+        newTaskDto.setDueDate(LocalDateTime.now().plusDays(7));
+        TaskDto taskDto = taskService.saveTask(newTaskDto);
+        HttpClient client = HttpClient.newHttpClient();
+        HttpRequest request = HttpRequest.newBuilder(
+                URI.create("http://localhost:" + port + "/tasks/" + taskDto.getId())).GET().build();
+
+        List<Long> latencies = Collections.synchronizedList(new ArrayList<>(REQUESTS));
+        AtomicInteger failures = new AtomicInteger();
+        Semaphore inFlight = new Semaphore(CONCURRENCY);
+        List<CompletableFuture<?>> futures = new ArrayList<>(REQUESTS);
+        long started = System.nanoTime();
+        for (int i = 0; i < REQUESTS; i++) {
+            inFlight.acquire();
+            long sent = System.nanoTime();
+            futures.add(client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((response, e) -> {
+                        inFlight.release();
+                        latencies.add(System.nanoTime() - sent);
+                        if (e != null || response.statusCode() != 200) failures.incrementAndGet();
+                    }));
+        }
+        CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).join();
+        long elapsed = System.nanoTime() - started;
+
+        List<Long> sorted = latencies.stream().sorted().toList();
+        log.info("GET /tasks/{id}: Java {}, виртуальные потоки = {}, запросов = {}, параллельно = {}, " +
+                        "запросов в секунду = {}, p50 = {} мс, p99 = {} мс, max = {} мс.",
+                Runtime.version().feature(), virtualThreads, REQUESTS, CONCURRENCY,
+                REQUESTS * 1_000_000_000L / elapsed, percentile(sorted, 0.50), percentile(sorted, 0.99),
+                sorted.get(sorted.size() - 1) / 1_000_000);
+        assertThat(failures.get(), equalTo(0));
+        taskService.deleteTaskById(taskDto.getId());
+    }
+
+    private static long percentile(List<Long> sorted, double percentile) {
+        return sorted.get((int) Math.ceil(percentile * sorted.size()) - 1) / 1_000_000;
+    }
+
+    @TestConfiguration
+    static class BlockingLatencyConfig {
+
+        @Bean
+        public FilterRegistrationBean<Filter> blockingLatencyFilter() {
+            FilterRegistrationBean<Filter> registration = new FilterRegistrationBean<>((request, response, chain) -> {
+                try {
+                    Thread.sleep(BLOCKING_MILLIS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                chain.doFilter(request, response);
+            });
+            registration.addUrlPatterns("/tasks/*");
+            return registration;
+        }
+
+    }
+
+}
@@ -0,0 +1,78 @@
+package com.example.task;
+
+import com.example.dto.NewTaskDto;
+import com.example.dto.TaskDto;
+import com.example.service.TaskService;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.LocalDateTime;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.MOCK)
+@AutoConfigureMockMvc
+@AutoConfigureObservability(tracing = false)
+@ActiveProfiles("test")
+@RequiredArgsConstructor(onConstructor = @__(@Autowired))
+class TaskMetricsIntegrationTest {
+
+    private final MockMvc mockMvc;
+    private final TaskService taskService;
+    private final MeterRegistry meterRegistry;
+
+    private TaskDto taskDto;
+
+    @BeforeEach
+    public void addTask() {
+        NewTaskDto newTaskDto = new NewTaskDto();
+        newTaskDto.setTitle("task1");
+        newTaskDto.setDueDate(LocalDateTime.now().plusDays(7));
+        taskDto = taskService.saveTask(newTaskDto);
+    }
+
+    @AfterEach
+    public void deleteTask() {
+        taskService.deleteTaskById(taskDto.getId());
+    }
+
+    @Test
+    @DisplayName("получены список задач и задача, когда вызвано, то учтены время запросов, маппинга и число строк")
+    void getAllTasks_whenInvoked_thenHotPathMetricsRecorded() throws Exception {
+        mockMvc.perform(get("/tasks")).andExpect(status().isOk());
+        mockMvc.perform(get("/tasks/{id}", taskDto.getId())).andExpect(status().isOk());
+
+        assertThat(meterRegistry.get("http.server.requests").tag("uri", "/tasks").timer().count(), greaterThan(0L));
+        assertThat(meterRegistry.get("spring.data.repository.invocations")
+                .tag("repository", "TaskRepository").tag("method", "findAllByParams").timer().count(), greaterThan(0L));
+        assertThat(meterRegistry.get("task.mapper").tag("method", "toTaskDto").timer().count(), greaterThan(0L));
+        assertThat(meterRegistry.get("task.repository.rows").tag("method", "findAllByParams").summary().max(),
+                greaterThan(0.0));
+    }
+
+    @Test
+    @DisplayName("запрошены метрики Prometheus, когда вызвано, то отдаются бакеты гистограммы запросов")
+    void prometheus_whenInvoked_thenHistogramBucketsExposed() throws Exception {
+        mockMvc.perform(get("/tasks")).andExpect(status().isOk());
+
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("http_server_requests_seconds_bucket")))
+                .andExpect(content().string(containsString("task_repository_rows_bucket")));
+    }
+
+}
@@ -0,0 +1,207 @@
+package com.example.task;
+
+import com.example.repository.TaskDeadline;
+import com.example.repository.TaskRepository;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Stream;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.not;
+
+/**
+ * Планы запросов, которые приложение действительно выполняет: запрос вызывается через репозиторий,
+ * сгенерированный Hibernate SQL и привязанные параметры записываются на уровне JDBC и повторяются под explain.
+ */
+@DataJpaTest
+class TaskQueryPlanTest {
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    // Встроенная БД теста создаётся FactoryBean, поэтому по типу обёртка не находится.
+    @Autowired
+    private DataSource dataSource;
+
+    private final LocalDateTime dateStart = LocalDateTime.now();
+    private final LocalDateTime dateEnd = LocalDateTime.now().plusYears(100);
+
+    @BeforeEach
+    public void clearRecorded() {
+        recording().queries.clear();
+    }
+
+    @Test
+    @DisplayName("план запроса списка задач, когда статус не задан, то используется индекс по сроку")
+    void findAllByParams_whenCompletedNull_thenDueDateIndexUsed() throws Exception {
+        taskRepository.findAllByParams(null, dateStart, dateEnd, PageRequest.of(0, 10, Sort.by("id")));
+
+        String plan = explainLast();
+
+        assertThat(plan, containsString("IDX_TASKS_DUE_DATE_ID"));
+        assertThat(plan, not(containsString("tableScan")));
+    }
+
+    @Test
+    @DisplayName("план запроса списка задач, когда статус задан, то используется индекс")
+    void findAllByParams_whenCompletedSet_thenIndexUsed() throws Exception {
+        taskRepository.findAllByParams(false, dateStart, dateEnd, PageRequest.of(0, 10, Sort.by("id")));
+
+        String plan = explainLast();
+
+        assertThat(plan, containsString("IDX_TASKS_DUE_DATE_ID"));
+        assertThat(plan, not(containsString("tableScan")));
+    }
+
+    @Test
+    @DisplayName("план запроса задач по курсору, когда вызван, то чтение начинается с курсора по первичному ключу " +
+            "без сортировки")
+    void findAllByParamsAfter_whenInvoked_thenPrimaryKeyRangeUsed() throws Exception {
+        taskRepository.findAllByParamsAfter(false, dateStart, dateEnd, 100L, Limit.of(10));
+
+        String plan = explainLast();
+
+        assertThat(plan, containsString("PRIMARY_KEY"));
+        assertThat(plan, containsString("index sorted"));
+        assertThat(plan, not(containsString("tableScan")));
+    }
+
+    @Test
+    @DisplayName("план запроса задач для архива по статусу и сроку, когда вызван, то используется составной индекс")
+    void findArchivable_whenInvoked_thenCompositeIndexUsed() throws Exception {
+        taskRepository.findArchivable(dateStart, Limit.of(10));
+
+        String plan = explainLast();
+
+        assertThat(plan, containsString("IDX_TASKS_COMPLETED_DUE_DATE_ID"));
+        assertThat(plan, not(containsString("tableScan")));
+    }
+
+    @Test
+    @DisplayName("план запроса сроков задач шардов узла, когда вызван, то используется индекс по корзине шарда " +
+            "и сроку")
+    void streamOpenByDueDate_whenInvoked_thenShardBucketIndexUsed() throws Exception {
+        try (Stream<TaskDeadline> deadlines = taskRepository.streamOpenByDueDate(dateStart, dateStart.plusHours(1),
+                List.of(3, 19, 35))) {
+            deadlines.forEach(deadline -> { });
+        }
+
+        String plan = explainLast();
+
+        assertThat(plan, containsString("IDX_TASKS_SHARD_BUCKET_DUE_DATE"));
+        assertThat(plan, not(containsString("tableScan")));
+    }
+
+    private String explainLast() throws Exception {
+        List<RecordedQuery> queries = recording().queries;
+        RecordedQuery query = queries.get(queries.size() - 1);
+        try (Connection connection = recording().getTargetDataSource().getConnection();
+             PreparedStatement statement = connection.prepareStatement("explain " + query.sql())) {
+            for (Binding binding : query.bindings()) {
+                binding.method().invoke(statement, binding.args());
+            }
+            try (ResultSet resultSet = statement.executeQuery()) {
+                resultSet.next();
+                return resultSet.getString(1);
+            }
+        }
+    }
+
+    private RecordingDataSource recording() {
+        return (RecordingDataSource) dataSource;
+    }
+
+    @TestConfiguration
+    static class RecordingConfig {
+
+        @Bean
+        static BeanPostProcessor recordingDataSourcePostProcessor() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    return bean instanceof DataSource dataSource && !(bean instanceof RecordingDataSource) ?
+                            new RecordingDataSource(dataSource) : bean;
+                }
+            };
+        }
+
+    }
+
+    /**
+     * Записывает SQL и привязку параметров каждого выполненного PreparedStatement.
+     */
+    static class RecordingDataSource extends DelegatingDataSource {
+
+        private final List<RecordedQuery> queries = new CopyOnWriteArrayList<>();
+
+        RecordingDataSource(DataSource target) {
+            super(target);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            Connection connection = super.getConnection();
+            return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{Connection.class},
+                    (proxy, method, args) -> {
+                        Object result = invoke(connection, method, args);
+                        return method.getName().equals("prepareStatement") ?
+                                recording((PreparedStatement) result, (String) args[0]) : result;
+                    });
+        }
+
+        private PreparedStatement recording(PreparedStatement statement, String sql) {
+            List<Binding> bindings = new ArrayList<>();
+            return (PreparedStatement) Proxy.newProxyInstance(getClass().getClassLoader(),
+                    new Class<?>[]{PreparedStatement.class}, (proxy, method, args) -> {
+                        if (method.getName().startsWith("set") && args != null && args.length >= 2
+                                && args[0] instanceof Integer) {
+                            bindings.add(new Binding(method, args));
+                        } else if (method.getName().equals("clearParameters")) {
+                            bindings.clear();
+                        } else if (method.getName().startsWith("execute")) {
+                            queries.add(new RecordedQuery(sql, List.copyOf(bindings)));
+                        }
+                        return invoke(statement, method, args);
+                    });
+        }
+
+        private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+
+    }
+
+    record RecordedQuery(String sql, List<Binding> bindings) {
+    }
+
+    record Binding(Method method, Object[] args) {
+    }
+
+}
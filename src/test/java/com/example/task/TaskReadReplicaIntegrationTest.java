@@ -0,0 +1,188 @@
+package com.example.task;
+
+import com.example.datasource.ClientWrites;
+import com.example.dto.NewTaskDto;
+import com.example.dto.TaskDto;
+import com.example.dto.TaskTotalMode;
+import com.example.dto.UpdateTaskDto;
+import com.example.service.TaskService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.Cookie;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.CompletableFuture;
+import lombok.RequiredArgsConstructor;
+import lombok.SneakyThrows;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.notNullValue;
+import static com.example.util.DateTimeConstant.PATTERN_FOR_DATETIME;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Реплика - отдельная БД H2 с той же схемой, но без данных: задача, попавшая в список после записи,
+ * прочитана из основной БД, а не попавшая - из реплики. Маршрут проверяется по списку задач: задача по ид
+ * всегда читается из основной БД. Задача для чтения создаётся вне HTTP-запроса, как запись фоновой задачи.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.MOCK, properties = {
+        "task.datasource.replicas.enabled=true",
+        "task.datasource.replicas.urls=" + TaskReadReplicaIntegrationTest.REPLICA_URL,
+        "task.datasource.replicas.lag-query=select 0",
+        "task.datasource.replicas.read-your-writes-window=PT0.3S"})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@RequiredArgsConstructor(onConstructor = @__(@Autowired))
+class TaskReadReplicaIntegrationTest {
+
+    static final String REPLICA_URL = "jdbc:h2:mem:task-manager-replica;DB_CLOSE_DELAY=-1";
+
+    private static final DateTimeFormatter DUE_DATE_FORMATTER = DateTimeFormatter.ofPattern(PATTERN_FOR_DATETIME);
+
+    private final MockMvc mockMvc;
+    private final ObjectMapper objectMapper;
+    private final TaskService taskService;
+
+    private final JdbcTemplate jdbcTemplate = new JdbcTemplate(new DriverManagerDataSource(REPLICA_URL, "test", "test"));
+    private TaskDto taskDto;
+
+    @BeforeAll
+    static void migrateReplica() {
+        Flyway.configure()
+                .dataSource(REPLICA_URL, "test", "test")
+                .locations("classpath:db/migration", "classpath:db/vendor/h2")
+                .load()
+                .migrate();
+    }
+
+    @BeforeEach
+    public void addTask() {
+        taskDto = CompletableFuture.supplyAsync(() -> taskService.saveTask(makeTaskDto())).join();
+    }
+
+    @AfterEach
+    public void deleteTask() {
+        taskService.deleteTaskById(taskDto.getId());
+    }
+
+    @SneakyThrows
+    @Test
+    @DisplayName("получен список задач сразу после записи вне HTTP-запроса, когда клиент не писал, " +
+            "то чтение выполняется в реплике")
+    void getAllTasks_whenWrittenOutsideRequest_thenReadFromReplica() {
+        assertThat(listed(taskDto, null), is(false));
+    }
+
+    @SneakyThrows
+    @Test
+    @DisplayName("получен список задач с cookie записи клиента, когда окно чтения своих записей не истекло, " +
+            "то чтение выполняется в основной БД")
+    void getAllTasks_whenClientRecentlyWritten_thenReadFromPrimary() {
+        MockHttpServletResponse response = mockMvc.perform(post("/tasks")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(makeTaskDto())))
+                .andExpect(status().isCreated())
+                .andReturn()
+                .getResponse();
+        Cookie lastWrite = response.getCookie(ClientWrites.COOKIE);
+        assertThat(lastWrite, notNullValue());
+
+        assertThat(listed(taskDto, lastWrite), is(true));
+        taskService.deleteTaskById(objectMapper.readValue(response.getContentAsString(), TaskDto.class).getId());
+    }
+
+    @SneakyThrows
+    @Test
+    @DisplayName("получен список задач с cookie записи клиента, когда окно чтения своих записей истекло, " +
+            "то чтение выполняется в реплике")
+    void getAllTasks_whenClientWriteWindowPassed_thenReadFromReplica() {
+        Cookie lastWrite = new Cookie(ClientWrites.COOKIE, Long.toString(System.currentTimeMillis() - 1000));
+
+        assertThat(listed(taskDto, lastWrite), is(false));
+    }
+
+    @SneakyThrows
+    @Test
+    @DisplayName("получена задача по ид записавшим клиентом, когда после записи её загрузил в кеш другой клиент, " +
+            "а реплика содержит прежнее состояние, то возвращается записанное состояние")
+    void getTaskById_whenCachedByOtherClientWhileReplicaLags_thenWriterReadsOwnWrite() {
+        jdbcTemplate.update("insert into tasks (tasks_id, tasks_title, tasks_due_date, tasks_version) " +
+                "values (?, ?, ?, ?)", taskDto.getId(), taskDto.getTitle(), taskDto.getDueDate(), taskDto.getVersion());
+        try {
+            UpdateTaskDto updateTaskDto = new UpdateTaskDto();
+            updateTaskDto.setTitle("task2");
+            Cookie lastWrite = mockMvc.perform(put("/tasks/{id}", taskDto.getId())
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(updateTaskDto)))
+                    .andExpect(status().isOk())
+                    .andReturn()
+                    .getResponse()
+                    .getCookie(ClientWrites.COOKIE);
+            assertThat(lastWrite, notNullValue());
+
+            mockMvc.perform(get("/tasks/{id}", taskDto.getId()))
+                    .andExpect(status().isOk());
+            String result = mockMvc.perform(get("/tasks/{id}", taskDto.getId()).cookie(lastWrite))
+                    .andExpect(status().isOk())
+                    .andReturn()
+                    .getResponse()
+                    .getContentAsString(StandardCharsets.UTF_8);
+
+            assertThat(objectMapper.readValue(result, TaskDto.class).getTitle(), equalTo("task2"));
+        } finally {
+            jdbcTemplate.update("delete from tasks where tasks_id = ?", taskDto.getId());
+        }
+    }
+
+    @SneakyThrows
+    private boolean listed(TaskDto task, Cookie lastWrite) {
+        MockHttpServletRequestBuilder request = get("/tasks")
+                .param("dateEnd", task.getDueDate().plusSeconds(1).format(DUE_DATE_FORMATTER))
+                .param("size", "500")
+                .param("total", TaskTotalMode.NONE.name());
+        if (lastWrite != null) {
+            request.cookie(lastWrite);
+        }
+        String result = mockMvc.perform(request)
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString(StandardCharsets.UTF_8);
+        for (JsonNode listedTask : objectMapper.readTree(result).get("content")) {
+            if (listedTask.get("id").asLong() == task.getId()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private NewTaskDto makeTaskDto() {
+        NewTaskDto newTaskDto = new NewTaskDto();
+        newTaskDto.setTitle("task1");
+        newTaskDto.setDueDate(LocalDateTime.now().plusDays(7));
+        return newTaskDto;
+    }
+
+}
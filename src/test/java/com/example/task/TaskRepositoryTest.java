@@ -1,18 +1,26 @@
 package com.example.task;
 
+import com.example.dto.TaskDto;
+import com.example.lease.TaskShardLease;
 import com.example.model.Task;
+import com.example.repository.TaskDeadline;
 import com.example.repository.TaskRepository;
+import jakarta.persistence.Tuple;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Stream;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.*;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.equalTo;
@@ -57,13 +65,56 @@ class TaskRepositoryTest {
     @DisplayName("получен список задач по доступности, когда вызвано, то получен список")
     void findAllByParams_whenInvoked_thenReturnedTasksCollectionInPage() {
         Pageable page = PageRequest.of(0, 10);
-        Page<Task> tasksPage = taskRepository.findAllByParams(
+        Page<TaskDto> tasksPage = taskRepository.findAllByParams(
                 false, LocalDateTime.now(), LocalDateTime.now().plusYears(100), page);
-        List<Task> tasks = tasksPage.getContent();
+        List<TaskDto> tasks = tasksPage.getContent();
 
         assertThat(2, equalTo(tasks.size()));
-        assertThat(task2, equalTo(tasks.get(0)));
-        assertThat(task3, equalTo(tasks.get(1)));
+        assertThat(task2.getId(), equalTo(tasks.get(0).getId()));
+        assertThat(task2.getTitle(), equalTo(tasks.get(0).getTitle()));
+        assertThat(task3.getId(), equalTo(tasks.get(1).getId()));
     }
 
-}
\ No newline at end of file
+    @Test
+    @DisplayName("получен список задач после курсора, когда вызвано, то получены задачи с id больше курсора")
+    void findAllByParamsAfter_whenInvoked_thenReturnedTasksAfterId() {
+        List<TaskDto> tasks = taskRepository.findAllByParamsAfter(
+                null, LocalDateTime.now(), LocalDateTime.now().plusYears(100), task1.getId(), Limit.of(1));
+
+        assertThat(1, equalTo(tasks.size()));
+        assertThat(task2.getId(), equalTo(tasks.get(0).getId()));
+    }
+
+    @Test
+    @DisplayName("получены сроки невыполненных задач корзин шардов, когда вызвано, то получены только задачи " +
+            "этих корзин")
+    void streamOpenByDueDate_whenInvoked_thenReturnedOnlyBucketTasks() {
+        int bucket = Math.floorMod(task2.getId(), TaskShardLease.BUCKETS);
+
+        List<TaskDeadline> deadlines;
+        try (Stream<TaskDeadline> stream = taskRepository.streamOpenByDueDate(
+                LocalDateTime.now(), LocalDateTime.now().plusYears(100), List.of(bucket))) {
+            deadlines = stream.toList();
+        }
+
+        assertThat(1, equalTo(deadlines.size()));
+        assertThat(task2.getId(), equalTo(deadlines.get(0).getId()));
+        assertThat(task2.getVersion(), equalTo(deadlines.get(0).getVersion()));
+    }
+
+    @Test
+    @DisplayName("получен срез задач с выбранными полями, когда вызвано, то выбраны только эти поля")
+    void findFieldsByParams_whenInvoked_thenReturnedOnlySelectedFields() {
+        Slice<Tuple> tasksSlice = taskRepository.findFieldsByParams(List.of("id", "title"), false,
+                LocalDateTime.now(), LocalDateTime.now().plusYears(100),
+                PageRequest.of(0, 1, Sort.by(Sort.Direction.ASC, "id")));
+
+        assertThat(1, equalTo(tasksSlice.getNumberOfElements()));
+        assertThat(true, equalTo(tasksSlice.hasNext()));
+        Tuple tuple = tasksSlice.getContent().get(0);
+        assertThat(2, equalTo(tuple.getElements().size()));
+        assertThat(task2.getId(), equalTo(tuple.get("id")));
+        assertThat(task2.getTitle(), equalTo(tuple.get("title")));
+    }
+
+}
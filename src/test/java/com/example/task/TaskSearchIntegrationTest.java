@@ -0,0 +1,125 @@
+package com.example.task;
+
+import com.example.dto.NewTaskDto;
+import com.example.dto.TaskDto;
+import com.example.exception.BadRequestException;
+import com.example.search.TaskSearch;
+import com.example.service.TaskService;
+import java.time.LocalDateTime;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Slice;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Поиск профиля test - индекс в памяти, который обновляется по ленте изменений после фиксации.
+ * Ранжируется не больше двух совпадений, чтобы слово из всех трёх задач теста было слишком общим.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.MOCK, properties = "task.search.max-candidates=2")
+@ActiveProfiles("test")
+@RequiredArgsConstructor(onConstructor = @__(@Autowired))
+class TaskSearchIntegrationTest {
+
+    private final TaskService taskService;
+    private final TaskSearch taskSearch;
+
+    private TaskDto cinema;
+    private TaskDto tickets;
+    private TaskDto flowers;
+
+    @BeforeEach
+    public void addTasks() throws InterruptedException {
+        cinema = taskService.saveTask(makeTaskDto("Сходить в кино", "Летом начался новый фильм, надо сходить"));
+        tickets = taskService.saveTask(makeTaskDto("Купить билеты", "Билеты в кино на вечер"));
+        flowers = taskService.saveTask(makeTaskDto("Полить цветы", "Цветы на балконе"));
+        awaitIndexed("балкон", 1);
+    }
+
+    @AfterEach
+    public void deleteTasks() throws InterruptedException {
+        taskService.deleteTasksByIds(List.of(cinema.getId(), tickets.getId(), flowers.getId()));
+        awaitIndexed("кино", 0);
+    }
+
+    @Test
+    @DisplayName("найдены задачи по префиксу, когда слово есть в имени и описании, то совпадение в имени выше")
+    void search_whenPrefixMatchesTitleAndDescription_thenTitleMatchRankedFirst() {
+        Slice<TaskDto> tasks = taskSearch.search("КИН", 0, 10);
+
+        assertThat(tasks.getContent().stream().map(TaskDto::getId).toList(),
+                contains(cinema.getId(), tickets.getId()));
+    }
+
+    @Test
+    @DisplayName("найдены задачи по нескольким словам, когда вызвано, то найдены задачи со всеми словами")
+    void search_whenSeveralTerms_thenAllTermsRequired() {
+        Slice<TaskDto> tasks = taskSearch.search("кино, билет", 0, 10);
+
+        assertThat(tasks.getContent().stream().map(TaskDto::getId).toList(), contains(tickets.getId()));
+    }
+
+    @Test
+    @DisplayName("найдены задачи постранично, когда есть следующая страница, то срез сообщает о ней")
+    void search_whenMoreHits_thenSliceHasNext() {
+        Slice<TaskDto> first = taskSearch.search("кино", 0, 1);
+        Slice<TaskDto> second = taskSearch.search("кино", 1, 1);
+
+        assertThat(first.hasNext(), equalTo(true));
+        assertThat(second.hasNext(), equalTo(false));
+        assertThat(second.getContent().get(0).getId(), equalTo(tickets.getId()));
+    }
+
+    @Test
+    @DisplayName("найдены задачи, когда задача удалена, то она исключается из индекса")
+    void search_whenTaskDeleted_thenNotFound() throws InterruptedException {
+        taskService.deleteTaskById(flowers.getId());
+
+        awaitIndexed("балкон", 0);
+        assertThat(taskSearch.search("цвет", 0, 10).getContent(), empty());
+    }
+
+    @Test
+    @DisplayName("найдены задачи, когда в запросе нет слов, тогда выбрасывается исключение")
+    void search_whenNoTerms_thenExceptionThrown() {
+        assertThrows(BadRequestException.class, () -> taskSearch.search(" ,.!", 0, 10));
+    }
+
+    @Test
+    @DisplayName("найдены задачи, когда совпадений больше max-candidates, тогда выбрасывается исключение")
+    void search_whenMoreMatchesThanCandidates_thenExceptionThrown() {
+        assertThrows(BadRequestException.class, () -> taskSearch.search("на", 0, 10));
+    }
+
+    @Test
+    @DisplayName("найдены задачи, когда страница начинается за max-candidates, тогда выбрасывается исключение")
+    void search_whenPageBeyondCandidates_thenExceptionThrown() {
+        assertThrows(BadRequestException.class, () -> taskSearch.search("кино", 2, 1));
+    }
+
+    private void awaitIndexed(String query, int expected) throws InterruptedException {
+        for (int i = 0; i < 100 && taskSearch.search(query, 0, 10).getNumberOfElements() != expected; i++) {
+            Thread.sleep(50);
+        }
+    }
+
+    private NewTaskDto makeTaskDto(String title, String description) {
+        NewTaskDto newTaskDto = new NewTaskDto();
+        newTaskDto.setTitle(title);
+        newTaskDto.setDescription(description);
+        newTaskDto.setDueDate(LocalDateTime.now().plusDays(7));
+        return newTaskDto;
+    }
+
+}
@@ -0,0 +1,190 @@
+package com.example.task;
+
+import com.example.dto.NewTaskDto;
+import com.example.dto.TaskChangeDto;
+import com.example.dto.TaskDto;
+import com.example.dto.UpdateTaskDto;
+import com.example.model.Task;
+import com.example.model.TaskChange;
+import com.example.repository.TaskRepository;
+import com.example.service.TaskChangesPublishedEvent;
+import com.example.service.TaskService;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.ActiveProfiles;
+import jakarta.persistence.EntityManagerFactory;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.is;
+
+/**
+ * Ретранслятор ленты запускается один раз при старте контекста, чтобы его события не вытесняли задачи
+ * из кеша посреди теста; публикация изменений проверяется явным событием.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.MOCK,
+        properties = {"task.cache.second-level.enabled=true", "task.outbox.relay-interval=PT1H"})
+@ActiveProfiles("test")
+@RequiredArgsConstructor(onConstructor = @__(@Autowired))
+class TaskSecondLevelCacheIntegrationTest {
+
+    private final TaskService taskService;
+    private final TaskRepository taskRepository;
+    private final EntityManagerFactory entityManagerFactory;
+    private final ApplicationEventPublisher eventPublisher;
+    private final MeterRegistry meterRegistry;
+
+    private final List<Long> taskIds = new ArrayList<>();
+    private final LocalDateTime dateStart = LocalDateTime.now().plusYears(50).withNano(0);
+    private Cache cache;
+    private TaskDto taskDto;
+
+    @BeforeEach
+    public void addTask() {
+        cache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+        taskDto = saveTask("task1", dateStart.plusDays(1));
+    }
+
+    @AfterEach
+    public void deleteTasks() {
+        taskIds.forEach(taskService::deleteTaskById);
+    }
+
+    @Test
+    @DisplayName("прочитана задача по ид повторно, когда кеш второго уровня включён, то засчитывается попадание")
+    void findById_whenRepeated_thenSecondLevelCacheHit() {
+        cache.evictEntityData(Task.class, taskDto.getId());
+        double hits = secondLevelCacheRequests("hit");
+
+        taskRepository.findById(taskDto.getId());
+        assertThat(cache.containsEntity(Task.class, taskDto.getId()), is(true));
+        taskRepository.findById(taskDto.getId());
+
+        assertThat(secondLevelCacheRequests("hit"), equalTo(hits + 1));
+    }
+
+    @Test
+    @DisplayName("обновлена задача, когда она в кеше второго уровня, то чтение возвращает новое значение")
+    void updateTask_whenCached_thenReadReturnsUpdated() {
+        taskRepository.findById(taskDto.getId());
+
+        UpdateTaskDto updateTaskDto = new UpdateTaskDto();
+        updateTaskDto.setTitle("task2");
+        taskService.updateTask(taskDto.getId(), updateTaskDto);
+
+        assertThat(taskRepository.findById(taskDto.getId()).orElseThrow().getTitle(), equalTo("task2"));
+    }
+
+    @Test
+    @DisplayName("обновлена задача по версии, когда задачи в кеше второго уровня, то вытесняется только она, "
+            + "а чтение возвращает новое значение")
+    void updateTaskIfMatch_whenCached_thenOnlyUpdatedTaskEvicted() {
+        TaskDto other = saveTask("task2", dateStart.plusDays(2));
+        taskRepository.findById(taskDto.getId());
+        taskRepository.findById(other.getId());
+
+        UpdateTaskDto updateTaskDto = new UpdateTaskDto();
+        updateTaskDto.setTitle("task3");
+        taskService.updateTaskIfMatch(taskDto.getId(), updateTaskDto, taskDto.getVersion());
+
+        assertThat(cache.containsEntity(Task.class, taskDto.getId()), is(false));
+        assertThat(cache.containsEntity(Task.class, other.getId()), is(true));
+        assertThat(taskRepository.findById(taskDto.getId()).orElseThrow().getTitle(), equalTo("task3"));
+    }
+
+    @Test
+    @DisplayName("запрошен список задач повторно, когда задачи не менялись, то результат из кеша запросов, "
+            + "а после сохранения задачи - из БД")
+    void findAllByParams_whenRepeated_thenQueryCacheHitUntilTaskSaved() {
+        PageRequest page = PageRequest.of(0, 10, Sort.by(Sort.Direction.ASC, "id"));
+        LocalDateTime dateEnd = dateStart.plusDays(10);
+        taskRepository.findAllByParams(null, dateStart, dateEnd, page);
+        double hits = queryCacheRequests("hit");
+
+        taskRepository.findAllByParams(null, dateStart, dateEnd, page);
+        assertThat(queryCacheRequests("hit"), equalTo(hits + 1));
+
+        TaskDto saved = saveTask("task2", dateStart.plusDays(2));
+        Page<TaskDto> tasks = taskRepository.findAllByParams(null, dateStart, dateEnd, page);
+
+        assertThat(queryCacheRequests("hit"), equalTo(hits + 1));
+        assertThat(tasks.getTotalElements(), equalTo(2L));
+        assertThat(tasks.getContent(), hasItem(saved));
+    }
+
+    @Test
+    @DisplayName("запрошен список задач без dateStart и dateEnd повторно, когда задачи не менялись, "
+            + "то результат из кеша запросов")
+    void getAllTasks_whenDefaultWindowRepeated_thenQueryCacheHit() {
+        taskService.getAllTasks(null, null, null, 0, 10);
+        double hits = queryCacheRequests("hit");
+
+        // Два повтора: на смену минуты может попасть только один из них.
+        taskService.getAllTasks(null, null, null, 0, 10);
+        taskService.getAllTasks(null, null, null, 0, 10);
+
+        assertThat(queryCacheRequests("hit"), greaterThan(hits));
+    }
+
+    @Test
+    @DisplayName("удалены задачи пакетом, когда задачи в кеше второго уровня, то вытесняются только удалённые")
+    void deleteTasksByIds_whenCached_thenOnlyDeletedEvicted() {
+        TaskDto deleted = saveTask("task2", dateStart.plusDays(2));
+        taskRepository.findById(taskDto.getId());
+        taskRepository.findById(deleted.getId());
+
+        taskService.deleteTasksByIds(List.of(deleted.getId()));
+
+        assertThat(cache.containsEntity(Task.class, deleted.getId()), is(false));
+        assertThat(cache.containsEntity(Task.class, taskDto.getId()), is(true));
+        assertThat(taskRepository.findById(deleted.getId()).isPresent(), is(false));
+    }
+
+    @Test
+    @DisplayName("опубликовано изменение задачи из ленты, когда она в кеше второго уровня, то задача вытесняется")
+    void onPublished_whenCached_thenEvicted() {
+        taskRepository.findById(taskDto.getId());
+        assertThat(cache.containsEntity(Task.class, taskDto.getId()), is(true));
+
+        eventPublisher.publishEvent(new TaskChangesPublishedEvent(List.of(new TaskChangeDto(
+                1L, TaskChange.Type.UPDATED, taskDto.getId(), taskDto.getVersion() + 1, null))));
+
+        assertThat(cache.containsEntity(Task.class, taskDto.getId()), is(false));
+    }
+
+    private TaskDto saveTask(String title, LocalDateTime dueDate) {
+        NewTaskDto newTaskDto = new NewTaskDto();
+        newTaskDto.setTitle(title);
+        newTaskDto.setDueDate(dueDate);
+        TaskDto saved = taskService.saveTask(newTaskDto);
+        taskIds.add(saved.getId());
+        return saved;
+    }
+
+    private double secondLevelCacheRequests(String result) {
+        return meterRegistry.get("hibernate.second.level.cache.requests")
+                .tag("region", Task.CACHE_REGION).tag("result", result).functionCounter().count();
+    }
+
+    private double queryCacheRequests(String result) {
+        return meterRegistry.get("hibernate.cache.query.requests").tag("result", result).functionCounter().count();
+    }
+
+}
@@ -1,15 +1,38 @@
 package com.example.task;
 
+import com.example.audit.TaskAuditEvent;
+import com.example.audit.TaskAuditSink;
+import com.example.dto.TaskCursorPage;
 import com.example.dto.TaskDto;
 import com.example.dto.NewTaskDto;
+import com.example.dto.TaskDayStatsDto;
+import com.example.dto.TaskStatsDto;
+import com.example.dto.TaskTotalMode;
 import com.example.dto.UpdateTaskDto;
+import com.example.exception.BadRequestException;
+import com.example.exception.ConflictException;
 import com.example.exception.NotFoundException;
 import com.example.mapper.TaskMapper;
 import com.example.model.Task;
+import com.example.model.TaskChange;
+import com.example.model.TaskStatsKey;
+import com.example.repository.TaskArchiveRepository;
 import com.example.repository.TaskRepository;
+import com.example.repository.TaskStatsCount;
+import com.example.repository.TaskStatsRepository;
+import com.example.repository.TaskStatsRow;
+import com.example.service.TaskCacheEvictor;
+import com.example.service.TaskCountEstimator;
+import com.example.service.TaskOutbox;
+import com.example.service.TaskStatsRecorder;
 import com.example.service.TaskServiceImpl;
+import com.example.util.TaskCursor;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -18,13 +41,18 @@ import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import jakarta.persistence.EntityManager;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.nullValue;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.*;
 
@@ -40,6 +68,32 @@ class TaskServiceImplTest {
     @Mock
     private TaskMapper taskMapper;
 
+    @Mock
+    private TaskCountEstimator taskCountEstimator;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private TaskAuditSink taskAuditSink;
+
+    @Mock
+    private TaskOutbox taskOutbox;
+
+    @Mock
+    private TaskStatsRecorder taskStatsRecorder;
+
+    @Mock
+    private TaskStatsRepository taskStatsRepository;
+
+    @Mock
+    private TaskArchiveRepository taskArchiveRepository;
+
+    @Mock
+    private TaskCacheEvictor taskCacheEvictor;
+
+    private static final LocalDateTime DUE_DATE = LocalDateTime.of(2030, 1, 1, 10, 0);
+
     private final TaskMapper taskMapperBean = Mappers.getMapper(TaskMapper.class);
 
     @Test
@@ -74,24 +128,154 @@ class TaskServiceImplTest {
         verify(taskRepository, times(1)).findById(anyLong());
     }
 
+    @Test
+    @DisplayName("получена версия задачи, когда задача не найдена, тогда выбрасывается исключение")
+    void getTaskVersion_whenTaskNotFound_thenExceptionThrown() {
+        when(taskRepository.findVersionById(anyLong())).thenReturn(Optional.empty());
+
+        final NotFoundException exception = assertThrows(NotFoundException.class,
+                () -> taskService.getTaskVersion(0L));
+
+        assertThat("Задача с id = 0 не найдена.", equalTo(exception.getMessage()));
+        verify(taskRepository, never()).findById(anyLong());
+    }
+
     @Test
     @DisplayName("получены все задачи, когда вызваны, то получен непустой список")
     void getAllTasks_whenInvoked_thenReturnedTasksCollectionInPage() {
-        Task task = new Task();
-        List<Task> expectedTasks = List.of(task, task);
-        Page<Task> expectedTasksPage = new PageImpl<>(
+        TaskDto taskDto = new TaskDto();
+        List<TaskDto> expectedTasks = List.of(taskDto, taskDto);
+        Page<TaskDto> expectedTasksPage = new PageImpl<>(
                 expectedTasks, PageRequest.of(0, 1), 2);
         when(taskRepository.findAllByParams(anyBoolean(), any(), any(), any(Pageable.class))).
                 thenReturn(expectedTasksPage);
-        when(taskMapper.toTaskDto(any(Task.class))).thenReturn(taskMapperBean.toTaskDto(task));
 
         Page<TaskDto> actualTasks = taskService.getAllTasks(true, null, null, 0, 10);
 
-        assertThat(expectedTasksPage.map(taskMapperBean::toTaskDto), equalTo(actualTasks));
-        InOrder inOrder = inOrder(taskRepository, taskMapper);
-        inOrder.verify(taskRepository, times(1)).
+        assertThat(expectedTasksPage, equalTo(actualTasks));
+        verify(taskRepository, times(1)).
                 findAllByParams(anyBoolean(), any(), any(), any(Pageable.class));
-        inOrder.verify(taskMapper, atLeast(1)).toTaskDto(any(Task.class));
+        verifyNoInteractions(taskMapper);
+    }
+
+    @Test
+    @DisplayName("получен срез задач, когда вызван, то count-запрос не выполняется")
+    void getTasksSlice_whenInvoked_thenReturnedSliceWithoutCount() {
+        Slice<TaskDto> expectedSlice = new SliceImpl<>(List.of(new TaskDto()), PageRequest.of(0, 1), true);
+        when(taskRepository.findSliceByParams(any(), any(), any(), any(Pageable.class))).thenReturn(expectedSlice);
+
+        Slice<TaskDto> actualTasks = taskService.getTasksSlice(null, null, null, 0, 1);
+
+        assertThat(expectedSlice, equalTo(actualTasks));
+        verify(taskRepository, never()).findAllByParams(any(), any(), any(), any(Pageable.class));
+        verify(taskRepository, never()).countByParams(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("получены задачи с архивом, когда запрошены невыполненные, то архив не читается")
+    void getAllTasksWithArchive_whenNotCompleted_thenArchiveNotQueried() {
+        Slice<TaskDto> expectedSlice = new SliceImpl<>(List.of(new TaskDto()), PageRequest.of(0, 1), true);
+        when(taskRepository.findSliceByParams(any(), any(), any(), any(Pageable.class))).thenReturn(expectedSlice);
+
+        Slice<TaskDto> actualTasks = taskService.getAllTasksWithArchive(false, null, null, 0, 1, TaskTotalMode.NONE);
+
+        assertThat(expectedSlice, equalTo(actualTasks));
+        verifyNoInteractions(taskArchiveRepository);
+    }
+
+    @Test
+    @DisplayName("получены задачи с оценкой количества, когда оценка меньше прочитанного, " +
+            "то количество не меньше прочитанного")
+    void getAllTasksWithEstimatedTotal_whenEstimateStale_thenTotalNotLessThanRead() {
+        TaskDto taskDto = new TaskDto();
+        Slice<TaskDto> expectedSlice = new SliceImpl<>(List.of(taskDto, taskDto), PageRequest.of(1, 2), true);
+        when(taskRepository.findSliceByParams(any(), any(), any(), any(Pageable.class))).thenReturn(expectedSlice);
+        when(taskCountEstimator.estimate(any(), any(), any())).thenReturn(1L);
+
+        Page<TaskDto> actualTasks = taskService.getAllTasksWithEstimatedTotal(true, null, null, 1, 2);
+
+        assertThat(5L, equalTo(actualTasks.getTotalElements()));
+        assertThat(2, equalTo(actualTasks.getNumberOfElements()));
+        verify(taskCountEstimator, times(1)).estimate(eq(true), any(), any());
+        verify(taskRepository, never()).findAllByParams(any(), any(), any(), any(Pageable.class));
+    }
+
+    @Test
+    @DisplayName("получены задачи по курсору, когда есть следующая страница, то возвращается курсор")
+    void getAllTasksAfter_whenMoreTasksExist_thenReturnedNextCursor() {
+        TaskDto task1 = new TaskDto();
+        task1.setId(11L);
+        TaskDto task2 = new TaskDto();
+        task2.setId(12L);
+        when(taskRepository.findAllByParamsAfter(any(), any(), any(), anyLong(), any(Limit.class))).
+                thenReturn(List.of(task1, task2));
+
+        TaskCursorPage actualPage = taskService.getAllTasksAfter(null, null, null, TaskCursor.encode(10L), 1);
+
+        assertThat(1, equalTo(actualPage.getContent().size()));
+        assertThat(11L, equalTo(actualPage.getContent().get(0).getId()));
+        assertThat(TaskCursor.encode(11L), equalTo(actualPage.getNextCursor()));
+        verify(taskRepository, times(1)).
+                findAllByParamsAfter(any(), any(), any(), eq(10L), eq(Limit.of(2)));
+    }
+
+    @Test
+    @DisplayName("получены задачи по курсору, когда страница последняя, то курсор не возвращается")
+    void getAllTasksAfter_whenLastPage_thenReturnedNoCursor() {
+        TaskDto task = new TaskDto();
+        task.setId(1L);
+        when(taskRepository.findAllByParamsAfter(any(), any(), any(), anyLong(), any(Limit.class))).
+                thenReturn(List.of(task));
+
+        TaskCursorPage actualPage = taskService.getAllTasksAfter(false, null, null, "", 10);
+
+        assertThat(1, equalTo(actualPage.getContent().size()));
+        assertThat(actualPage.getNextCursor(), nullValue());
+        verify(taskRepository, times(1)).
+                findAllByParamsAfter(eq(false), any(), any(), eq(0L), eq(Limit.of(11)));
+    }
+
+    @Test
+    @DisplayName("получены задачи по курсору, когда курсор некорректен, тогда выбрасывается исключение")
+    void getAllTasksAfter_whenCursorInvalid_thenExceptionThrown() {
+        assertThrows(BadRequestException.class,
+                () -> taskService.getAllTasksAfter(null, null, null, "не курсор", 10));
+
+        verify(taskRepository, never()).findAllByParamsAfter(any(), any(), any(), anyLong(), any(Limit.class));
+    }
+
+    @Test
+    @DisplayName("получены задачи с выбранными полями, когда поле неизвестно, тогда выбрасывается исключение")
+    void getAllTasksFields_whenFieldUnknown_thenExceptionThrown() {
+        final BadRequestException exception = assertThrows(BadRequestException.class,
+                () -> taskService.getAllTasksFields(null, null, null, 0, 10, List.of("id", "owner"),
+                        TaskTotalMode.EXACT));
+
+        assertThat("Неизвестные поля задачи: [owner]. Допустимые поля: " +
+                "[id, title, description, dueDate, completed, version].", equalTo(exception.getMessage()));
+        verifyNoInteractions(taskRepository);
+    }
+
+    @Test
+    @DisplayName("выгружены задачи, когда вызвано, тогда каждая задача передаётся потребителю и отсоединяется")
+    void exportTasks_whenInvoked_thenTasksPassedToConsumerAndDetached() {
+        Task task1 = new Task();
+        task1.setId(1L);
+        Task task2 = new Task();
+        task2.setId(2L);
+        when(taskRepository.streamAllByParams(any(), any(), any())).thenReturn(Stream.of(task1, task2));
+        when(taskMapper.toTaskDto(any(Task.class))).
+                thenAnswer(invocation -> taskMapperBean.toTaskDto(invocation.getArgument(0)));
+        List<TaskDto> exported = new ArrayList<>();
+
+        taskService.exportTasks(null, null, null, exported::add);
+
+        assertThat(List.of(1L, 2L), equalTo(exported.stream().map(TaskDto::getId).toList()));
+        InOrder inOrder = inOrder(taskMapper, entityManager);
+        inOrder.verify(taskMapper, times(1)).toTaskDto(task1);
+        inOrder.verify(entityManager, times(1)).detach(task1);
+        inOrder.verify(taskMapper, times(1)).toTaskDto(task2);
+        inOrder.verify(entityManager, times(1)).detach(task2);
     }
 
     @Test
@@ -99,6 +283,7 @@ class TaskServiceImplTest {
     void saveTask_whenTaskValid_thenSavedTask() {
         NewTaskDto taskToSave = new NewTaskDto();
         taskToSave.setTitle("1");
+        taskToSave.setDueDate(DUE_DATE);
         Task task = taskMapperBean.toTaskFromNewTaskDto(taskToSave);
         when(taskMapper.toTaskFromNewTaskDto(any(NewTaskDto.class))).
                 thenReturn(taskMapperBean.toTaskFromNewTaskDto(taskToSave));
@@ -113,6 +298,9 @@ class TaskServiceImplTest {
                 toTaskFromNewTaskDto(any(NewTaskDto.class));
         inOrder.verify(taskRepository, times(1)).save(any(Task.class));
         inOrder.verify(taskMapper, times(1)).toTaskDto(any(Task.class));
+        verify(taskOutbox, times(1)).append(TaskChange.Type.CREATED, actualTask);
+        verify(taskStatsRecorder, times(1)).record(List.of(),
+                List.of(new TaskStatsKey(DUE_DATE.toLocalDate(), false)));
     }
 
     @Test
@@ -122,26 +310,50 @@ class TaskServiceImplTest {
         Task oldTask = new Task();
         oldTask.setTitle("1");
         oldTask.setDescription("1");
+        oldTask.setDueDate(DUE_DATE);
         when(taskRepository.findById(anyLong())).thenReturn(Optional.of(oldTask));
 
         UpdateTaskDto updateTask = new UpdateTaskDto();
         updateTask.setTitle("2");
-        Task newTask = taskMapperBean.toTaskFromUpdateTaskDto(oldTask, updateTask);
-        when(taskMapper.toTaskFromUpdateTaskDto(any(Task.class), any(UpdateTaskDto.class))).
-                thenReturn(newTask);
-        when(taskMapper.toTaskDto(any(Task.class))).thenReturn(taskMapperBean.toTaskDto(newTask));
+        doAnswer(invocation -> {
+            taskMapperBean.updateTaskFromUpdateTaskDto(invocation.getArgument(0), invocation.getArgument(1));
+            return null;
+        }).when(taskMapper).updateTaskFromUpdateTaskDto(any(UpdateTaskDto.class), any(Task.class));
+        when(taskMapper.toTaskDto(any(Task.class))).
+                thenAnswer(invocation -> taskMapperBean.toTaskDto(invocation.getArgument(0)));
 
         TaskDto actualTask = taskService.updateTask(taskId, updateTask);
 
-        assertThat(newTask.getTitle(), equalTo(actualTask.getTitle()));
-        assertThat(newTask.getDescription(), equalTo(actualTask.getDescription()));
+        assertThat("2", equalTo(actualTask.getTitle()));
+        assertThat("1", equalTo(actualTask.getDescription()));
+        assertThat("2", equalTo(oldTask.getTitle()));
         InOrder inOrder = inOrder(taskRepository, taskMapper, taskMapper);
         inOrder.verify(taskRepository, times(1)).findById(anyLong());
-        inOrder.verify(taskMapper, times(1)).
-                toTaskFromUpdateTaskDto(any(Task.class), any(UpdateTaskDto.class));
+        inOrder.verify(taskMapper, times(1)).updateTaskFromUpdateTaskDto(updateTask, oldTask);
+        inOrder.verify(taskRepository, times(1)).flush();
         inOrder.verify(taskMapper, times(1)).toTaskDto(any(Task.class));
     }
 
+    @Test
+    @DisplayName("обновлена задача, когда изменён статус, тогда задача переносится в другую ячейку статистики")
+    void updateTask_whenCompletedChanged_thenStatsMoved() {
+        Task oldTask = new Task();
+        oldTask.setDueDate(DUE_DATE);
+        oldTask.setCompleted(false);
+        when(taskRepository.findById(anyLong())).thenReturn(Optional.of(oldTask));
+        UpdateTaskDto updateTask = new UpdateTaskDto();
+        updateTask.setCompleted(true);
+        doAnswer(invocation -> {
+            taskMapperBean.updateTaskFromUpdateTaskDto(invocation.getArgument(0), invocation.getArgument(1));
+            return null;
+        }).when(taskMapper).updateTaskFromUpdateTaskDto(any(UpdateTaskDto.class), any(Task.class));
+
+        taskService.updateTask(0L, updateTask);
+
+        verify(taskStatsRecorder, times(1)).record(List.of(new TaskStatsKey(DUE_DATE.toLocalDate(), false)),
+                List.of(new TaskStatsKey(DUE_DATE.toLocalDate(), true)));
+    }
+
     @Test
     @DisplayName("обновлена задача, когда задача не найдена, тогда выбрасывается исключение")
     void updateTask_whenTaskNotFound_thenExceptionThrown() {
@@ -159,14 +371,303 @@ class TaskServiceImplTest {
         inOrder.verify(taskMapper, never()).toTaskDto(any(Task.class));
     }
 
+    @Test
+    @DisplayName("обновлена задача по версии, когда версия совпадает, тогда выполняется один UPDATE, " +
+            "а в ответ и ленту изменений попадает состояние после него")
+    void updateTaskIfMatch_whenVersionMatches_thenUpdatedWithSingleStatement() {
+        UpdateTaskDto updateTask = new UpdateTaskDto();
+        updateTask.setTitle("2");
+        when(taskRepository.updateByIdAndVersion(1L, 3L, "2", null, null, null))
+                .thenReturn(Optional.of(new TaskDto(1L, "1", "описание", DUE_DATE, false, 3L)));
+        mapUpdateTaskDto();
+
+        TaskDto taskDto = taskService.updateTaskIfMatch(1L, updateTask, 3L);
+
+        assertThat(taskDto, equalTo(new TaskDto(1L, "2", "описание", DUE_DATE, false, 4L)));
+        verify(taskAuditSink, times(1)).publish(TaskAuditEvent.Type.UPDATED, 1L, 4L);
+        verify(taskOutbox, times(1)).append(TaskChange.Type.UPDATED,
+                new TaskDto(1L, "2", "описание", DUE_DATE, false, 4L));
+        verify(taskCacheEvictor, times(1)).evictEntities(List.of(1L));
+        verify(taskRepository, times(1)).updateByIdAndVersion(1L, 3L, "2", null, null, null);
+        verifyNoMoreInteractions(taskRepository);
+        verify(taskStatsRecorder, never()).record(anyCollection(), anyCollection());
+    }
+
+    @Test
+    @DisplayName("обновлена задача по версии, когда изменён срок, тогда прежняя ячейка статистики берётся " +
+            "из строки, возвращённой UPDATE")
+    void updateTaskIfMatch_whenDueDateChanged_thenStatsMoved() {
+        UpdateTaskDto updateTask = new UpdateTaskDto();
+        updateTask.setDueDate(DUE_DATE.plusDays(1));
+        when(taskRepository.updateByIdAndVersion(1L, 3L, null, null, DUE_DATE.plusDays(1), null))
+                .thenReturn(Optional.of(new TaskDto(1L, "1", null, DUE_DATE, false, 3L)));
+        mapUpdateTaskDto();
+
+        taskService.updateTaskIfMatch(1L, updateTask, 3L);
+
+        verify(taskRepository, times(1)).updateByIdAndVersion(1L, 3L, null, null, DUE_DATE.plusDays(1), null);
+        verifyNoMoreInteractions(taskRepository);
+        verify(taskStatsRecorder, times(1)).record(List.of(new TaskStatsKey(DUE_DATE.toLocalDate(), false)),
+                List.of(new TaskStatsKey(DUE_DATE.toLocalDate().plusDays(1), false)));
+    }
+
+    @Test
+    @DisplayName("обновлена задача по версии, когда изменён статус и версия устарела, тогда статистика, " +
+            "лента и кеши не меняются")
+    void updateTaskIfMatch_whenCompletedChangedAndVersionStale_thenConflictExceptionThrown() {
+        UpdateTaskDto updateTask = new UpdateTaskDto();
+        updateTask.setCompleted(true);
+        when(taskRepository.updateByIdAndVersion(1L, 3L, null, null, null, true)).thenReturn(Optional.empty());
+        when(taskRepository.findVersionById(1L)).thenReturn(Optional.of(5L));
+
+        assertThrows(ConflictException.class, () -> taskService.updateTaskIfMatch(1L, updateTask, 3L));
+
+        verify(taskStatsRecorder, never()).record(anyCollection(), anyCollection());
+        verify(taskOutbox, never()).append(any(), any());
+        verify(taskCacheEvictor, never()).evictEntities(anyCollection());
+    }
+
+    @Test
+    @DisplayName("обновлена задача по версии, когда версия устарела, тогда выбрасывается исключение конфликта")
+    void updateTaskIfMatch_whenVersionStale_thenConflictExceptionThrown() {
+        when(taskRepository.updateByIdAndVersion(1L, 3L, null, null, null, null)).thenReturn(Optional.empty());
+        when(taskRepository.findVersionById(1L)).thenReturn(Optional.of(5L));
+
+        final ConflictException exception = assertThrows(ConflictException.class,
+                () -> taskService.updateTaskIfMatch(1L, new UpdateTaskDto(), 3L));
+
+        assertThat("Задача с id = 1 изменена: ожидалась версия 3, текущая версия 5.",
+                equalTo(exception.getMessage()));
+        verify(taskAuditSink, never()).publish(any(), anyLong(), any());
+    }
+
+    @Test
+    @DisplayName("обновлена задача по версии, когда задача не найдена, тогда выбрасывается исключение")
+    void updateTaskIfMatch_whenTaskNotFound_thenNotFoundExceptionThrown() {
+        when(taskRepository.updateByIdAndVersion(1L, 3L, null, null, null, null)).thenReturn(Optional.empty());
+        when(taskRepository.findVersionById(1L)).thenReturn(Optional.empty());
+
+        assertThrows(NotFoundException.class, () -> taskService.updateTaskIfMatch(1L, new UpdateTaskDto(), 3L));
+    }
+
     @Test
     @DisplayName("удалена задача, когда вызвано, тогда она удаляется")
     void deleteTaskById_whenInvoked_thenDeletedTask() {
         Long taskId = 0L;
+        Task task = new Task();
+        task.setId(taskId);
+        task.setDueDate(DUE_DATE);
+        task.setCompleted(true);
+        when(taskRepository.findById(taskId)).thenReturn(Optional.of(task));
 
         taskService.deleteTaskById(taskId);
 
-        verify(taskRepository, times(1)).deleteById(taskId);
+        verify(taskRepository, times(1)).delete(task);
+        verify(taskStatsRecorder, times(1)).record(
+                List.of(new TaskStatsKey(DUE_DATE.toLocalDate(), true)), List.of());
+        verify(taskOutbox, times(1)).appendDeleted(List.of(taskId));
+    }
+
+    @Test
+    @DisplayName("удалена задача, когда она не найдена, тогда удаление не попадает в ленту изменений")
+    void deleteTaskById_whenNotFound_thenNothingPublished() {
+        when(taskRepository.findById(0L)).thenReturn(Optional.empty());
+
+        taskService.deleteTaskById(0L);
+
+        verify(taskRepository, never()).delete(any(Task.class));
+        verifyNoInteractions(taskStatsRecorder, taskOutbox);
+    }
+
+    @Test
+    @DisplayName("сохранены задачи пакетом, когда вызвано, тогда они сохраняются одним вызовом репозитория")
+    void saveTasks_whenInvoked_thenSavedAllTasks() {
+        NewTaskDto taskToSave = new NewTaskDto();
+        taskToSave.setTitle("1");
+        taskToSave.setDueDate(DUE_DATE);
+        List<Task> tasks = taskMapperBean.convertNewTaskDtoListToTaskList(List.of(taskToSave, taskToSave));
+        when(taskMapper.convertNewTaskDtoListToTaskList(anyList())).thenReturn(tasks);
+        when(taskRepository.saveAll(anyList())).thenReturn(tasks);
+        when(taskMapper.convertTaskListToTaskDtoList(anyList())).
+                thenReturn(taskMapperBean.convertTaskListToTaskDtoList(tasks));
+
+        List<TaskDto> actualTasks = taskService.saveTasks(List.of(taskToSave, taskToSave));
+
+        assertThat(2, equalTo(actualTasks.size()));
+        verify(taskRepository, times(1)).saveAll(tasks);
+        verify(taskRepository, never()).save(any(Task.class));
+        verify(taskOutbox, times(1)).appendAll(TaskChange.Type.CREATED, actualTasks);
+    }
+
+    @Test
+    @DisplayName("обновлены задачи пакетом, когда задачи найдены, тогда изменения применяются к ним")
+    void updateTasks_whenTasksFound_thenUpdatedTasks() {
+        Task oldTask = new Task();
+        oldTask.setId(1L);
+        oldTask.setTitle("1");
+        oldTask.setDescription("1");
+        oldTask.setDueDate(DUE_DATE);
+        when(taskRepository.findAllById(anyList())).thenReturn(List.of(oldTask));
+        UpdateTaskDto updateTask = new UpdateTaskDto();
+        updateTask.setId(1L);
+        updateTask.setTitle("2");
+        doAnswer(invocation -> {
+            taskMapperBean.updateTaskFromUpdateTaskDto(invocation.getArgument(0), invocation.getArgument(1));
+            return null;
+        }).when(taskMapper).updateTaskFromUpdateTaskDto(any(UpdateTaskDto.class), any(Task.class));
+        when(taskMapper.toTaskDto(any(Task.class))).
+                thenAnswer(invocation -> taskMapperBean.toTaskDto(invocation.getArgument(0)));
+
+        List<TaskDto> actualTasks = taskService.updateTasks(List.of(updateTask));
+
+        assertThat("2", equalTo(actualTasks.get(0).getTitle()));
+        assertThat("1", equalTo(actualTasks.get(0).getDescription()));
+        assertThat("2", equalTo(oldTask.getTitle()));
+        verify(taskRepository, times(1)).findAllById(List.of(1L));
+    }
+
+    @Test
+    @DisplayName("обновлены задачи пакетом, когда задача не найдена, тогда выбрасывается исключение")
+    void updateTasks_whenTaskNotFound_thenExceptionThrown() {
+        when(taskRepository.findAllById(anyList())).thenReturn(List.of());
+        UpdateTaskDto updateTask = new UpdateTaskDto();
+        updateTask.setId(1L);
+
+        final NotFoundException exception = assertThrows(NotFoundException.class,
+                () -> taskService.updateTasks(List.of(updateTask)));
+
+        assertThat("Задачи с id = [1] не найдены.", equalTo(exception.getMessage()));
+        verify(taskMapper, never()).updateTaskFromUpdateTaskDto(any(UpdateTaskDto.class), any(Task.class));
+    }
+
+    @Test
+    @DisplayName("обновлены задачи пакетом, когда id не указан, тогда выбрасывается исключение")
+    void updateTasks_whenIdMissing_thenExceptionThrown() {
+        assertThrows(BadRequestException.class, () -> taskService.updateTasks(List.of(new UpdateTaskDto())));
+
+        verify(taskRepository, never()).findAllById(anyList());
+    }
+
+    @Test
+    @DisplayName("удалены задачи пакетом, когда вызвано, тогда они удаляются одним запросом")
+    void deleteTasksByIds_whenInvoked_thenDeletedTasks() {
+        List<Long> taskIds = List.of(1L, 2L);
+        when(taskRepository.findStatsRowsByIdIn(taskIds))
+                .thenReturn(List.of(statsRow(1L, DUE_DATE, false), statsRow(2L, DUE_DATE, null)));
+
+        taskService.deleteTasksByIds(taskIds);
+
+        verify(taskRepository, times(1)).deleteByIdIn(taskIds);
+        verify(taskStatsRecorder, times(1)).record(List.of(new TaskStatsKey(DUE_DATE.toLocalDate(), false),
+                new TaskStatsKey(DUE_DATE.toLocalDate(), false)), List.of());
+    }
+
+    @Test
+    @DisplayName("удалены задачи пакетом, когда часть задач не найдена, тогда статистика, аудит и лента " +
+            "получают только удалённые")
+    void deleteTasksByIds_whenSomeNotFound_thenOnlyDeletedPublished() {
+        List<Long> taskIds = List.of(1L, 2L);
+        when(taskRepository.findStatsRowsByIdIn(taskIds)).thenReturn(List.of(statsRow(2L, DUE_DATE, true)));
+
+        taskService.deleteTasksByIds(taskIds);
+
+        verify(taskRepository, times(1)).deleteByIdIn(List.of(2L));
+        verify(taskCacheEvictor, times(1)).evictEntities(List.of(2L));
+        verify(taskStatsRecorder, times(1)).record(List.of(new TaskStatsKey(DUE_DATE.toLocalDate(), true)),
+                List.of());
+        verify(taskAuditSink, times(1)).publish(TaskAuditEvent.Type.DELETED, 2L, null);
+        verify(taskAuditSink, never()).publish(TaskAuditEvent.Type.DELETED, 1L, null);
+        verify(taskOutbox, times(1)).appendDeleted(List.of(2L));
+    }
+
+    @Test
+    @DisplayName("удалены задачи пакетом, когда ни одна не найдена, тогда ничего не удаляется и не публикуется")
+    void deleteTasksByIds_whenNoneFound_thenNothingPublished() {
+        when(taskRepository.findStatsRowsByIdIn(List.of(1L))).thenReturn(List.of());
+
+        taskService.deleteTasksByIds(List.of(1L));
+
+        verify(taskRepository, never()).deleteByIdIn(anyCollection());
+        verifyNoInteractions(taskStatsRecorder, taskAuditSink, taskOutbox);
+    }
+
+    @Test
+    @DisplayName("получена статистика, когда в сводной таблице есть ячейки, тогда счётчики складываются без чтения задач")
+    void getTaskStats_whenCountsFound_thenAggregated() {
+        LocalDate today = LocalDate.now();
+        when(taskStatsRepository.findCounts()).thenReturn(List.of(
+                statsCount(today.minusDays(2), false, 3L),
+                statsCount(today.minusDays(2), true, 1L),
+                statsCount(today, false, 4L),
+                statsCount(today.plusDays(1), true, 2L),
+                statsCount(today.plusDays(30), false, 5L)));
+        when(taskRepository.countOpenByDueDate(any(LocalDateTime.class), any(LocalDateTime.class))).thenReturn(1L);
+
+        TaskStatsDto taskStats = taskService.getTaskStats(null, null);
+
+        assertThat(taskStats.getTotal(), equalTo(15L));
+        assertThat(taskStats.getOpen(), equalTo(12L));
+        assertThat(taskStats.getCompleted(), equalTo(3L));
+        assertThat(taskStats.getOverdue(), equalTo(4L));
+        assertThat(taskStats.getDays(), equalTo(List.of(
+                new TaskDayStatsDto(today, 4L, 0L),
+                new TaskDayStatsDto(today.plusDays(1), 0L, 2L))));
+        verify(taskRepository, never()).countByParams(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("получена статистика, когда конец интервала раньше начала, тогда выбрасывается исключение")
+    void getTaskStats_whenDayEndBeforeDayStart_thenExceptionThrown() {
+        LocalDate today = LocalDate.now();
+
+        assertThrows(BadRequestException.class, () -> taskService.getTaskStats(today, today.minusDays(1)));
+
+        verify(taskStatsRepository, never()).findCounts();
+    }
+
+    private static TaskStatsCount statsCount(LocalDate dueDay, boolean completed, long count) {
+        return new TaskStatsCount() {
+            @Override
+            public LocalDate getDueDay() {
+                return dueDay;
+            }
+
+            @Override
+            public Boolean getCompleted() {
+                return completed;
+            }
+
+            @Override
+            public Long getCount() {
+                return count;
+            }
+        };
+    }
+
+    private static TaskStatsRow statsRow(Long id, LocalDateTime dueDate, Boolean completed) {
+        return new TaskStatsRow() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public LocalDateTime getDueDate() {
+                return dueDate;
+            }
+
+            @Override
+            public Boolean getCompleted() {
+                return completed;
+            }
+        };
+    }
+
+    private void mapUpdateTaskDto() {
+        doAnswer(invocation -> {
+            taskMapperBean.updateTaskDtoFromUpdateTaskDto(invocation.getArgument(0), invocation.getArgument(1));
+            return null;
+        }).when(taskMapper).updateTaskDtoFromUpdateTaskDto(any(UpdateTaskDto.class), any(TaskDto.class));
     }
 
-}
\ No newline at end of file
+}
@@ -2,24 +2,34 @@ package com.example.task;
 
 import com.example.dto.TaskDto;
 import com.example.dto.NewTaskDto;
+import com.example.dto.TaskTotalMode;
 import com.example.dto.UpdateTaskDto;
+import com.example.exception.ConflictException;
 import com.example.mapper.TaskMapper;
 import com.example.model.Task;
 import com.example.service.TaskService;
 import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 import lombok.RequiredArgsConstructor;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.transaction.annotation.Transactional;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.TypedQuery;
 
+import static com.example.util.DateTimeConstant.PATTERN_FOR_DATETIME;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.MOCK)
 @ActiveProfiles("test")
@@ -84,6 +94,41 @@ class TaskServiceIntegrationTest {
         assertThat(tasks, allOf(hasItem(task1), hasItem(task2), hasItem(task3)));
     }
 
+    @Test
+    @DisplayName("получены задачи с выбранными полями, когда вызвано, то в каждой задаче только эти поля")
+    void getAllTasksFields_whenInvoked_thenReturnedOnlySelectedFields() {
+        Task task = taskMapper.toTaskFromNewTaskDto(makeTaskDto("task1"));
+        em.persist(task);
+
+        Slice<Map<String, Object>> tasks = taskService.getAllTasksFields(false, null, null, 0, 500,
+                List.of("title", "id", "dueDate"), TaskTotalMode.EXACT);
+
+        Map<String, Object> taskFields = tasks.getContent().stream()
+                .filter(fields -> task.getId().equals(fields.get("id")))
+                .findFirst()
+                .orElseThrow();
+        assertThat(List.copyOf(taskFields.keySet()), contains("id", "title", "dueDate"));
+        assertThat(taskFields.get("title"), equalTo("task1"));
+        assertThat(taskFields.get("dueDate"), equalTo(DateTimeFormatter.ofPattern(PATTERN_FOR_DATETIME)
+                .format(task.getDueDate())));
+    }
+
+    @Test
+    @DisplayName("выгружены задачи, когда вызвано, то выгружены все задачи по фильтру в порядке id")
+    void exportTasks_whenInvoked_thenExportedAllTasksInIdOrder() {
+        Task task1 = taskMapper.toTaskFromNewTaskDto(makeTaskDto("task1"));
+        em.persist(task1);
+        Task task2 = taskMapper.toTaskFromNewTaskDto(makeTaskDto("task2"));
+        em.persist(task2);
+        em.flush();
+        List<TaskDto> exported = new ArrayList<>();
+
+        taskService.exportTasks(false, null, null, exported::add);
+
+        assertThat(exported, contains(taskMapper.toTaskDto(task1), taskMapper.toTaskDto(task2)));
+        assertThat(em.contains(task1), equalTo(false));
+    }
+
     @Test
     @DisplayName("сохранена задача, когда задача валидна, тогда она сохраняется")
     void saveTask_whenTaskValid_thenSavedTask() {
@@ -107,16 +152,40 @@ class TaskServiceIntegrationTest {
         em.persist(task);
         Long taskId = task.getId();
 
+        em.flush();
+        em.clear();
+
         UpdateTaskDto updateTaskDto = new UpdateTaskDto();
         updateTaskDto.setTitle("task2");
-        taskService.updateTask(taskId, updateTaskDto);
+        TaskDto resultTask = taskService.updateTask(taskId, updateTaskDto);
+        em.clear();
 
-        TypedQuery<Task> query = em.createQuery("Select c from Task c where c.title = :title", Task.class);
-        Task expectedTask = query
-                .setParameter("title", taskDto.getTitle())
-                .getSingleResult();
+        Task expectedTask = em.find(Task.class, taskId);
 
-        assertThat(task, equalTo(expectedTask));
+        assertThat(expectedTask.getTitle(), equalTo("task2"));
+        assertThat(expectedTask.getDescription(), equalTo(taskDto.getDescription()));
+        assertThat(resultTask, equalTo(taskMapper.toTaskDto(expectedTask)));
+        assertThat(resultTask.getVersion(), equalTo(1L));
+    }
+
+    @Test
+    @DisplayName("обновлена задача по версии, когда версия совпадает, тогда изменяются только заданные поля")
+    void updateTaskIfMatch_whenVersionMatches_thenUpdatedTask() {
+        Task task = taskMapper.toTaskFromNewTaskDto(makeTaskDto("task1"));
+        em.persist(task);
+        em.flush();
+        em.clear();
+
+        UpdateTaskDto updateTaskDto = new UpdateTaskDto();
+        updateTaskDto.setCompleted(true);
+        TaskDto resultTask = taskService.updateTaskIfMatch(task.getId(), updateTaskDto, 0L);
+
+        Task expectedTask = em.find(Task.class, task.getId());
+        assertThat(resultTask, equalTo(taskMapper.toTaskDto(expectedTask)));
+        assertThat(expectedTask.getVersion(), equalTo(1L));
+        assertThat(expectedTask.getTitle(), equalTo("task1"));
+        assertThat(expectedTask.getCompleted(), equalTo(true));
+        assertThrows(ConflictException.class, () -> taskService.updateTaskIfMatch(task.getId(), updateTaskDto, 0L));
     }
 
     @Test
@@ -138,10 +207,73 @@ class TaskServiceIntegrationTest {
         assertThat(expectedTask, nullValue());
     }
 
+    @Test
+    @DisplayName("обновлены задачи пакетом, когда задачи найдены, тогда изменения сохраняются")
+    void updateTasks_whenTasksFound_thenUpdatedTasks() {
+        Task task1 = taskMapper.toTaskFromNewTaskDto(makeTaskDto("task1"));
+        em.persist(task1);
+        Task task2 = taskMapper.toTaskFromNewTaskDto(makeTaskDto("task2"));
+        em.persist(task2);
+        em.flush();
+        em.clear();
+
+        UpdateTaskDto updateTaskDto1 = new UpdateTaskDto();
+        updateTaskDto1.setId(task1.getId());
+        updateTaskDto1.setCompleted(true);
+        UpdateTaskDto updateTaskDto2 = new UpdateTaskDto();
+        updateTaskDto2.setId(task2.getId());
+        updateTaskDto2.setTitle("task3");
+        taskService.updateTasks(List.of(updateTaskDto1, updateTaskDto2));
+        em.flush();
+        em.clear();
+
+        assertThat(em.find(Task.class, task1.getId()).getCompleted(), equalTo(true));
+        assertThat(em.find(Task.class, task1.getId()).getTitle(), equalTo("task1"));
+        assertThat(em.find(Task.class, task2.getId()).getTitle(), equalTo("task3"));
+    }
+
+    @Test
+    @DisplayName("изменена задача, когда вызвано, тогда увеличивается версия и меняется ETag списка")
+    void updateTasks_whenInvoked_thenVersionAndListEtagChanged() {
+        Task task = taskMapper.toTaskFromNewTaskDto(makeTaskDto("task1"));
+        em.persist(task);
+        em.flush();
+        em.clear();
+        Long version = taskService.getTaskVersion(task.getId());
+        String eTag = taskService.getAllTasksEtag(false, null, null, 0, 10);
+
+        UpdateTaskDto updateTaskDto = new UpdateTaskDto();
+        updateTaskDto.setId(task.getId());
+        updateTaskDto.setTitle("task2");
+        taskService.updateTasks(List.of(updateTaskDto));
+        em.flush();
+        em.clear();
+
+        assertThat(version, equalTo(0L));
+        assertThat(taskService.getTaskVersion(task.getId()), equalTo(1L));
+        assertThat(taskService.getAllTasksEtag(false, null, null, 0, 10), not(equalTo(eTag)));
+    }
+
+    @Test
+    @DisplayName("удалены задачи пакетом, когда вызвано, тогда они удаляются")
+    void deleteTasksByIds_whenInvoked_thenDeletedTasks() {
+        Task task1 = taskMapper.toTaskFromNewTaskDto(makeTaskDto("task1"));
+        em.persist(task1);
+        Task task2 = taskMapper.toTaskFromNewTaskDto(makeTaskDto("task2"));
+        em.persist(task2);
+        em.flush();
+
+        taskService.deleteTasksByIds(List.of(task1.getId(), task2.getId()));
+
+        TypedQuery<Task> query = em.createQuery("Select c from Task c where c.id in :ids", Task.class);
+        assertThat(query.setParameter("ids", List.of(task1.getId(), task2.getId())).getResultList(), empty());
+    }
+
     private NewTaskDto makeTaskDto(String title) {
         NewTaskDto taskDto = new NewTaskDto();
         taskDto.setTitle(title);
-        taskDto.setDueDate(LocalDateTime.now().plusDays(7));
+        // Точность срока - как у столбца БД, чтобы задача в контексте совпадала с прочитанной запросом.
+        taskDto.setDueDate(LocalDateTime.now().plusDays(7).truncatedTo(ChronoUnit.MICROS));
 
         return taskDto;
     }
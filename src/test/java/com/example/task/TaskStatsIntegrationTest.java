@@ -0,0 +1,134 @@
+package com.example.task;
+
+import com.example.dto.NewTaskDto;
+import com.example.dto.TaskDayStatsDto;
+import com.example.dto.TaskDto;
+import com.example.dto.TaskStatsDto;
+import com.example.dto.UpdateTaskDto;
+import com.example.repository.TaskStatsDeltaRepository;
+import com.example.service.TaskService;
+import com.example.service.TaskStatsCompactor;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+
+/**
+ * Свёртка по расписанию отключена: приращения сворачиваются явным вызовом, чтобы проверить,
+ * что статистика одинакова до и после свёртки.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.MOCK, properties = "task.stats.compact-interval=PT1H")
+@ActiveProfiles("test")
+@RequiredArgsConstructor(onConstructor = @__(@Autowired))
+class TaskStatsIntegrationTest {
+
+    private final TaskService taskService;
+    private final TaskStatsCompactor taskStatsCompactor;
+    private final TaskStatsDeltaRepository taskStatsDeltaRepository;
+
+    private final LocalDate day = LocalDate.now().plusYears(5);
+
+    @Test
+    @DisplayName("получена статистика, когда задачи добавлены, то они учтены и до, и после свёртки приращений")
+    void getTaskStats_whenTasksSaved_thenCountedBeforeAndAfterCompaction() {
+        TaskStatsDto before = taskService.getTaskStats(day, day);
+
+        taskService.saveTask(makeTaskDto(day.atTime(10, 0), false));
+        taskService.saveTasks(List.of(makeTaskDto(day.atTime(11, 0), true), makeTaskDto(day.atTime(12, 0), false)));
+        TaskStatsDto pending = taskService.getTaskStats(day, day);
+        taskStatsCompactor.compact();
+        TaskStatsDto compacted = taskService.getTaskStats(day, day);
+
+        assertThat(pending.getTotal(), equalTo(before.getTotal() + 3));
+        assertThat(pending.getOpen(), equalTo(before.getOpen() + 2));
+        assertThat(pending.getCompleted(), equalTo(before.getCompleted() + 1));
+        assertThat(pending.getDays(), equalTo(List.of(new TaskDayStatsDto(day, 2L, 1L))));
+        assertThat(compacted, equalTo(pending));
+        assertThat(taskStatsDeltaRepository.findAll(), empty());
+    }
+
+    @Test
+    @DisplayName("получена статистика, когда задачи изменены и удалены, то счётчики ячеек переносятся и уменьшаются")
+    void getTaskStats_whenTasksUpdatedAndDeleted_thenCountersMoved() {
+        TaskDto first = taskService.saveTask(makeTaskDto(day.plusDays(1).atTime(10, 0), false));
+        TaskDto second = taskService.saveTask(makeTaskDto(day.plusDays(1).atTime(11, 0), false));
+        TaskDto third = taskService.saveTask(makeTaskDto(day.plusDays(1).atTime(12, 0), false));
+        taskStatsCompactor.compact();
+        TaskStatsDto before = taskService.getTaskStats(day.plusDays(1), day.plusDays(2));
+
+        UpdateTaskDto complete = new UpdateTaskDto();
+        complete.setCompleted(true);
+        taskService.updateTask(first.getId(), complete);
+        UpdateTaskDto postpone = new UpdateTaskDto();
+        postpone.setDueDate(day.plusDays(2).atTime(11, 0));
+        taskService.updateTaskIfMatch(second.getId(), postpone, second.getVersion());
+        taskService.deleteTaskById(third.getId());
+        TaskStatsDto after = taskService.getTaskStats(day.plusDays(1), day.plusDays(2));
+
+        assertThat(before.getDays(), equalTo(List.of(new TaskDayStatsDto(day.plusDays(1), 3L, 0L))));
+        assertThat(after.getDays(), equalTo(List.of(
+                new TaskDayStatsDto(day.plusDays(1), 0L, 1L),
+                new TaskDayStatsDto(day.plusDays(2), 1L, 0L))));
+        assertThat(after.getTotal(), equalTo(before.getTotal() - 1));
+        assertThat(after.getCompleted(), equalTo(before.getCompleted() + 1));
+
+        taskService.deleteTasksByIds(List.of(first.getId(), second.getId()));
+        taskStatsCompactor.compact();
+        assertThat(taskService.getTaskStats(day.plusDays(1), day.plusDays(2)).getDays(), empty());
+    }
+
+    @Test
+    @DisplayName("получена статистика, когда срок невыполненной задачи истёк, то она учтена как просроченная, " +
+            "а выполненная - нет")
+    void getTaskStats_whenDueDatePassed_thenOpenTaskOverdue() {
+        TaskStatsDto before = taskService.getTaskStats(null, null);
+
+        taskService.saveTask(makeTaskDto(LocalDateTime.now().minusMinutes(1), false));
+        taskService.saveTask(makeTaskDto(LocalDateTime.now().minusDays(3), false));
+        taskService.saveTask(makeTaskDto(LocalDateTime.now().minusDays(3), true));
+        TaskStatsDto after = taskService.getTaskStats(null, null);
+
+        assertThat(after.getOverdue(), equalTo(before.getOverdue() + 2));
+    }
+
+    @Test
+    @DisplayName("получены задачи с оценкой количества, когда приращения не свёрнуты, " +
+            "то оценка берётся из свёрнутых счётчиков и догоняет базу после свёртки")
+    void getAllTasksWithEstimatedTotal_whenDeltasPending_thenEstimatedFromCompactedCounters() {
+        LocalDateTime dateStart = day.plusDays(3).atStartOfDay();
+        LocalDateTime dateEnd = day.plusDays(3).atTime(23, 59);
+        taskService.saveTask(makeTaskDto(day.plusDays(3).atTime(10, 0), false));
+        taskService.saveTask(makeTaskDto(day.plusDays(3).atTime(11, 0), false));
+        taskService.saveTask(makeTaskDto(day.plusDays(3).atTime(12, 0), true));
+        taskStatsCompactor.compact();
+        taskService.saveTask(makeTaskDto(day.plusDays(3).atTime(13, 0), false));
+
+        Page<TaskDto> pending = taskService.getAllTasksWithEstimatedTotal(false, dateStart, dateEnd, 0, 1);
+        taskStatsCompactor.compact();
+        Page<TaskDto> compacted = taskService.getAllTasksWithEstimatedTotal(false, dateStart, dateEnd, 0, 1);
+
+        assertThat(pending.getTotalElements(), equalTo(2L));
+        assertThat(compacted.getTotalElements(), equalTo(3L));
+        assertThat(taskService.getAllTasksWithEstimatedTotal(null, dateStart, dateEnd, 0, 1).getTotalElements(),
+                equalTo(4L));
+    }
+
+    private NewTaskDto makeTaskDto(LocalDateTime dueDate, boolean completed) {
+        NewTaskDto newTaskDto = new NewTaskDto();
+        newTaskDto.setTitle("task");
+        newTaskDto.setDueDate(dueDate);
+        newTaskDto.setCompleted(completed);
+        return newTaskDto;
+    }
+
+}
@@ -0,0 +1,103 @@
+package com.example.task;
+
+import com.example.deadline.TimingWheel;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.nullValue;
+
+class TimingWheelTest {
+
+    private final List<String> fired = new ArrayList<>();
+
+    @Test
+    @DisplayName("продвинуто время, когда срок на нижнем уровне, то он срабатывает после своего тика, не раньше")
+    void advance_whenDeadlineOnBottomLevel_thenFiredAfterItsTick() {
+        TimingWheel<Long, String> wheel = new TimingWheel<>(10, 4, 0);
+        wheel.schedule(1L, 25, "a");
+
+        wheel.advance(29, (key, value) -> fired.add(value));
+        assertThat(fired, empty());
+
+        wheel.advance(30, (key, value) -> fired.add(value));
+        assertThat(fired, contains("a"));
+        assertThat(wheel.size(), equalTo(0));
+    }
+
+    @Test
+    @DisplayName("продвинуто время, когда срок далеко за нижним уровнем, то он спускается по уровням " +
+            "и срабатывает в свой тик")
+    void advance_whenDeadlineOnUpperLevel_thenCascadedAndFiredInItsTick() {
+        TimingWheel<Long, String> wheel = new TimingWheel<>(10, 4, 0);
+        wheel.schedule(1L, 1_234, "far");
+        wheel.schedule(2L, 55, "near");
+
+        for (long now = 0; now < 1_240; now += 10) {
+            wheel.advance(now, (key, value) -> fired.add(value));
+        }
+        assertThat(fired, contains("near"));
+
+        wheel.advance(1_240, (key, value) -> fired.add(value));
+        assertThat(fired, contains("near", "far"));
+    }
+
+    @Test
+    @DisplayName("продвинуто время скачком, когда сроки на разных уровнях, то все срабатывают в порядке тиков")
+    void advance_whenTimeJumps_thenAllFiredInTickOrder() {
+        TimingWheel<Long, String> wheel = new TimingWheel<>(10, 4, 0);
+        wheel.schedule(1L, 700, "c");
+        wheel.schedule(2L, 15, "a");
+        wheel.schedule(3L, 170, "b");
+
+        wheel.advance(10_000, (key, value) -> fired.add(value));
+
+        assertThat(fired, contains("a", "b", "c"));
+    }
+
+    @Test
+    @DisplayName("поставлен срок, когда ключ уже есть, то прежний срок отменяется")
+    void schedule_whenKeyExists_thenPreviousDeadlineReplaced() {
+        TimingWheel<Long, String> wheel = new TimingWheel<>(10, 4, 0);
+        wheel.schedule(1L, 20, "old");
+        wheel.schedule(1L, 500, "new");
+
+        wheel.advance(100, (key, value) -> fired.add(value));
+        assertThat(fired, empty());
+        assertThat(wheel.get(1L), equalTo("new"));
+
+        wheel.advance(510, (key, value) -> fired.add(value));
+        assertThat(fired, contains("new"));
+    }
+
+    @Test
+    @DisplayName("отменён срок, когда он поставлен, то он не срабатывает")
+    void remove_whenScheduled_thenNotFired() {
+        TimingWheel<Long, String> wheel = new TimingWheel<>(10, 4, 0);
+        wheel.schedule(1L, 300, "a");
+        wheel.schedule(2L, 300, "b");
+
+        assertThat(wheel.remove(1L), equalTo("a"));
+        wheel.advance(1_000, (key, value) -> fired.add(value));
+
+        assertThat(fired, contains("b"));
+        assertThat(wheel.remove(1L), nullValue());
+    }
+
+    @Test
+    @DisplayName("поставлен срок, когда он уже истёк, то он срабатывает при следующем продвижении")
+    void schedule_whenDeadlinePassed_thenFiredOnNextAdvance() {
+        TimingWheel<Long, String> wheel = new TimingWheel<>(10, 4, 100);
+        wheel.schedule(1L, 50, "late");
+
+        wheel.advance(100, (key, value) -> fired.add(value));
+
+        assertThat(fired, contains("late"));
+    }
+
+}